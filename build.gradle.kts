@@ -28,6 +28,14 @@ tasks.withType<org.gradle.api.tasks.compile.JavaCompile>().configureEach {
     options.release.set(17)
 }
 
+// Benchmarks see the main classes and their runtime dependencies
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output
+    runtimeClasspath += sourceSets["main"].output
+}
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations["implementation"])
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations["runtimeOnly"])
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.3.0")
@@ -45,6 +53,11 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.postgresql:postgresql")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
+    // JMH micro-benchmarks (src/jmh/java), kept out of the application jar
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.withType<Test> {
@@ -52,6 +65,15 @@ tasks.withType<Test> {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+// Usage: ./gradlew jmh [-PjmhInclude=<benchmark regex>]
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH micro-benchmarks."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(listOfNotNull(providers.gradleProperty("jmhInclude").orNull))
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
@@ -0,0 +1,141 @@
+package backend.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the Kendall-distance step of {@link OrderedRankingBet} resolution: encoded permutations
+ * with merge-sort inversion counts, fork/join partitions and histogram selection of the top 30%,
+ * against the previous pairwise count over string lists followed by a full sort.
+ *
+ * Run with {@code ./gradlew jmh -PjmhInclude=OrderedRankingResolutionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderedRankingResolutionBenchmark {
+
+    private static final double TOP_PERCENT = 0.30;
+
+    @Param({"10000", "100000", "1000000"})
+    int voters;
+
+    /** 10 is the typical "rank the ten players" bet; 5 models a team-only ranking. */
+    @Param({"5", "10"})
+    int items;
+
+    private int[][] encodedRankings;
+    private int[] correctPositions;
+    private List<List<String>> rankings;
+    private List<String> correctRanking;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> itemNames = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            itemNames.add("player-" + i);
+        }
+
+        encodedRankings = new int[voters][];
+        rankings = new ArrayList<>(voters);
+        for (int v = 0; v < voters; v++) {
+            int[] permutation = shuffled(items, random);
+            encodedRankings[v] = permutation;
+            List<String> ranking = new ArrayList<>(items);
+            for (int index : permutation) {
+                ranking.add(itemNames.get(index));
+            }
+            rankings.add(ranking);
+        }
+
+        int[] correct = shuffled(items, random);
+        correctPositions = KendallRanking.positionsOf(correct);
+        correctRanking = new ArrayList<>(items);
+        for (int index : correct) {
+            correctRanking.add(itemNames.get(index));
+        }
+    }
+
+    @Benchmark
+    public void encodedSelection(Blackhole bh) {
+        int[] distances = KendallRanking.distances(encodedRankings, correctPositions);
+        int winnerCount = (int) Math.ceil(voters * TOP_PERCENT);
+        bh.consume(KendallRanking.selectClosest(distances, winnerCount, items * (items - 1) / 2));
+    }
+
+    @Benchmark
+    public void pairwiseFullSort(Blackhole bh) {
+        List<double[]> distances = new ArrayList<>(voters);
+        for (int v = 0; v < voters; v++) {
+            distances.add(new double[] {v, legacyKendallTauDistance(rankings.get(v), correctRanking)});
+        }
+        Collections.sort(distances, Comparator.comparingDouble(entry -> entry[1]));
+        int winnerCount = (int) Math.ceil(voters * TOP_PERCENT);
+        bh.consume(distances.subList(0, Math.min(winnerCount, distances.size())));
+    }
+
+    /** Verbatim copy of the former implementation, kept here as the baseline. */
+    private static double legacyKendallTauDistance(List<String> ranking1, List<String> ranking2) {
+        int n = ranking1.size();
+        int inversions = 0;
+
+        Map<String, Integer> pos1 = new HashMap<>();
+        Map<String, Integer> pos2 = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            pos1.put(ranking1.get(i), i);
+            pos2.put(ranking2.get(i), i);
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                String item1 = ranking1.get(i);
+                String item2 = ranking1.get(j);
+                int pos1InRank2 = pos2.get(item1);
+                int pos2InRank2 = pos2.get(item2);
+                if (pos1InRank2 > pos2InRank2) {
+                    inversions++;
+                }
+            }
+        }
+
+        return inversions;
+    }
+
+    private static int[] shuffled(int n, Random random) {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        return permutation;
+    }
+}
@@ -0,0 +1,101 @@
+package backend.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the shape-sniffing {@link LeaguepediaClient#parseDateTime(String)} with the previous
+ * try-every-format implementation over batches the size of real Cargo responses.
+ *
+ * Run with {@code ./gradlew jmh -PjmhInclude=LeaguepediaDateParseBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaguepediaDateParseBenchmark {
+
+    /** 50 is the Cargo page size used by the client; larger values model a full-season sync. */
+    @Param({"50", "500", "5000"})
+    int rows;
+
+    private String[] starts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        starts = new String[rows];
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 10, 0);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(500_000));
+            int shape = random.nextInt(100);
+            if (shape < 85) {
+                // Cargo's native datetime format dominates real responses
+                starts[i] = start.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+            } else if (shape < 95) {
+                starts[i] = start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
+            } else {
+                starts[i] = Long.toString(start.toEpochSecond(ZoneOffset.UTC));
+            }
+        }
+    }
+
+    @Benchmark
+    public void sniffed(Blackhole bh) {
+        for (String start : starts) {
+            bh.consume(LeaguepediaClient.parseDateTime(start));
+        }
+    }
+
+    @Benchmark
+    public void tryEachFormat(Blackhole bh) {
+        for (String start : starts) {
+            bh.consume(legacyParseDateTime(start));
+        }
+    }
+
+    /** Verbatim copy of the former implementation, kept here as the baseline. */
+    private static LocalDateTime legacyParseDateTime(String s) {
+        if (s == null) return null;
+        s = s.trim();
+        DateTimeFormatter[] fmts = new DateTimeFormatter[] {
+            DateTimeFormatter.ISO_DATE_TIME,
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'")
+        };
+        for (DateTimeFormatter f : fmts) {
+            try {
+                return LocalDateTime.parse(s, f);
+            } catch (DateTimeParseException ignored) {
+                // Format not matching - try next format
+            }
+        }
+        try {
+            long epoch = Long.parseLong(s);
+            return LocalDateTime.ofEpochSecond(epoch, 0, ZoneOffset.UTC);
+        } catch (Exception ignored) {
+            // Not a valid epoch timestamp
+        }
+        return null;
+    }
+}
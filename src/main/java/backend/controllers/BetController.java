@@ -11,8 +11,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import backend.models.Bet;
+import backend.models.BetPoolSnapshot;
 import backend.models.User;
 import backend.services.BetService;
+import backend.services.BetService.Journaled;
 import backend.services.UserService;
 import backend.services.WatchPartyManager;
 import io.swagger.v3.oas.annotations.Operation;
@@ -74,6 +76,12 @@ public class BetController {
         return betService.getActiveBet(name);
     }
 
+    @GetMapping("/watchparties/{name}/bets/pool")
+    @Operation(summary = "Pot et cotes en direct du pari actif d'une watch party")
+    public BetPoolSnapshot getBetPool(@PathVariable("name") String name) {
+        return betService.getPoolSnapshot(name);
+    }
+
     @GetMapping("/bets/users")
     @Operation(summary = "Liste tous les utilisateurs avec leurs points")
     public List<User> getUsersPoints() {
@@ -98,14 +106,8 @@ public class BetController {
             return ERROR_MISSING_DATA;
         }
 
-        String result = betService.createDiscreteChoiceBet(name, admin, question, choices, votingMinutes);
-        // offersTicket will be processed within BetService via active bet
-        if (Boolean.TRUE.equals(payload.get(KEY_OFFERS_TICKET))) {
-            // Set flag on the newly created bet if present
-            backend.models.Bet active = betService.getActiveBet(name);
-            if (active != null) active.setOffersTicket(true);
-        }
-        return result;
+        boolean offersTicket = Boolean.TRUE.equals(payload.get(KEY_OFFERS_TICKET));
+        return betService.createDiscreteChoiceBet(name, admin, question, choices, votingMinutes, offersTicket);
     }
 
     @PostMapping("/watchparties/{name}/bets/numeric")
@@ -129,13 +131,9 @@ public class BetController {
             return ERROR_MISSING_DATA;
         }
 
-        String result = betService.createNumericValueBet(name, admin, question, isInteger, 
-                                               minValue, maxValue, votingMinutes);
-        if (Boolean.TRUE.equals(payload.get(KEY_OFFERS_TICKET))) {
-            backend.models.Bet active = betService.getActiveBet(name);
-            if (active != null) active.setOffersTicket(true);
-        }
-        return result;
+        boolean offersTicket = Boolean.TRUE.equals(payload.get(KEY_OFFERS_TICKET));
+        return betService.createNumericValueBet(name, admin, question, isInteger,
+                                               minValue, maxValue, votingMinutes, offersTicket);
     }
 
     @PostMapping("/watchparties/{name}/bets/ranking")
@@ -154,12 +152,8 @@ public class BetController {
             return ERROR_MISSING_DATA;
         }
 
-        String result = betService.createOrderedRankingBet(name, admin, question, items, votingMinutes);
-        if (Boolean.TRUE.equals(payload.get(KEY_OFFERS_TICKET))) {
-            backend.models.Bet active = betService.getActiveBet(name);
-            if (active != null) active.setOffersTicket(true);
-        }
-        return result;
+        boolean offersTicket = Boolean.TRUE.equals(payload.get(KEY_OFFERS_TICKET));
+        return betService.createOrderedRankingBet(name, admin, question, items, votingMinutes, offersTicket);
     }
 
     // ==================== VOTING ====================
@@ -240,10 +234,17 @@ public class BetController {
             return ERROR_MISSING_DATA;
         }
 
+        // Ticket check, bet change and ticket consumption run as one command of the party
+        return betService.executeJournaled(name,
+            () -> useTicketInParty(name, username, ticketTypeStr, newValue, newPoints));
+    }
+
+    private Journaled<String> useTicketInParty(String name, String username, String ticketTypeStr,
+                                    Object newValue, Integer newPoints) {
         backend.models.Bet bet = betService.getActiveBet(name);
         String betValidationError = validateBet(bet);
         if (betValidationError != null) {
-            return betValidationError;
+            return BetService.unjournaled(betValidationError);
         }
 
         backend.models.WatchParty wp = watchPartyManager.getWatchPartyByName(bet.getWatchPartyName());
@@ -253,11 +254,11 @@ public class BetController {
         try {
             type = backend.models.TicketType.valueOf(ticketTypeStr);
         } catch (IllegalArgumentException e) {
-            return ERROR_INVALID_TICKET_TYPE;
+            return BetService.unjournaled(ERROR_INVALID_TICKET_TYPE);
         }
 
         if (!wp.hasTicket(user, type)) {
-            return ERROR_NO_TICKET;
+            return BetService.unjournaled(ERROR_NO_TICKET);
         }
 
         return handleTicketUsage(bet, user, type, wp, newValue, newPoints);
@@ -284,7 +285,7 @@ public class BetController {
         return null;
     }
 
-    private String handleTicketUsage(backend.models.Bet bet, backend.models.User user, 
+    private Journaled<String> handleTicketUsage(backend.models.Bet bet, backend.models.User user, 
                                      backend.models.TicketType type, backend.models.WatchParty wp,
                                      Object newValue, Integer newPoints) {
         return switch (type) {
@@ -295,64 +296,68 @@ public class BetController {
         };
     }
 
-    private String handleInOrOutTicket(backend.models.Bet bet, backend.models.User user, 
+    private Journaled<String> handleInOrOutTicket(backend.models.Bet bet, backend.models.User user, 
                                        backend.models.WatchParty wp, Integer newPoints) {
         if (newPoints == null) {
-            return ERROR_MISSING_NEW_POINTS;
+            return BetService.unjournaled(ERROR_MISSING_NEW_POINTS);
         }
         String res = bet.adjustBetPoints(user, newPoints);
         if (res.startsWith(SUCCESS_PREFIX)) {
             wp.consumeTicket(user, backend.models.TicketType.IN_OR_OUT);
+            return betService.recordTicketAdjustment(bet, user, res);
         }
-        return res;
+        return BetService.unjournaled(res);
     }
 
-    private String handleDiscreteChoiceTicket(backend.models.Bet bet, backend.models.User user,
+    private Journaled<String> handleDiscreteChoiceTicket(backend.models.Bet bet, backend.models.User user,
                                               backend.models.WatchParty wp, Object newValue) {
         if (!(bet instanceof backend.models.DiscreteChoiceBet dcb)) {
-            return ERROR_INCOMPATIBLE_TICKET;
+            return BetService.unjournaled(ERROR_INCOMPATIBLE_TICKET);
         }
         if (!(newValue instanceof String choice)) {
-            return ERROR_MISSING_VALUE;
+            return BetService.unjournaled(ERROR_MISSING_VALUE);
         }
         String msgChoice = dcb.modifyChoice(user, choice);
         if (msgChoice.startsWith(SUCCESS_PREFIX)) {
             wp.consumeTicket(user, backend.models.TicketType.DISCRETE_CHOICE);
+            return betService.recordTicketAdjustment(bet, user, msgChoice);
         }
-        return msgChoice;
+        return BetService.unjournaled(msgChoice);
     }
 
-    private String handleNumericValueTicket(backend.models.Bet bet, backend.models.User user,
+    private Journaled<String> handleNumericValueTicket(backend.models.Bet bet, backend.models.User user,
                                             backend.models.WatchParty wp, Object newValue) {
         if (!(bet instanceof backend.models.NumericValueBet nvb)) {
-            return ERROR_INCOMPATIBLE_TICKET;
+            return BetService.unjournaled(ERROR_INCOMPATIBLE_TICKET);
         }
         Double val = parseDoubleValue(newValue);
         if (val == null) {
-            return ERROR_INVALID_VALUE;
+            return BetService.unjournaled(ERROR_INVALID_VALUE);
         }
         String msgVal = nvb.modifyValue(user, val);
         if (msgVal.startsWith(SUCCESS_PREFIX)) {
             wp.consumeTicket(user, backend.models.TicketType.NUMERIC_VALUE);
+            return betService.recordTicketAdjustment(bet, user, msgVal);
         }
-        return msgVal;
+        return BetService.unjournaled(msgVal);
     }
 
-    private String handleOrderedRankingTicket(backend.models.Bet bet, backend.models.User user,
+    private Journaled<String> handleOrderedRankingTicket(backend.models.Bet bet, backend.models.User user,
                                               backend.models.WatchParty wp, Object newValue) {
         if (!(bet instanceof backend.models.OrderedRankingBet orb)) {
-            return ERROR_INCOMPATIBLE_TICKET;
+            return BetService.unjournaled(ERROR_INCOMPATIBLE_TICKET);
         }
         if (!(newValue instanceof java.util.List<?> ranking)) {
-            return "❌ newValue requis (List<String>)";
+            return BetService.unjournaled("❌ newValue requis (List<String>)");
         }
         @SuppressWarnings("unchecked")
         java.util.List<String> typedRanking = (java.util.List<String>) ranking;
         String msgRank = orb.modifyRanking(user, typedRanking);
         if (msgRank.startsWith(SUCCESS_PREFIX)) {
             wp.consumeTicket(user, backend.models.TicketType.ORDERED_RANKING);
+            return betService.recordTicketAdjustment(bet, user, msgRank);
         }
-        return msgRank;
+        return BetService.unjournaled(msgRank);
     }
 
     private Double parseDoubleValue(Object newValue) {
@@ -1,14 +1,31 @@
 package backend.controllers;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import backend.models.RankingEntry;
+import backend.models.RankingHistoryPoint;
+import backend.models.RankingNeighbourhood;
+import backend.models.RankingPage;
+import backend.models.RankingVersion;
+import backend.services.RankingHistoryService;
 import backend.services.RankingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,36 +35,183 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Ranking / Leaderboard", description = "Classements points & victoires (public & par watchparty)")
 public class RankingController {
 
+    /** Taille maximale d'une page de classement. */
+    private static final int MAX_PAGE_SIZE = 500;
+
+    /** Période par défaut de l'historique de rang. */
+    private static final int DEFAULT_HISTORY_DAYS = 30;
+
+    /**
+     * Préfixe des ETags, tiré à chaque démarrage: les versions repartent de 0 et chaque nœud
+     * a les siennes, un ETag d'un autre démarrage ou d'un autre nœud ne doit jamais valoir 304.
+     */
+    private static final String INSTANCE_EPOCH = UUID.randomUUID().toString().substring(0, 8);
+
     private final RankingService rankingService;
+    private final RankingHistoryService historyService;
 
-    public RankingController(RankingService rankingService) {
+    public RankingController(RankingService rankingService, RankingHistoryService historyService) {
         this.rankingService = rankingService;
+        this.historyService = historyService;
     }
 
     @Operation(summary = "Classement global public par points")
     @GetMapping("/rankings/public/points")
-    public Map<String, Integer> getGlobalPublicPoints(@RequestParam(name = "refresh", defaultValue = "false") boolean refresh) {
-        return rankingService.getGlobalPublicPoints(refresh);
+    public ResponseEntity<Map<String, Integer>> getGlobalPublicPoints(@RequestParam(name = "refresh", defaultValue = "false") boolean refresh,
+                                                                      @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        return conditional(rankingService.getGlobalPublicVersion(refresh), ifNoneMatch,
+                () -> rankingService.getGlobalPublicPoints(false));
     }
 
     @Operation(summary = "Classement global public par victoires")
     @GetMapping("/rankings/public/wins")
-    public Map<String, Integer> getGlobalPublicWins(@RequestParam(name = "refresh", defaultValue = "false") boolean refresh) {
-        return rankingService.getGlobalPublicWins(refresh);
+    public ResponseEntity<Map<String, Integer>> getGlobalPublicWins(@RequestParam(name = "refresh", defaultValue = "false") boolean refresh,
+                                                                    @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        return conditional(rankingService.getGlobalPublicVersion(refresh), ifNoneMatch,
+                () -> rankingService.getGlobalPublicWins(false));
     }
 
     @Operation(summary = "Classement par points d'une watchparty (public ou privée)")
     @GetMapping("/watchparties/{name}/rankings/points")
-    public Map<String, Integer> getWatchPartyPoints(@PathVariable("name") String name,
-                                                    @RequestParam(name = "refresh", defaultValue = "false") boolean refresh) {
-        return rankingService.getWatchPartyPoints(name, refresh);
+    public ResponseEntity<Map<String, Integer>> getWatchPartyPoints(@PathVariable("name") String name,
+                                                                    @RequestParam(name = "refresh", defaultValue = "false") boolean refresh,
+                                                                    @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        RankingVersion version = rankingService.getWatchPartyVersion(name, RankingService.Metric.POINTS, refresh);
+        if (version == null) {
+            return ResponseEntity.ok(Map.of());
+        }
+        return conditional(version, ifNoneMatch, () -> rankingService.getWatchPartyPoints(name, false));
     }
 
     @Operation(summary = "Classement par victoires d'une watchparty (public ou privée)")
     @GetMapping("/watchparties/{name}/rankings/wins")
-    public Map<String, Integer> getWatchPartyWins(@PathVariable("name") String name,
-                                                  @RequestParam(name = "refresh", defaultValue = "false") boolean refresh) {
-        return rankingService.getWatchPartyWins(name, refresh);
+    public ResponseEntity<Map<String, Integer>> getWatchPartyWins(@PathVariable("name") String name,
+                                                                  @RequestParam(name = "refresh", defaultValue = "false") boolean refresh,
+                                                                  @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        RankingVersion version = rankingService.getWatchPartyVersion(name, RankingService.Metric.WINS, refresh);
+        if (version == null) {
+            return ResponseEntity.ok(Map.of());
+        }
+        return conditional(version, ifNoneMatch, () -> rankingService.getWatchPartyWins(name, false));
+    }
+
+    @Operation(summary = "Page du classement global public (lignes [rang, nom, score]), par offset ou curseur")
+    @GetMapping("/rankings/public/{metric}/page")
+    public ResponseEntity<RankingPage> getGlobalPublicPage(@PathVariable("metric") String metric,
+                                                           @RequestParam(name = "limit", defaultValue = "50") int limit,
+                                                           @RequestParam(name = "offset", defaultValue = "0") int offset,
+                                                           @RequestParam(name = "cursor", required = false) String cursor,
+                                                           @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        RankingService.Metric parsed = parseMetric(metric);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return conditional(rankingService.getGlobalPublicVersion(false), ifNoneMatch,
+                    () -> rankingService.getGlobalPublicPage(parsed, offset, cursor, clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Rang d'un utilisateur et ses voisins dans le classement global public")
+    @GetMapping("/rankings/public/{metric}/me")
+    public ResponseEntity<RankingNeighbourhood> getGlobalPublicNeighbourhood(@PathVariable("metric") String metric,
+                                                                             @RequestParam("user") String user,
+                                                                             @RequestParam(name = "radius", defaultValue = "5") int radius,
+                                                                             @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        RankingService.Metric parsed = parseMetric(metric);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return conditional(rankingService.getGlobalPublicVersion(false), ifNoneMatch,
+                () -> rankingService.getGlobalPublicNeighbourhood(parsed, user, clampRadius(radius)));
+    }
+
+    @Operation(summary = "Page du classement d'une watchparty (lignes [rang, nom, score]), par offset ou curseur")
+    @GetMapping("/watchparties/{name}/rankings/{metric}/page")
+    public ResponseEntity<RankingPage> getWatchPartyPage(@PathVariable("name") String name,
+                                                         @PathVariable("metric") String metric,
+                                                         @RequestParam(name = "limit", defaultValue = "50") int limit,
+                                                         @RequestParam(name = "offset", defaultValue = "0") int offset,
+                                                         @RequestParam(name = "cursor", required = false) String cursor,
+                                                         @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        RankingService.Metric parsed = parseMetric(metric);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        RankingVersion version = rankingService.getWatchPartyVersion(name, parsed, false);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return conditional(version, ifNoneMatch,
+                    () -> rankingService.getWatchPartyPage(name, parsed, offset, cursor, clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Rang d'un utilisateur et ses voisins dans le classement d'une watchparty")
+    @GetMapping("/watchparties/{name}/rankings/{metric}/me")
+    public ResponseEntity<RankingNeighbourhood> getWatchPartyNeighbourhood(@PathVariable("name") String name,
+                                                                           @PathVariable("metric") String metric,
+                                                                           @RequestParam("user") String user,
+                                                                           @RequestParam(name = "radius", defaultValue = "5") int radius,
+                                                                           @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        RankingService.Metric parsed = parseMetric(metric);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        RankingVersion version = rankingService.getWatchPartyVersion(name, parsed, false);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return conditional(version, ifNoneMatch,
+                () -> rankingService.getWatchPartyNeighbourhood(name, parsed, user, clampRadius(radius)));
+    }
+
+    @Operation(summary = "Classement global public des gains d'un mois (YYYY-MM, mois courant par défaut)")
+    @GetMapping("/rankings/public/{metric}/monthly")
+    public ResponseEntity<List<RankingEntry>> getGlobalPublicMonthly(@PathVariable("metric") String metric,
+                                                                     @RequestParam(name = "month", required = false) String month,
+                                                                     @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        RankingService.Metric parsed = parseMetric(metric);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        YearMonth yearMonth;
+        try {
+            yearMonth = month == null ? YearMonth.now() : YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<RankingEntry> top = historyService.getMonthlyTop(parsed, yearMonth, clampLimit(limit));
+        return top == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(top);
+    }
+
+    @Operation(summary = "Historique du rang d'un utilisateur dans le classement global public (30 derniers jours par défaut)")
+    @GetMapping("/rankings/public/{metric}/history")
+    public ResponseEntity<List<RankingHistoryPoint>> getGlobalPublicHistory(@PathVariable("metric") String metric,
+                                                                            @RequestParam("user") String user,
+                                                                            @RequestParam(name = "from", required = false) String from,
+                                                                            @RequestParam(name = "to", required = false) String to) {
+        RankingService.Metric parsed = parseMetric(metric);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            end = to == null ? LocalDateTime.now() : LocalDateTime.parse(to);
+            start = from == null ? end.minusDays(DEFAULT_HISTORY_DAYS) : LocalDateTime.parse(from);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(historyService.getHistory(parsed, user, start, end));
     }
 
     @Operation(summary = "Rafraîchir tous les caches de classement")
@@ -63,4 +227,33 @@ public class RankingController {
         rankingService.refreshWatchParty(name);
         return "✅ Cache de classement rafraîchi";
     }
-}
\ No newline at end of file
+
+    /**
+     * Réponse conditionnelle: 304 si le client a déjà cette version, sinon le corps avec
+     * son ETag (époque du nœud et version, lue avant les données) et son Last-Modified.
+     */
+    private static <T> ResponseEntity<T> conditional(RankingVersion version, String ifNoneMatch, Supplier<T> body) {
+        String eTag = "\"" + INSTANCE_EPOCH + "-" + version.version() + "\"";
+        long lastModified = version.lastUpdated().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (ifNoneMatch != null && (ifNoneMatch.contains(eTag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(lastModified).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).body(body.get());
+    }
+
+    private static RankingService.Metric parseMetric(String metric) {
+        try {
+            return RankingService.Metric.valueOf(metric.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static int clampRadius(int radius) {
+        return Math.max(0, Math.min(radius, MAX_PAGE_SIZE / 2));
+    }
+}
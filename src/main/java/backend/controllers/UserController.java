@@ -52,8 +52,7 @@ public class UserController {
         body.put("winsByWatchParty", user.getWinsByWatchParty());
 
         // computed global points = rankingService sum for public WPs
-        java.util.Map<String, Integer> globalRanking = rankingService.getGlobalPublicPoints(false);
-        body.put("globalPoints", globalRanking.getOrDefault(username, 0));
+        body.put("globalPoints", rankingService.getGlobalPublicRank(backend.services.RankingService.Metric.POINTS, username).score());
 
         return body;
     }
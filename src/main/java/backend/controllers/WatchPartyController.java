@@ -64,8 +64,11 @@ public class WatchPartyController {
 
     @GetMapping
     public List<WatchPartySummaryResponse> getAllWatchParties() {
-        return manager.getAllWatchParties().stream()
+        List<WatchParty> parties = manager.getAllWatchParties().stream()
                 .filter(Objects::nonNull)
+                .toList();
+        Map<String, Integer> participantCounts = manager.getParticipantCounts(parties);
+        return parties.stream()
                 .map(wp -> new WatchPartySummaryResponse(
                         wp.getName(),
                         wp.getDate(),
@@ -75,7 +78,8 @@ public class WatchPartyController {
                         wp.getStatus() != null ? wp.getStatus().name() : null,
                         wp.getCreator() != null ? wp.getCreator().getName() : null,
                         wp.getAutoConfig() != null ? wp.getAutoConfig().getType().name() : null,
-                        wp.getAutoConfig() != null ? wp.getAutoConfig().getTarget() : null))
+                        wp.getAutoConfig() != null ? wp.getAutoConfig().getTarget() : null,
+                        participantCounts.getOrDefault(wp.getName(), 0)))
                 .toList();
     }
 
@@ -129,13 +133,9 @@ public class WatchPartyController {
         }
 
         User user = userService.getUser(userName);
-        boolean joined = wp.join(user);
+        boolean joined = manager.executeInParty(name, () -> manager.joinParticipant(wp, user));
         if (joined) {
-            userService.saveUser(user);
-            manager.saveWatchParty(wp);
-            if (wp.isPublic()) {
-                rankingService.refreshAll();
-            }
+            rankingService.refreshWatchParty(name);
             if (wp.isPlanned()) {
                 manager.notifyAvailableUsersForPresentiel(wp);
             }
@@ -158,12 +158,10 @@ public class WatchPartyController {
             return "❌ WatchParty introuvable: " + name;
         }
 
-        boolean removed = wp.leave(userService.getUser(userName));
+        User user = userService.getUser(userName);
+        boolean removed = manager.executeInParty(name, () -> manager.leaveParticipant(wp, user));
         if (removed) {
-            manager.saveWatchParty(wp);
-            if (wp.isPublic()) {
-                rankingService.refreshAll();
-            }
+            rankingService.refreshWatchParty(name);
         }
 
         return removed
@@ -208,7 +206,7 @@ public class WatchPartyController {
         if (sender == null) {
             return "❌ Utilisateur introuvable: " + user;
         }
-        if (!wp.getParticipants().contains(sender)) {
+        if (!wp.hasParticipant(sender)) {
             return "❌ Vous devez être participant de la watch party pour envoyer des messages";
         }
 
@@ -294,9 +292,6 @@ public class WatchPartyController {
 
         manager.addWatchParty(wp);
         manager.planifyWatchParty(wp);
-        if (isPublic) {
-            rankingService.refreshAll();
-        }
 
         return (isPublic ? "✅ Public" : "✅ Private") + " watchparty created: " + name;
     }
@@ -361,6 +356,7 @@ public class WatchPartyController {
             String status,
             String creatorName,
             String autoType,
-            String autoTarget) {
+            String autoTarget,
+            int participantCount) {
     }
 }
@@ -1,6 +1,7 @@
 package backend.integration.lolesports;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -12,13 +13,15 @@ import jakarta.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import backend.integration.lolesports.dto.Frame;
 import backend.integration.lolesports.dto.WindowResponse;
 import backend.models.WatchParty;
 import backend.services.BetService;
+import backend.services.LeaderElectionService;
 import backend.services.WatchPartyManager;
+import backend.services.betresolution.FrameIndex;
 
 @Service
 public class LiveMatchMonitorService {
@@ -28,25 +31,49 @@ public class LiveMatchMonitorService {
     private final LolEsportsClient client;
     private final BetService betService;
     private final WatchPartyManager manager;
+    private final LeaderElectionService leaderElection;
 
-    private final Map<String, WatchParty> activeMonitors = new ConcurrentHashMap<>();
-    private final Map<String, Frame> lastFrames = new ConcurrentHashMap<>();
+    // Watch parties qui suivent chaque partie: une seule boucle de polling par partie
+    private final Map<String, Map<String, WatchParty>> activeMonitors = new ConcurrentHashMap<>();
+    // Dernière frame de chaque partie, déjà indexée: réutilisée comme frame précédente
+    private final Map<String, FrameIndex> lastFrames = new ConcurrentHashMap<>();
     private final Map<String, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
     private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(5);
 
     public LiveMatchMonitorService(LolEsportsClient client, BetService betService, WatchPartyManager manager) {
+        this(client, betService, manager, LeaderElectionService.singleNode());
+    }
+
+    @Autowired
+    public LiveMatchMonitorService(LolEsportsClient client,
+                                   BetService betService,
+                                   WatchPartyManager manager,
+                                   LeaderElectionService leaderElection) {
         this.client = client;
         this.betService = betService;
         this.manager = manager;
+        this.leaderElection = leaderElection;
     }
 
     public void startMonitoring(WatchParty wp, String gameId) {
-        if (wp == null || gameId == null || gameId.isBlank() || activeMonitors.containsKey(gameId)) {
+        if (wp == null || gameId == null || gameId.isBlank()) {
             return;
         }
 
+        boolean[] firstFollower = {false};
+        activeMonitors.compute(gameId, (id, followers) -> {
+            Map<String, WatchParty> target = followers;
+            if (target == null) {
+                target = new ConcurrentHashMap<>();
+                firstFollower[0] = true;
+            }
+            target.putIfAbsent(wp.getName(), wp);
+            return target;
+        });
         wp.setCurrentRiotGameId(gameId);
-        activeMonitors.put(gameId, wp);
+        if (!firstFollower[0]) {
+            return;
+        }
 
         ScheduledFuture<?> task = executor.scheduleAtFixedRate(() -> pollAndResolve(gameId), 0, 8, TimeUnit.SECONDS);
         scheduledTasks.put(gameId, task);
@@ -54,8 +81,17 @@ public class LiveMatchMonitorService {
 
     private void pollAndResolve(String gameId) {
         try {
-            WatchParty wp = activeMonitors.get(gameId);
-            if (wp == null || manager.getWatchPartyByName(wp.getName()) == null) {
+            Map<String, WatchParty> followers = activeMonitors.get(gameId);
+            if (followers != null) {
+                followers.values().removeIf(wp -> manager.getWatchPartyByName(wp.getName()) == null);
+            }
+            if (followers == null || followers.isEmpty()) {
+                stopMonitoring(gameId);
+                return;
+            }
+            if (!leaderElection.isLeader(LeaderElectionService.AUTO_WATCH_PARTY_JOB)) {
+                // Monitors belong to the node running the auto watch party cycles (same lease):
+                // the new leader restarts this one from its own cycle
                 stopMonitoring(gameId);
                 return;
             }
@@ -65,13 +101,18 @@ public class LiveMatchMonitorService {
                 return;
             }
 
-            Frame latest = window.frames().get(window.frames().size() - 1);
-            Frame previousFrame = lastFrames.get(gameId);
-            wp.setLastFrameProcessed(LocalDateTime.now());
-            betService.tryAutoResolveLiveBet(wp, previousFrame, latest);
+            FrameIndex latest = FrameIndex.of(window.frames().get(window.frames().size() - 1));
+            FrameIndex previousFrame = lastFrames.get(gameId);
+            List<WatchParty> parties = List.copyOf(followers.values());
+            LocalDateTime processedAt = LocalDateTime.now();
+            for (WatchParty wp : parties) {
+                wp.setLastFrameProcessed(processedAt);
+            }
+            // Une frame, un appel: toutes les watch parties de la partie sont évaluées ensemble
+            betService.tryAutoResolveLiveBets(parties, previousFrame, latest);
             lastFrames.put(gameId, latest);
 
-            if (isGameFinished(latest)) {
+            if (latest.isGameFinished()) {
                 stopMonitoring(gameId);
             }
         } catch (Exception e) {
@@ -80,15 +121,20 @@ public class LiveMatchMonitorService {
     }
 
     public void stopMonitoring(String gameId) {
-        WatchParty wp = activeMonitors.remove(gameId);
+        Map<String, WatchParty> followers = activeMonitors.remove(gameId);
         lastFrames.remove(gameId);
         ScheduledFuture<?> task = scheduledTasks.remove(gameId);
         if (task != null) {
             task.cancel(false);
         }
-        if (wp != null && gameId.equals(wp.getCurrentRiotGameId())) {
-            wp.setCurrentRiotGameId(null);
-            wp.setLastFrameProcessed(null);
+        if (followers == null) {
+            return;
+        }
+        for (WatchParty wp : followers.values()) {
+            if (gameId.equals(wp.getCurrentRiotGameId())) {
+                wp.setCurrentRiotGameId(null);
+                wp.setLastFrameProcessed(null);
+            }
         }
     }
 
@@ -103,8 +149,4 @@ public class LiveMatchMonitorService {
     void pollAndResolveOnce(String gameId) {
         pollAndResolve(gameId);
     }
-
-    private boolean isGameFinished(Frame frame) {
-        return frame.events().stream().anyMatch(event -> "GAME_END".equalsIgnoreCase(event.type()));
-    }
 }
@@ -1,6 +1,8 @@
 package backend.models;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
+
 import jakarta.persistence.Embeddable;
 import jakarta.persistence.Transient;
 
@@ -13,6 +15,10 @@ public class AutoConfig {
     @Transient
     private Match currentMatch;
 
+    // Last upcoming-match state applied to the watch party, used to skip no-op updates
+    @Transient
+    private String appliedMatchFingerprint;
+
     private LocalDateTime lastChecked;
 
     public AutoConfig() {}
@@ -33,6 +39,16 @@ public class AutoConfig {
         this.currentMatch = match;
     }
 
+    /**
+     * Records the fingerprint of the upcoming match about to be applied.
+     * @return true if it differs from the previously applied one
+     */
+    public boolean recordAppliedMatch(String fingerprint) {
+        boolean changed = !Objects.equals(appliedMatchFingerprint, fingerprint);
+        this.appliedMatchFingerprint = fingerprint;
+        return changed;
+    }
+
     public void updateLastChecked() {
         this.lastChecked = LocalDateTime.now();
     }
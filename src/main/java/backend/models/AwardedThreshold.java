@@ -0,0 +1,63 @@
+package backend.models;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Palier de points déjà récompensé pour un utilisateur: une ligne par (utilisateur, palier),
+ * pour ne jamais récompenser deux fois, même après un redémarrage ou sur un autre nœud.
+ * Les lignes sont écrites par l'insertion atomique de AwardedThresholdRepository.
+ */
+@Entity
+@Table(name = "reward_thresholds")
+@IdClass(AwardedThreshold.Key.class)
+public class AwardedThreshold {
+
+    @Id
+    @Column(name = "user_name")
+    private String userName;
+
+    @Id
+    @Column(name = "threshold")
+    private int threshold;
+
+    @Column(name = "awarded_at", nullable = false)
+    private Instant awardedAt;
+
+    protected AwardedThreshold() {}
+
+    public String getUserName() { return userName; }
+    public int getThreshold() { return threshold; }
+    public Instant getAwardedAt() { return awardedAt; }
+
+    public static class Key implements Serializable {
+        private String userName;
+        private int threshold;
+
+        public Key() {}
+
+        public Key(String userName, int threshold) {
+            this.userName = userName;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key other)) return false;
+            return threshold == other.threshold && Objects.equals(userName, other.userName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userName, threshold);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package backend.models;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Classe abstraite de base pour tous les types de paris.
@@ -18,15 +26,33 @@ public abstract class Bet {
         RESOLVED,  // Résolu avec distribution des gains
         CANCELED   // Annulé, points remboursés
     }
+
+    /**
+     * Issue d'une tentative de vote (voir {@link #placeVote}).
+     */
+    protected enum VoteOutcome {
+        RECORDED,  // Mise débitée et vote enregistré
+        CLOSED,    // Phase de vote terminée
+        REJECTED   // Mise invalide, points insuffisants ou vote déjà enregistré
+    }
     
+    private String betId;            // Identifiant stable (journal des paris)
     protected String question;
     protected User creator;          // Admin qui a créé le pari
     protected String watchPartyName; // Nom de la watch party
     protected boolean isPublic;      // Si la watch party est publique
-    protected State state;
+    protected volatile State state;
     protected LocalDateTime votingEndTime;
-    protected Map<User, Integer> userBets; // User -> points misés
+    protected Map<User, Integer> userBets; // User -> points misés (concurrente: votes simultanés)
     protected boolean offersTicket;        // Ce pari offre-t-il un ticket aux gagnants ?
+
+    // Les votes prennent le verrou en lecture (ils ne se bloquent pas entre eux),
+    // les changements d'état le prennent en écriture: aucun vote n'est enregistré après la fermeture.
+    private final ReadWriteLock phaseLock = new ReentrantReadWriteLock();
+    private final Map<User, Long> voteSequence = new ConcurrentHashMap<>(); // ordre d'arrivée des votes
+    private final AtomicLong nextVoteSequence = new AtomicLong();
+    // Pot courant, tenu à jour à chaque mise: lu par les clients qui affichent les cotes en direct
+    private final LongAdder pot = new LongAdder();
     
     /**
      * Constructeur protégé - utiliser les factory methods des sous-classes
@@ -36,13 +62,14 @@ public abstract class Bet {
         if (!watchParty.isAdmin(creator)) {
             throw new IllegalArgumentException("Seuls le créateur de la watchparty ou les admins globaux peuvent créer des paris");
         }
+        this.betId = UUID.randomUUID().toString();
         this.question = question;
         this.creator = creator;
         this.watchPartyName = watchParty.name();
         this.isPublic = watchParty.isPublic();
         this.state = State.VOTING;
         this.votingEndTime = votingEndTime;
-        this.userBets = new HashMap<>();
+        this.userBets = new ConcurrentHashMap<>();
         this.offersTicket = false;
     }
     
@@ -68,18 +95,17 @@ public abstract class Bet {
      * Annule le pari et rembourse tous les parieurs
      */
     public String cancel() {
-        if (state == State.RESOLVED || state == State.CANCELED) {
+        if (!transition(State.VOTING, State.CANCELED) && !transition(State.PENDING, State.CANCELED)) {
             return "❌ Le pari est déjà terminé";
         }
         
-        state = State.CANCELED;
-        
         // Rembourser tous les parieurs
         for (Map.Entry<User, Integer> entry : userBets.entrySet()) {
             User user = entry.getKey();
             int betAmount = entry.getValue();
             creditUserPoints(user, betAmount);
         }
+        resetPool();
         
         return "✅ Pari annulé, " + userBets.size() + " parieurs remboursés";
     }
@@ -88,10 +114,9 @@ public abstract class Bet {
      * Ferme la phase de vote
      */
     public String endVoting() {
-        if (state != State.VOTING) {
+        if (!transition(State.VOTING, State.PENDING)) {
             return "❌ Le vote n'est pas ouvert";
         }
-        state = State.PENDING;
         return "✅ Phase de vote terminée, en attente du résultat";
     }
     
@@ -108,35 +133,107 @@ public abstract class Bet {
     
     
     /**
-     * Calcule le pot total
+     * Pot total (compteur tenu à jour à chaque mise, sans parcourir les parieurs)
      */
     protected int getTotalPot() {
-        return userBets.values().stream().mapToInt(Integer::intValue).sum();
+        return (int) pot.sum();
+    }
+
+    /**
+     * Pot et cotes courants, en O(nombre de choix).
+     */
+    public BetPoolSnapshot getPoolSnapshot() {
+        return new BetPoolSnapshot(betId, getType(), state, pot.sum(), userBets.size(), List.of());
+    }
+
+    /**
+     * Appelé après chaque changement de mise d'un parieur (0 = pas de mise),
+     * une fois sa valeur votée enregistrée. Les sous-classes y tiennent leurs compteurs par choix.
+     */
+    protected void onStakeChanged(User user, int previousPoints, int newPoints) {
+        pot.add(newPoints - previousPoints);
+    }
+
+    /**
+     * Remet les compteurs à zéro (pari annulé, mises remboursées).
+     */
+    protected void resetPool() {
+        pot.reset();
     }
     
     /**
-     * Valide et débite les points d'un parieur
+     * Réserve la place du parieur, débite sa mise et enregistre son vote en une seule opération.
+     * Sûr face aux votes concurrents: un seul vote par utilisateur, jamais de double débit.
+     * @param recordVote enregistre la valeur votée (appelé seulement si la mise est débitée)
      */
-    protected boolean deductPoints(User user, int points) {
+    protected VoteOutcome placeVote(User user, int points, Runnable recordVote) {
         if (points <= 0) {
-            return false;
+            return VoteOutcome.REJECTED;
         }
-        if (!hasSufficientPoints(user, points)) {
-            return false;
+        phaseLock.readLock().lock();
+        try {
+            if (!isVotingOpen()) {
+                return VoteOutcome.CLOSED;
+            }
+            // La réservation tranche entre deux votes simultanés du même utilisateur
+            if (userBets.putIfAbsent(user, points) != null) {
+                return VoteOutcome.REJECTED;
+            }
+            if (!user.tryDebitPointsForWatchParty(watchPartyName, points)) {
+                userBets.remove(user);
+                return VoteOutcome.REJECTED;
+            }
+            voteSequence.put(user, nextVoteSequence.getAndIncrement());
+            recordVote.run();
+            onStakeChanged(user, 0, points);
+            return VoteOutcome.RECORDED;
+        } finally {
+            phaseLock.readLock().unlock();
         }
-        if (userBets.containsKey(user)) {
-            return false; // Un seul vote par utilisateur
+    }
+
+    /**
+     * Change l'état du pari si et seulement s'il est encore {@code from}.
+     * Attend la fin des votes en cours; un seul appelant concurrent réussit.
+     */
+    protected boolean transition(State from, State to) {
+        phaseLock.writeLock().lock();
+        try {
+            if (state != from) {
+                return false;
+            }
+            state = to;
+            return true;
+        } finally {
+            phaseLock.writeLock().unlock();
         }
-        
-        debitUserPoints(user, points);
-        userBets.put(user, points);
-        return true;
+    }
+
+    /**
+     * Entrées des votes triées par ordre d'arrivée (départage des égalités: premier arrivé).
+     */
+    protected <V> List<Map.Entry<User, V>> inVoteOrder(Map<User, V> votes) {
+        List<Map.Entry<User, V>> entries = new ArrayList<>(votes.entrySet());
+        entries.sort(Comparator.comparingLong(e -> voteSequence.getOrDefault(e.getKey(), Long.MAX_VALUE)));
+        return entries;
     }
 
     /**
      * Permet d'ajuster la mise d'un utilisateur pendant l'état PENDING (utilisation de ticket IN_OR_OUT).
      */
     public String adjustBetPoints(User user, int newPoints) {
+        phaseLock.readLock().lock();
+        try {
+            // Sérialise les ajustements d'un même utilisateur
+            synchronized (user) {
+                return adjustBetPointsLocked(user, newPoints);
+            }
+        } finally {
+            phaseLock.readLock().unlock();
+        }
+    }
+
+    private String adjustBetPointsLocked(User user, int newPoints) {
         if (state != State.PENDING) {
             return "❌ Le pari doit être en attente (PENDING)";
         }
@@ -154,34 +251,75 @@ public abstract class Bet {
             // Se retirer du pari: rembourser la mise actuelle
             creditUserPoints(user, current);
             userBets.remove(user);
+            onStakeChanged(user, current, 0);
             return "✅ Retrait du pari, " + current + " points remboursés";
         }
         if (newPoints > current) {
             int delta = newPoints - current;
-            if (!hasSufficientPoints(user, delta)) {
+            if (!user.tryDebitPointsForWatchParty(watchPartyName, delta)) {
                 return "❌ Points insuffisants pour augmenter la mise";
             }
-            debitUserPoints(user, delta);
             userBets.put(user, newPoints);
+            onStakeChanged(user, current, newPoints);
             return "✅ Mise augmentée de " + delta + " points";
         } else {
             int delta = current - newPoints;
             // Rembourser la différence
             creditUserPoints(user, delta);
             userBets.put(user, newPoints);
+            onStakeChanged(user, current, newPoints);
             return "✅ Mise diminuée de " + delta + " points";
         }
     }
 
-    protected boolean hasSufficientPoints(User user, int points) {
-        // Always use WatchParty-specific points
-        // Rankings for public WPs sum these same points, ensuring consistency
-        return user.getPointsForWatchParty(watchPartyName) >= points;
+    /**
+     * Parieurs triés par ordre d'arrivée de leur vote.
+     */
+    public List<User> getVotersInOrder() {
+        List<User> voters = new ArrayList<>();
+        for (Map.Entry<User, Integer> entry : inVoteOrder(userBets)) {
+            voters.add(entry.getKey());
+        }
+        return voters;
+    }
+
+    // ==================== JOURNAL (voir BetJournalCodec) ====================
+
+    /**
+     * Valeur votée par l'utilisateur, null s'il n'a pas voté.
+     */
+    abstract Object voteValueOf(User user);
+
+    /**
+     * Remplace la valeur votée lors de la reconstruction (la valeur vient du JSON du journal).
+     */
+    abstract void restoreVoteValue(User user, Object value);
+
+    /**
+     * Rejoue un vote ou un ajustement sans toucher au solde: la mise a déjà été débitée
+     * et persistée avec l'entrée du journal. Une mise à 0 retire la mise, comme
+     * {@link #adjustBetPoints} (la valeur votée reste).
+     */
+    void restoreVote(User user, Object value, int points) {
+        if (value != null) {
+            restoreVoteValue(user, value);
+        }
+        Integer previous = userBets.get(user);
+        if (points <= 0) {
+            userBets.remove(user);
+        } else {
+            userBets.put(user, points);
+            voteSequence.putIfAbsent(user, nextVoteSequence.getAndIncrement());
+        }
+        onStakeChanged(user, previous == null ? 0 : previous, Math.max(points, 0));
+    }
+
+    void restoreState(State state) {
+        this.state = state;
     }
 
-    protected void debitUserPoints(User user, int points) {
-        // Always debit from WatchParty-specific points
-        user.addPointsForWatchParty(watchPartyName, -points);
+    void restoreBetId(String betId) {
+        this.betId = betId;
     }
 
     protected void creditUserPoints(User user, int points) {
@@ -205,6 +343,7 @@ public abstract class Bet {
         throw new IllegalStateException("Type de pari inconnu");
     }
     
+    public String getBetId() { return betId; }
     public String getQuestion() { return question; }
     public User getCreator() { return creator; }
     public State getState() { return state; }
@@ -0,0 +1,147 @@
+package backend.models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Conversion entre un pari en mémoire et les payloads du journal (maps sérialisables en JSON).
+ * Les votes rejoués ne débitent personne: les soldes sont persistés avec le journal.
+ */
+public final class BetJournalCodec {
+
+    private static final String KEY_BET_ID = "betId";
+    private static final String KEY_TYPE = "type";
+    private static final String KEY_QUESTION = "question";
+    private static final String KEY_CREATOR = "creator";
+    private static final String KEY_VOTING_END = "votingEndTime";
+    private static final String KEY_STATE = "state";
+    private static final String KEY_OFFERS_TICKET = "offersTicket";
+    private static final String KEY_CHOICES = "choices";
+    private static final String KEY_INTEGER = "isInteger";
+    private static final String KEY_MIN = "minValue";
+    private static final String KEY_MAX = "maxValue";
+    private static final String KEY_ITEMS = "items";
+    private static final String KEY_VOTES = "votes";
+    private static final String KEY_USER = "user";
+    private static final String KEY_POINTS = "points";
+    private static final String KEY_VALUE = "value";
+    public static final String KEY_CORRECT_VALUE = "correctValue";
+
+    private BetJournalCodec() {}
+
+    /**
+     * Description complète du pari: payload de CREATED et des snapshots.
+     * Doit être appelée par l'écrivain de la watch party (état cohérent).
+     */
+    public static Map<String, Object> describe(Bet bet) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put(KEY_BET_ID, bet.getBetId());
+        description.put(KEY_TYPE, bet.getType().name());
+        description.put(KEY_QUESTION, bet.getQuestion());
+        description.put(KEY_CREATOR, bet.getCreator().getName());
+        description.put(KEY_VOTING_END, bet.getVotingEndTime().toString());
+        description.put(KEY_STATE, bet.getState().name());
+        description.put(KEY_OFFERS_TICKET, bet.isOffersTicket());
+
+        if (bet instanceof DiscreteChoiceBet dcb) {
+            description.put(KEY_CHOICES, dcb.getChoices());
+        } else if (bet instanceof NumericValueBet nvb) {
+            description.put(KEY_INTEGER, nvb.isInteger());
+            description.put(KEY_MIN, nvb.getMinValue());
+            description.put(KEY_MAX, nvb.getMaxValue());
+        } else if (bet instanceof OrderedRankingBet orb) {
+            description.put(KEY_ITEMS, orb.getItems());
+        }
+
+        List<Map<String, Object>> votes = new ArrayList<>();
+        for (User voter : bet.getVotersInOrder()) {
+            votes.add(vote(bet, voter));
+        }
+        description.put(KEY_VOTES, votes);
+        return description;
+    }
+
+    /**
+     * Mise et valeur courantes d'un parieur: payload de VOTED et ADJUSTED.
+     */
+    public static Map<String, Object> vote(Bet bet, User user) {
+        Map<String, Object> vote = new LinkedHashMap<>();
+        vote.put(KEY_USER, user.getName());
+        vote.put(KEY_POINTS, bet.userBets.getOrDefault(user, 0));
+        vote.put(KEY_VALUE, bet.voteValueOf(user));
+        return vote;
+    }
+
+    /**
+     * Recrée un pari à partir de sa description (CREATED ou snapshot).
+     */
+    public static Bet rebuild(Map<String, Object> description, WatchParty watchParty, Function<String, User> users) {
+        User creator = users.apply((String) description.get(KEY_CREATOR));
+        String question = (String) description.get(KEY_QUESTION);
+        LocalDateTime votingEndTime = LocalDateTime.parse((String) description.get(KEY_VOTING_END));
+
+        Bet bet = switch (BetType.valueOf((String) description.get(KEY_TYPE))) {
+            case DISCRETE_CHOICE -> new DiscreteChoiceBet(question, creator, watchParty, votingEndTime,
+                    strings(description.get(KEY_CHOICES)));
+            case NUMERIC_VALUE -> new NumericValueBet(question, creator, watchParty, votingEndTime,
+                    Boolean.TRUE.equals(description.get(KEY_INTEGER)),
+                    toDouble(description.get(KEY_MIN)), toDouble(description.get(KEY_MAX)));
+            case ORDERED_RANKING -> new OrderedRankingBet(question, creator, watchParty, votingEndTime,
+                    strings(description.get(KEY_ITEMS)));
+        };
+        bet.restoreBetId((String) description.get(KEY_BET_ID));
+        bet.setOffersTicket(Boolean.TRUE.equals(description.get(KEY_OFFERS_TICKET)));
+
+        Object votes = description.get(KEY_VOTES);
+        if (votes instanceof List<?> list) {
+            for (Object vote : list) {
+                applyVote(bet, asMap(vote), users);
+            }
+        }
+        bet.restoreState(Bet.State.valueOf((String) description.get(KEY_STATE)));
+        return bet;
+    }
+
+    /**
+     * Rejoue une entrée non terminale du journal sur le pari reconstruit.
+     */
+    public static void apply(Bet bet, BetJournalEntry.Type type, Map<String, Object> payload,
+                             Function<String, User> users) {
+        switch (type) {
+            case VOTED, ADJUSTED -> applyVote(bet, payload, users);
+            case VOTING_ENDED -> {
+                if (bet.getState() == Bet.State.VOTING) {
+                    bet.restoreState(Bet.State.PENDING);
+                }
+            }
+            default -> throw new IllegalArgumentException("Entrée non rejouable: " + type);
+        }
+    }
+
+    private static void applyVote(Bet bet, Map<String, Object> vote, Function<String, User> users) {
+        User user = users.apply((String) vote.get(KEY_USER));
+        int points = ((Number) vote.get(KEY_POINTS)).intValue();
+        bet.restoreVote(user, vote.get(KEY_VALUE), points);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    private static List<String> strings(Object value) {
+        List<String> result = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            result.add(String.valueOf(item));
+        }
+        return result;
+    }
+
+    private static Double toDouble(Object value) {
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+}
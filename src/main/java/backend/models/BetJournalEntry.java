@@ -0,0 +1,83 @@
+package backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Événement du journal des paris (append-only). Les paris vivent en mémoire:
+ * le dernier snapshot plus les entrées suivantes suffisent à les reconstruire au démarrage.
+ */
+@Entity
+@Table(name = "bet_journal", indexes = {
+    @Index(name = "idx_bet_journal_bet_seq", columnList = "bet_id, sequence")
+})
+public class BetJournalEntry {
+
+    public enum Type {
+        CREATED,        // payload: description complète du pari (même format qu'un snapshot)
+        VOTED,          // payload: user, points, value
+        VOTING_ENDED,
+        ADJUSTED,       // payload: user, points, value (ticket)
+        RESOLVED,       // payload: correctValue
+        CANCELLED;
+
+        public boolean isTerminal() {
+            return this == RESOLVED || this == CANCELLED;
+        }
+    }
+
+    // Séquence avec pré-allocation: les inserts d'un même lot partent en batch JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bet_journal_seq")
+    @SequenceGenerator(name = "bet_journal_seq", sequenceName = "bet_journal_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "bet_id", nullable = false, length = 36)
+    private String betId;
+
+    @Column(name = "watch_party_name", nullable = false)
+    private String watchPartyName;
+
+    // Position dans l'historique du pari (1 = création)
+    @Column(name = "sequence", nullable = false)
+    private long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "payload", columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    protected BetJournalEntry() {}
+
+    public BetJournalEntry(String betId, String watchPartyName, long sequence, Type type, String payload) {
+        this.betId = betId;
+        this.watchPartyName = watchPartyName;
+        this.sequence = sequence;
+        this.type = type;
+        this.payload = payload;
+        this.recordedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public String getBetId() { return betId; }
+    public String getWatchPartyName() { return watchPartyName; }
+    public long getSequence() { return sequence; }
+    public Type getType() { return type; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+}
@@ -0,0 +1,27 @@
+package backend.models;
+
+import java.util.List;
+
+/**
+ * Pot et cotes d'un pari à un instant donné, construits depuis les compteurs du pari
+ * (aucun parcours des parieurs). Cote parimutuel d'un choix = pot total / mises sur ce choix.
+ */
+public record BetPoolSnapshot(
+        String betId,
+        BetType type,
+        Bet.State state,
+        long totalPot,
+        int participants,
+        List<ChoicePool> choices
+) {
+
+    /**
+     * @param odds cote décimale, null tant que personne n'a misé sur ce choix
+     */
+    public record ChoicePool(String choice, long stake, long voters, Double odds) {
+
+        static ChoicePool of(String choice, long stake, long voters, long totalPot) {
+            return new ChoicePool(choice, stake, voters, stake > 0 ? (double) totalPot / stake : null);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * État complet d'un pari en cours à une position du journal.
+ * Les entrées jusqu'à {@code sequence} incluse peuvent être supprimées.
+ */
+@Entity
+@Table(name = "bet_snapshots")
+public class BetSnapshot {
+
+    @Id
+    @Column(name = "bet_id", length = 36)
+    private String betId;
+
+    @Column(name = "watch_party_name", nullable = false)
+    private String watchPartyName;
+
+    @Column(name = "sequence", nullable = false)
+    private long sequence;
+
+    @Column(name = "payload", columnDefinition = "text", nullable = false)
+    private String payload;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    protected BetSnapshot() {}
+
+    public BetSnapshot(String betId, String watchPartyName, long sequence, String payload) {
+        this.betId = betId;
+        this.watchPartyName = watchPartyName;
+        this.sequence = sequence;
+        this.payload = payload;
+        this.takenAt = LocalDateTime.now();
+    }
+
+    public String getBetId() { return betId; }
+    public String getWatchPartyName() { return watchPartyName; }
+    public long getSequence() { return sequence; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getTakenAt() { return takenAt; }
+}
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Pari classique avec choix discrets (2 à 4 options)
@@ -19,6 +21,8 @@ public class DiscreteChoiceBet extends Bet {
     private Map<User, String> userChoices;           // User -> choix sélectionné
     private String correctChoice;                    // La réponse correcte (après résolution)
     private List<User> lastWinners;                  // Les gagnants après résolution
+    private LongAdder[] choiceStakes;                // Mises par choix (même ordre que choices)
+    private LongAdder[] choiceVoters;                // Parieurs par choix
     
     /**
      * Crée un pari à choix discrets
@@ -33,9 +37,15 @@ public class DiscreteChoiceBet extends Bet {
         }
         
         this.choices = new ArrayList<>(choices);
-        this.userChoices = new HashMap<>();
+        this.userChoices = new ConcurrentHashMap<>();
         this.correctChoice = null;
         this.lastWinners = new ArrayList<>();
+        this.choiceStakes = new LongAdder[this.choices.size()];
+        this.choiceVoters = new LongAdder[this.choices.size()];
+        for (int i = 0; i < this.choices.size(); i++) {
+            choiceStakes[i] = new LongAdder();
+            choiceVoters[i] = new LongAdder();
+        }
     }
     
     @Override
@@ -53,11 +63,14 @@ public class DiscreteChoiceBet extends Bet {
             return "❌ Choix invalide. Options disponibles: " + String.join(", ", choices);
         }
         
-        if (!deductPoints(user, points)) {
-            return "❌ Points insuffisants ou vote déjà enregistré";
+        switch (placeVote(user, points, () -> userChoices.put(user, choice))) {
+            case CLOSED:
+                return "❌ Le vote est fermé";
+            case REJECTED:
+                return "❌ Points insuffisants ou vote déjà enregistré";
+            default:
+                break;
         }
-        
-        userChoices.put(user, choice);
         return "✅ Vote enregistré: " + choice + " (" + points + " points)";
     }
     
@@ -76,8 +89,10 @@ public class DiscreteChoiceBet extends Bet {
             return "❌ Réponse invalide. Options: " + String.join(", ", choices);
         }
         
+        if (!transition(State.PENDING, State.RESOLVED)) {
+            return "❌ Le pari doit être en attente pour être résolu";
+        }
         this.correctChoice = correct;
-        state = State.RESOLVED;
         
         // Trouver tous les gagnants
         List<User> winners = new ArrayList<>();
@@ -111,26 +126,92 @@ public class DiscreteChoiceBet extends Bet {
     }
     
     /**
-     * Obtient la distribution des votes (pour affichage)
+     * Obtient la distribution des votes (pour affichage), depuis les compteurs par choix
      */
     public Map<String, Integer> getVoteDistribution() {
         Map<String, Integer> distribution = new HashMap<>();
-        for (String choice : choices) {
-            distribution.put(choice, 0);
+        for (int i = 0; i < choices.size(); i++) {
+            distribution.put(choices.get(i), choiceVoters[i].intValue());
         }
-        
-        for (String choice : userChoices.values()) {
-            distribution.put(choice, distribution.get(choice) + 1);
-        }
-        
         return distribution;
     }
+
+    @Override
+    public BetPoolSnapshot getPoolSnapshot() {
+        BetPoolSnapshot pool = super.getPoolSnapshot();
+        List<BetPoolSnapshot.ChoicePool> pools = new ArrayList<>(choices.size());
+        for (int i = 0; i < choices.size(); i++) {
+            pools.add(BetPoolSnapshot.ChoicePool.of(
+                    choices.get(i), choiceStakes[i].sum(), choiceVoters[i].sum(), pool.totalPot()));
+        }
+        return new BetPoolSnapshot(pool.betId(), pool.type(), pool.state(), pool.totalPot(),
+                pool.participants(), pools);
+    }
+
+    @Override
+    protected void onStakeChanged(User user, int previousPoints, int newPoints) {
+        super.onStakeChanged(user, previousPoints, newPoints);
+        int index = indexOf(userChoices.get(user));
+        if (index < 0) {
+            return;
+        }
+        choiceStakes[index].add(newPoints - previousPoints);
+        if (previousPoints == 0 && newPoints > 0) {
+            choiceVoters[index].increment();
+        } else if (previousPoints > 0 && newPoints == 0) {
+            choiceVoters[index].decrement();
+        }
+    }
+
+    @Override
+    protected void resetPool() {
+        super.resetPool();
+        for (int i = 0; i < choices.size(); i++) {
+            choiceStakes[i].reset();
+            choiceVoters[i].reset();
+        }
+    }
+
+    /**
+     * Déplace la mise d'un parieur d'un choix à l'autre (ticket, reconstruction).
+     */
+    private void moveStake(User user, String previousChoice, String newChoice) {
+        Integer stake = userBets.get(user);
+        int from = indexOf(previousChoice);
+        int to = indexOf(newChoice);
+        if (stake == null || stake <= 0 || from == to) {
+            return;
+        }
+        if (from >= 0) {
+            choiceStakes[from].add(-stake);
+            choiceVoters[from].decrement();
+        }
+        if (to >= 0) {
+            choiceStakes[to].add(stake);
+            choiceVoters[to].increment();
+        }
+    }
+
+    private int indexOf(String choice) {
+        return choice == null ? -1 : choices.indexOf(choice);
+    }
     
     // Getters
     public List<String> getChoices() { return new ArrayList<>(choices); }
     public String getCorrectChoice() { return correctChoice; }
     public Map<User, String> getUserChoices() { return new HashMap<>(userChoices); }
 
+    @Override
+    Object voteValueOf(User user) {
+        return userChoices.get(user);
+    }
+
+    @Override
+    void restoreVoteValue(User user, Object value) {
+        String previous = userChoices.put(user, String.valueOf(value));
+        moveStake(user, previous, String.valueOf(value));
+    }
+
     /**
      * Permet de modifier le choix d'un utilisateur pendant PENDING via ticket.
      */
@@ -138,7 +219,8 @@ public class DiscreteChoiceBet extends Bet {
         if (state != State.PENDING) return "❌ Le pari doit être en attente (PENDING)";
         if (!userChoices.containsKey(user)) return "❌ Aucun vote enregistré";
         if (newChoice == null || !choices.contains(newChoice)) return "❌ Choix invalide";
-        userChoices.put(user, newChoice);
+        String previous = userChoices.put(user, newChoice);
+        moveStake(user, previous, newChoice);
         return "✅ Choix modifié";
     }
 }
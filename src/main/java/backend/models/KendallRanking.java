@@ -0,0 +1,162 @@
+package backend.models;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Distances de Kendall tau sur des classements encodés en permutations d'entiers
+ * (indice de l'élément dans la liste du pari), pour la résolution des {@link OrderedRankingBet}.
+ */
+final class KendallRanking {
+
+    /** En dessous, le calcul séquentiel est plus rapide que le découpage fork/join. */
+    static final int PARALLEL_THRESHOLD = 8_192;
+    private static final int PARTITION_SIZE = 4_096;
+
+    private KendallRanking() {}
+
+    /**
+     * positions[élément] = rang de l'élément dans le classement.
+     */
+    static int[] positionsOf(int[] ranking) {
+        int[] positions = new int[ranking.length];
+        for (int i = 0; i < ranking.length; i++) {
+            positions[ranking[i]] = i;
+        }
+        return positions;
+    }
+
+    /**
+     * Nombre de paires ordonnées différemment entre le classement et la référence,
+     * par comptage des inversions au tri fusion: O(n log n).
+     *
+     * @param work    tampon de taille n
+     * @param scratch tampon de taille n
+     */
+    static int distance(int[] ranking, int[] referencePositions, int[] work, int[] scratch) {
+        int n = ranking.length;
+        for (int i = 0; i < n; i++) {
+            work[i] = referencePositions[ranking[i]];
+        }
+        return countInversions(work, scratch, 0, n);
+    }
+
+    static int distance(int[] ranking, int[] referencePositions) {
+        return distance(ranking, referencePositions, new int[ranking.length], new int[ranking.length]);
+    }
+
+    /**
+     * Distances de tous les classements, découpées en partitions fork/join pour les gros paris.
+     */
+    static int[] distances(int[][] rankings, int[] referencePositions) {
+        int[] distances = new int[rankings.length];
+        if (rankings.length < PARALLEL_THRESHOLD) {
+            computeRange(rankings, referencePositions, distances, 0, rankings.length);
+        } else {
+            ForkJoinPool.commonPool().invoke(
+                    new DistanceTask(rankings, referencePositions, distances, 0, rankings.length));
+        }
+        return distances;
+    }
+
+    /**
+     * Indices des {@code count} plus petites distances, triés par distance puis par indice
+     * (les votes sont fournis dans l'ordre d'arrivée: premier arrivé prioritaire).
+     * Sélection par histogramme des distances, sans trier l'ensemble des votes: O(V + maxDistance).
+     */
+    static int[] selectClosest(int[] distances, int count, int maxDistance) {
+        int[] firstSlot = new int[maxDistance + 2];
+        for (int distance : distances) {
+            firstSlot[distance + 1]++;
+        }
+        // Seuil: plus petite distance à laquelle on atteint count gagnants
+        int threshold = 0;
+        int selected = 0;
+        while (threshold <= maxDistance && selected + firstSlot[threshold + 1] < count) {
+            selected += firstSlot[threshold + 1];
+            threshold++;
+        }
+        for (int d = 1; d < firstSlot.length; d++) {
+            firstSlot[d] += firstSlot[d - 1];
+        }
+
+        int[] winners = new int[count];
+        for (int i = 0; i < distances.length; i++) {
+            int distance = distances[i];
+            if (distance > threshold) {
+                continue;
+            }
+            int slot = firstSlot[distance]++;
+            if (slot < count) {
+                winners[slot] = i;
+            }
+        }
+        return winners;
+    }
+
+    private static void computeRange(int[][] rankings, int[] referencePositions, int[] distances, int from, int to) {
+        int n = referencePositions.length;
+        int[] work = new int[n];
+        int[] scratch = new int[n];
+        for (int i = from; i < to; i++) {
+            distances[i] = distance(rankings[i], referencePositions, work, scratch);
+        }
+    }
+
+    private static int countInversions(int[] values, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return 0;
+        }
+        int middle = (from + to) >>> 1;
+        int inversions = countInversions(values, scratch, from, middle)
+                + countInversions(values, scratch, middle, to);
+
+        int left = from;
+        int right = middle;
+        int out = from;
+        while (left < middle && right < to) {
+            if (values[left] <= values[right]) {
+                scratch[out++] = values[left++];
+            } else {
+                // Tous les éléments restants à gauche sont après values[right] dans la référence
+                inversions += middle - left;
+                scratch[out++] = values[right++];
+            }
+        }
+        while (left < middle) {
+            scratch[out++] = values[left++];
+        }
+        while (right < to) {
+            scratch[out++] = values[right++];
+        }
+        System.arraycopy(scratch, from, values, from, to - from);
+        return inversions;
+    }
+
+    private static final class DistanceTask extends RecursiveAction {
+        private final int[][] rankings;
+        private final int[] referencePositions;
+        private final int[] distances;
+        private final int from;
+        private final int to;
+
+        DistanceTask(int[][] rankings, int[] referencePositions, int[] distances, int from, int to) {
+            this.rankings = rankings;
+            this.referencePositions = referencePositions;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARTITION_SIZE) {
+                computeRange(rankings, referencePositions, distances, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DistanceTask(rankings, referencePositions, distances, from, middle),
+                    new DistanceTask(rankings, referencePositions, distances, middle, to));
+        }
+    }
+}
@@ -1,21 +1,54 @@
 package backend.models;
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 /**
- * Represents a League of Legends esports match
+ * Represents a League of Legends esports match.
+ * Also stored in the local schedule table, synced from Leaguepedia.
  */
+@Entity
+@Table(name = "match_schedule", indexes = {
+    // Targets are free text matched as substrings: lookups scan by start time only
+    @Index(name = "idx_match_schedule_time", columnList = "scheduled_time")
+})
 public class Match {
     private static final int DEFAULT_ESTIMATED_DURATION_HOURS = 2;
+    private static final String UPSTREAM_KEY_PREFIX = "id:";
 
+    @Column(name = "external_id")
     private String id;
     private String team1;
     private String team2;
+    @Column(name = "scheduled_time", nullable = false)
     private LocalDateTime scheduledTime;
     private String tournament;
+    @Column(name = "stream_url")
     private String streamUrl;
+    @Enumerated(EnumType.STRING)
     private MatchState state;
+    @Column(name = "best_of")
     private String bestOf; // "BO1", "BO3", "BO5"
+    @Column(name = "riot_event_id")
     private String riotEventId;
+    @Id
+    @Column(name = "match_key")
+    private String key;
+    @Column(name = "content_hash", nullable = false)
+    private int contentHash;
+    // Last time the sync wrote this row (new or changed upstream)
+    @Column(name = "synced_at")
+    private LocalDateTime syncedAt;
+
+    protected Match() {}
 
     public Match(String id, String team1, String team2, LocalDateTime scheduledTime,
                  String tournament, String streamUrl, String bestOf) {
@@ -28,6 +61,33 @@ public class Match {
         this.bestOf = bestOf;
         this.state = MatchState.PRE_MATCH;
         this.riotEventId = null;
+        this.key = buildKey(team1, team2, scheduledTime, tournament);
+        this.contentHash = Objects.hash(team1, team2, scheduledTime, tournament, streamUrl, bestOf);
+    }
+
+    /**
+     * Match carrying a stable upstream id: the key follows that id instead of the start time,
+     * so a rescheduled match updates its row rather than adding a new one.
+     */
+    public static Match withUpstreamId(String upstreamId, String team1, String team2, LocalDateTime scheduledTime,
+                                       String tournament, String streamUrl, String bestOf) {
+        Match match = new Match(upstreamId, team1, team2, scheduledTime, tournament, streamUrl, bestOf);
+        match.key = UPSTREAM_KEY_PREFIX + upstreamId.trim();
+        return match;
+    }
+
+    /**
+     * Stable identity of a scheduled match: same teams (in any order), start time and event.
+     */
+    public static String buildKey(String team1, String team2, LocalDateTime scheduledTime, String tournament) {
+        String a = normalizeKeyPart(team1);
+        String b = normalizeKeyPart(team2);
+        String teams = a.compareTo(b) <= 0 ? a + "|" + b : b + "|" + a;
+        return teams + "@" + scheduledTime + "@" + normalizeKeyPart(tournament);
+    }
+
+    private static String normalizeKeyPart(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
     }
 
     public String getId() { return id; }
@@ -39,9 +99,25 @@ public class Match {
     public MatchState getStatus() { return state; }
     public String getBestOf() { return bestOf; }
     public String getRiotEventId() { return riotEventId; }
+    public String getKey() { return key; }
+    public int getContentHash() { return contentHash; }
+    public LocalDateTime getSyncedAt() { return syncedAt; }
 
     public void setStatus(MatchState state) { this.state = state; }
     public void setRiotEventId(String riotEventId) { this.riotEventId = riotEventId; }
+    public void setSyncedAt(LocalDateTime syncedAt) { this.syncedAt = syncedAt; }
+
+    /**
+     * True when {@code other} describes the same match with the same upstream details
+     * (teams, time, event, stream, format). Local state such as the status is ignored.
+     */
+    public boolean hasSameContent(Match other) {
+        return other != null
+            && contentHash == other.contentHash
+            && key.equals(other.key)
+            && Objects.equals(streamUrl, other.streamUrl)
+            && Objects.equals(bestOf, other.bestOf);
+    }
 
     public boolean isInProgress() {
         return state == MatchState.IN_PROGRESS;
@@ -60,6 +136,14 @@ public class Match {
         return now.isAfter(matchEnd);
     }
 
+    /**
+     * True while the match can still be followed: not finished and not over yet.
+     * Unlike "next upcoming", a match that already started is still current.
+     */
+    public boolean isCurrentOrUpcoming() {
+        return scheduledTime != null && !isFinished() && !isPast();
+    }
+
     public boolean isStartingSoon(int minutesBefore) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime openTime = scheduledTime.minusMinutes(minutesBefore);
@@ -0,0 +1,77 @@
+package backend.models;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Sync watermark of the local match schedule for one auto target (team or tournament).
+ */
+@Entity
+@Table(name = "match_schedule_sync")
+public class MatchSyncState {
+
+    @Id
+    @Column(name = "sync_key")
+    private String syncKey; // "TEAM:t1", "TOURNAMENT:msi 2026"
+
+    // Upstream changes before this instant (UTC) are already in the local table
+    @Column(name = "watermark")
+    private LocalDateTime watermark;
+
+    @Column(name = "last_full_sync")
+    private LocalDateTime lastFullSync;
+
+    // Set while a delta is truncated: upstream edit time of the last row read, where the next delta resumes
+    @Column(name = "resume_from")
+    private LocalDateTime resumeFrom;
+
+    protected MatchSyncState() {}
+
+    public MatchSyncState(String syncKey) {
+        this.syncKey = syncKey;
+    }
+
+    public String getSyncKey() { return syncKey; }
+    public LocalDateTime getWatermark() { return watermark; }
+    public LocalDateTime getLastFullSync() { return lastFullSync; }
+    public LocalDateTime getResumeFrom() { return resumeFrom; }
+
+    /**
+     * A full fetch is needed on first sync and periodically, to drop matches
+     * removed or rescheduled upstream (a delta only reports new/changed rows).
+     */
+    public boolean needsFullSync(LocalDateTime now, Duration fullSyncInterval) {
+        return watermark == null
+            || lastFullSync == null
+            || !lastFullSync.plus(fullSyncInterval).isAfter(now);
+    }
+
+    /**
+     * Start of the next delta: where a truncated delta stopped, otherwise the watermark
+     * minus {@code overlap} (page edit times and our clock are not perfectly aligned).
+     */
+    public LocalDateTime deltaStart(Duration overlap) {
+        return resumeFrom != null ? resumeFrom : watermark.minus(overlap);
+    }
+
+    public void markSynced(LocalDateTime syncStart, boolean full) {
+        this.watermark = syncStart;
+        this.resumeFrom = null;
+        if (full) {
+            this.lastFullSync = syncStart;
+        }
+    }
+
+    /**
+     * A delta hit the row limit: edits up to {@code lastEditRead} are in, later ones are not.
+     * The watermark stays where it was until a delta reaches the end.
+     */
+    public void markTruncated(LocalDateTime lastEditRead) {
+        this.resumeFrom = lastEditRead;
+    }
+}
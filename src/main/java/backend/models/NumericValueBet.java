@@ -2,12 +2,10 @@ package backend.models;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Pari sur une valeur numérique (entier ou flottant)
@@ -34,7 +32,7 @@ public class NumericValueBet extends Bet {
     private static final double TOLERANCE = 0.0001;
     private static final double TOP_PERCENT = 0.30;
     
-    private Map<User, Double> userValues;      // User -> valeur prédite (LinkedHashMap pour ordre d'insertion)
+    private Map<User, Double> userValues;      // User -> valeur prédite (ordre des votes: voir inVoteOrder)
     private Double correctValue;               // La valeur correcte (après résolution)
     private boolean isInteger;                 // true = entier, false = flottant
     private Double minValue;                   // Valeur minimale acceptée (optionnel)
@@ -51,7 +49,7 @@ public class NumericValueBet extends Bet {
                           LocalDateTime votingEndTime, boolean isInteger,
                           Double minValue, Double maxValue) {
         super(question, creator, watchParty, votingEndTime);
-        this.userValues = new LinkedHashMap<>();
+        this.userValues = new ConcurrentHashMap<>();
         this.isInteger = isInteger;
         this.minValue = minValue;
         this.maxValue = maxValue;
@@ -75,11 +73,14 @@ public class NumericValueBet extends Bet {
             return validationError;
         }
         
-        if (!deductPoints(user, points)) {
-            return ERROR_INSUFFICIENT_POINTS;
+        switch (placeVote(user, points, () -> userValues.put(user, value))) {
+            case CLOSED:
+                return ERROR_VOTING_CLOSED;
+            case REJECTED:
+                return ERROR_INSUFFICIENT_POINTS;
+            default:
+                break;
         }
-        
-        userValues.put(user, value);
         return String.format(SUCCESS_VOTE, formatValue(value), points);
     }
     
@@ -129,30 +130,34 @@ public class NumericValueBet extends Bet {
             return ERROR_NUMBER_FORMAT;
         }
         
+        if (!transition(State.PENDING, State.RESOLVED)) {
+            return ERROR_NOT_PENDING;
+        }
         this.correctValue = value;
-        state = State.RESOLVED;
         
         int totalPot = getTotalPot();
-        List<User> exactMatches = findExactMatches(value);
         
-        if (!exactMatches.isEmpty()) {
-            return distributeExactMatchRewards(exactMatches, totalPot, value);
+        // Prédictions en tableau primitif, alignées sur l'ordre des votes
+        List<Map.Entry<User, Double>> votes = inVoteOrder(userValues);
+        User[] voters = new User[votes.size()];
+        double[] predictions = new double[votes.size()];
+        for (int i = 0; i < voters.length; i++) {
+            voters[i] = votes.get(i).getKey();
+            predictions[i] = votes.get(i).getValue();
         }
         
-        return resolveByProximity(value, totalPot);
-    }
-    
-    /**
-     * Trouve les utilisateurs avec une valeur exacte
-     */
-    private List<User> findExactMatches(double correctValue) {
-        List<User> exactMatches = new ArrayList<>();
-        for (Map.Entry<User, Double> entry : userValues.entrySet()) {
-            if (Math.abs(entry.getValue() - correctValue) < TOLERANCE) {
-                exactMatches.add(entry.getKey());
+        // Un seul passage: écarts, écart max et valeurs exactes
+        ProximitySelection.Distances distances = ProximitySelection.distances(predictions, value, TOLERANCE);
+        if (distances.exactMatches() > 0) {
+            int[] exact = ProximitySelection.exactMatches(distances, TOLERANCE);
+            List<User> exactMatches = new ArrayList<>(exact.length);
+            for (int index : exact) {
+                exactMatches.add(voters[index]);
             }
+            return distributeExactMatchRewards(exactMatches, totalPot, value);
         }
-        return exactMatches;
+        
+        return resolveByProximity(value, totalPot, voters, predictions, distances);
     }
     
     /**
@@ -171,52 +176,43 @@ public class NumericValueBet extends Bet {
     /**
      * Résolution par proximité: top 30% partagent le pot pondéré
      */
-    private String resolveByProximity(double correctValue, int totalPot) {
-        // Calculer les écarts pour chaque utilisateur
-        List<UserDistance> distances = new ArrayList<>();
-        for (Map.Entry<User, Double> entry : userValues.entrySet()) {
-            double distance = Math.abs(entry.getValue() - correctValue);
-            distances.add(new UserDistance(entry.getKey(), entry.getValue(), distance));
-        }
-        
-        // Trier par distance (plus proche en premier)
-        // L'ordre d'insertion est préservé via LinkedHashMap: en cas d'égalité,
-        // le premier à avoir voté est prioritaire (tri stable)
-        Collections.sort(distances, Comparator.comparingDouble(ud -> ud.distance));
-        
-        // Sélectionner le top 30% (arrondi supérieur)
-        int winnerCount = (int) Math.ceil(distances.size() * TOP_PERCENT);
-        List<UserDistance> winners = distances.subList(0, Math.min(winnerCount, distances.size()));
+    private String resolveByProximity(double correctValue, int totalPot, User[] voters, double[] predictions,
+                                      ProximitySelection.Distances distances) {
+        // Sélectionner le top 30% (arrondi supérieur), sans trier l'ensemble des votes.
+        // Les votes sont dans l'ordre d'arrivée: en cas d'égalité,
+        // le premier à avoir voté est prioritaire
+        double[] gaps = distances.values();
+        int winnerCount = Math.min((int) Math.ceil(voters.length * TOP_PERCENT), voters.length);
+        int[] winners = ProximitySelection.selectClosest(gaps, winnerCount);
         
         // Calculer les poids (inverse de la distance normalisée)
-        double maxDistance = distances.get(distances.size() - 1).distance;
+        double maxDistance = distances.max();
         double totalWeight = 0.0;
-        Map<User, Double> weights = new HashMap<>();
+        double[] weights = new double[winners.length];
         
-        for (UserDistance ud : winners) {
+        for (int w = 0; w < winners.length; w++) {
             // Poids = 1 / (1 + distance_normalisée)
-            double normalizedDistance = maxDistance > 0 ? ud.distance / maxDistance : 0;
-            double weight = 1.0 / (1.0 + normalizedDistance);
-            weights.put(ud.user, weight);
-            totalWeight += weight;
+            double normalizedDistance = maxDistance > 0 ? gaps[winners[w]] / maxDistance : 0;
+            weights[w] = 1.0 / (1.0 + normalizedDistance);
+            totalWeight += weights[w];
         }
         
         // Distribuer le pot proportionnellement aux poids
         StringBuilder result = new StringBuilder();
-        result.append(String.format(SUCCESS_PROXIMITY, formatValue(correctValue), winners.size()));
+        result.append(String.format(SUCCESS_PROXIMITY, formatValue(correctValue), winners.length));
         
         this.lastWinners = new ArrayList<>();
-        for (UserDistance ud : winners) {
-            this.lastWinners.add(ud.user);
-            double weight = weights.get(ud.user);
-            int reward = (int) ((weight / totalWeight) * totalPot);
-            creditUserPoints(ud.user, reward);
-            recordWin(ud.user);
+        for (int w = 0; w < winners.length; w++) {
+            User user = voters[winners[w]];
+            this.lastWinners.add(user);
+            int reward = (int) ((weights[w] / totalWeight) * totalPot);
+            creditUserPoints(user, reward);
+            recordWin(user);
             
             result.append(String.format(WINNER_DETAIL_FORMAT,
-                                      ud.user.getName(),
-                                      formatValue(ud.predictedValue),
-                                      formatValue(ud.distance),
+                                      user.getName(),
+                                      formatValue(predictions[winners[w]]),
+                                      formatValue(gaps[winners[w]]),
                                       reward));
         }
         
@@ -228,21 +224,6 @@ public class NumericValueBet extends Bet {
         return new ArrayList<>(lastWinners);
     }
     
-    /**
-     * Classe interne pour stocker user + distance
-     */
-    private static class UserDistance {
-        User user;
-        double predictedValue;
-        double distance;
-        
-        UserDistance(User user, double predictedValue, double distance) {
-            this.user = user;
-            this.predictedValue = predictedValue;
-            this.distance = distance;
-        }
-    }
-    
     /**
      * Formate une valeur selon son type (entier ou flottant)
      */
@@ -260,6 +241,16 @@ public class NumericValueBet extends Bet {
     public Double getMinValue() { return minValue; }
     public Double getMaxValue() { return maxValue; }
 
+    @Override
+    Object voteValueOf(User user) {
+        return userValues.get(user);
+    }
+
+    @Override
+    void restoreVoteValue(User user, Object value) {
+        userValues.put(user, ((Number) value).doubleValue());
+    }
+
     /**
      * Permet de modifier la valeur d'un utilisateur pendant PENDING via ticket.
      */
@@ -2,12 +2,12 @@ package backend.models;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Pari sur un classement ordonné d'éléments
@@ -34,7 +34,9 @@ public class OrderedRankingBet extends Bet {
     private static final double TOP_PERCENT = 0.30;
     
     private List<String> items;                          // Les éléments à classer (ex: joueurs)
-    private Map<User, List<String>> userRankings;        // User -> son classement (LinkedHashMap pour ordre d'insertion)
+    private Map<String, Integer> itemIndexes;            // Élément -> indice dans items (encodage des classements)
+    private Map<User, List<String>> userRankings;        // User -> son classement (ordre des votes: voir inVoteOrder)
+    private Map<User, int[]> encodedRankings;            // User -> son classement en indices d'éléments
     private List<String> correctRanking;                 // Le classement correct
     private List<User> lastWinners;                      // Les gagnants après résolution
     
@@ -51,7 +53,12 @@ public class OrderedRankingBet extends Bet {
         }
         
         this.items = new ArrayList<>(items);
-        this.userRankings = new LinkedHashMap<>();
+        this.itemIndexes = new HashMap<>();
+        for (int i = 0; i < this.items.size(); i++) {
+            itemIndexes.put(this.items.get(i), i);
+        }
+        this.userRankings = new ConcurrentHashMap<>();
+        this.encodedRankings = new ConcurrentHashMap<>();
         this.correctRanking = null;
         this.lastWinners = new ArrayList<>();
     }
@@ -74,14 +81,34 @@ public class OrderedRankingBet extends Bet {
             return validationError;
         }
         
-        if (!deductPoints(user, points)) {
-            return ERROR_INSUFFICIENT_POINTS;
+        List<String> recorded = new ArrayList<>(ranking);
+        switch (placeVote(user, points, () -> recordRanking(user, recorded))) {
+            case CLOSED:
+                return ERROR_VOTING_CLOSED;
+            case REJECTED:
+                return ERROR_INSUFFICIENT_POINTS;
+            default:
+                break;
         }
-        
-        userRankings.put(user, new ArrayList<>(ranking));
         return String.format(SUCCESS_VOTE, String.join(" > ", ranking), points);
     }
     
+    private void recordRanking(User user, List<String> ranking) {
+        encodedRankings.put(user, encode(ranking));
+        userRankings.put(user, ranking);
+    }
+
+    /**
+     * Classement validé -> permutation d'indices d'éléments (encodé une fois par vote)
+     */
+    private int[] encode(List<String> ranking) {
+        int[] encoded = new int[ranking.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = itemIndexes.get(ranking.get(i));
+        }
+        return encoded;
+    }
+
     /**
      * Valide qu'un classement contient exactement les bons éléments
      */
@@ -120,26 +147,30 @@ public class OrderedRankingBet extends Bet {
             return ERROR_INVALID_RANKING;
         }
         
+        if (!transition(State.PENDING, State.RESOLVED)) {
+            return ERROR_NOT_PENDING;
+        }
         this.correctRanking = new ArrayList<>(ranking);
-        state = State.RESOLVED;
         
         int totalPot = getTotalPot();
-        List<User> perfectMatches = findPerfectMatches();
+        int[] correct = encode(correctRanking);
+        List<Map.Entry<User, int[]>> votes = inVoteOrder(encodedRankings);
+        List<User> perfectMatches = findPerfectMatches(votes, correct);
         
         if (!perfectMatches.isEmpty()) {
             return distributePerfectMatchRewards(perfectMatches, totalPot);
         }
         
-        return resolveByKendallDistance(totalPot);
+        return resolveByKendallDistance(votes, correct, totalPot);
     }
     
     /**
      * Trouve les utilisateurs avec un classement parfait
      */
-    private List<User> findPerfectMatches() {
+    private List<User> findPerfectMatches(List<Map.Entry<User, int[]>> votes, int[] correct) {
         List<User> perfectMatches = new ArrayList<>();
-        for (Map.Entry<User, List<String>> entry : userRankings.entrySet()) {
-            if (entry.getValue().equals(correctRanking)) {
+        for (Map.Entry<User, int[]> entry : votes) {
+            if (Arrays.equals(entry.getValue(), correct)) {
                 perfectMatches.add(entry.getKey());
             }
         }
@@ -162,52 +193,47 @@ public class OrderedRankingBet extends Bet {
     /**
      * Résolution par distance de Kendall tau: top 30% partagent le pot pondéré
      */
-    private String resolveByKendallDistance(int totalPot) {
-        // Calculer la distance de Kendall tau pour chaque utilisateur
-        List<UserRankingDistance> distances = new ArrayList<>();
-        for (Map.Entry<User, List<String>> entry : userRankings.entrySet()) {
-            double distance = calculateKendallTauDistance(entry.getValue(), correctRanking);
-            distances.add(new UserRankingDistance(entry.getKey(), entry.getValue(), distance));
+    private String resolveByKendallDistance(List<Map.Entry<User, int[]>> votes, int[] correct, int totalPot) {
+        // Distances calculées sur les permutations encodées (fork/join pour les gros paris)
+        int[][] rankings = new int[votes.size()][];
+        for (int i = 0; i < rankings.length; i++) {
+            rankings[i] = votes.get(i).getValue();
         }
+        int[] distances = KendallRanking.distances(rankings, KendallRanking.positionsOf(correct));
         
-        // Trier par distance (plus proche en premier)
-        // L'ordre d'insertion est préservé via LinkedHashMap: en cas d'égalité,
+        // Sélectionner le top 30% (arrondi supérieur), du plus proche au plus éloigné.
+        // Les votes sont dans l'ordre d'arrivée: en cas d'égalité,
         // le premier à avoir voté est prioritaire (équitable)
-        Collections.sort(distances, Comparator.comparingDouble(urd -> urd.distance));
-        
-        // Sélectionner le top 30% (arrondi supérieur)
-        int winnerCount = (int) Math.ceil(distances.size() * TOP_PERCENT);
-        List<UserRankingDistance> winners = distances.subList(0, Math.min(winnerCount, distances.size()));
+        int maxDistance = calculateMaxKendallDistance(items.size());
+        int winnerCount = Math.min((int) Math.ceil(votes.size() * TOP_PERCENT), votes.size());
+        int[] winners = KendallRanking.selectClosest(distances, winnerCount, maxDistance);
         
         // Calculer les poids (inverse de la distance normalisée)
-        double maxDistance = calculateMaxKendallDistance(items.size());
         double totalWeight = 0.0;
-        Map<User, Double> weights = new HashMap<>();
-        
-        for (UserRankingDistance urd : winners) {
+        double[] weights = new double[winners.length];
+        for (int w = 0; w < winners.length; w++) {
             // Poids = 1 / (1 + distance_normalisée)
-            double normalizedDistance = maxDistance > 0 ? urd.distance / maxDistance : 0;
-            double weight = 1.0 / (1.0 + normalizedDistance);
-            weights.put(urd.user, weight);
-            totalWeight += weight;
+            double normalizedDistance = maxDistance > 0 ? (double) distances[winners[w]] / maxDistance : 0;
+            weights[w] = 1.0 / (1.0 + normalizedDistance);
+            totalWeight += weights[w];
         }
         
         // Distribuer le pot proportionnellement aux poids
         StringBuilder result = new StringBuilder();
-        result.append(String.format(SUCCESS_KENDALL, String.join(" > ", correctRanking), winners.size()));
+        result.append(String.format(SUCCESS_KENDALL, String.join(" > ", correctRanking), winners.length));
         
         this.lastWinners = new ArrayList<>();
-        for (UserRankingDistance urd : winners) {
-            this.lastWinners.add(urd.user);
-            double weight = weights.get(urd.user);
-            int reward = (int) ((weight / totalWeight) * totalPot);
-            creditUserPoints(urd.user, reward);
-            recordWin(urd.user);
+        for (int w = 0; w < winners.length; w++) {
+            User user = votes.get(winners[w]).getKey();
+            this.lastWinners.add(user);
+            int reward = (int) ((weights[w] / totalWeight) * totalPot);
+            creditUserPoints(user, reward);
+            recordWin(user);
             
             result.append(String.format(WINNER_DETAIL_FORMAT,
-                                      urd.user.getName(),
-                                      String.join(" > ", urd.ranking),
-                                      urd.distance,
+                                      user.getName(),
+                                      String.join(" > ", userRankings.get(user)),
+                                      (double) distances[winners[w]],
                                       reward));
         }
         
@@ -219,64 +245,12 @@ public class OrderedRankingBet extends Bet {
         return new ArrayList<>(lastWinners);
     }
     
-    /**
-     * Calcule la distance de Kendall tau entre deux classements
-     * Compte le nombre de paires d'éléments inversées entre les deux listes
-     */
-    private double calculateKendallTauDistance(List<String> ranking1, List<String> ranking2) {
-        int n = ranking1.size();
-        int inversions = 0;
-        
-        // Créer des mappings position -> élément pour accès rapide
-        Map<String, Integer> pos1 = new HashMap<>();
-        Map<String, Integer> pos2 = new HashMap<>();
-        
-        for (int i = 0; i < n; i++) {
-            pos1.put(ranking1.get(i), i);
-            pos2.put(ranking2.get(i), i);
-        }
-        
-        // Compter les inversions
-        for (int i = 0; i < n; i++) {
-            for (int j = i + 1; j < n; j++) {
-                String item1 = ranking1.get(i);
-                String item2 = ranking1.get(j);
-                
-                // Dans ranking1: item1 est avant item2 (i < j)
-                // Vérifier l'ordre dans ranking2
-                int pos1InRank2 = pos2.get(item1);
-                int pos2InRank2 = pos2.get(item2);
-                
-                if (pos1InRank2 > pos2InRank2) {
-                    inversions++; // Ordre inversé dans ranking2
-                }
-            }
-        }
-        
-        return inversions;
-    }
-    
     /**
      * Calcule la distance maximale possible pour un classement de taille n
      */
-    private double calculateMaxKendallDistance(int n) {
+    private int calculateMaxKendallDistance(int n) {
         // Distance max = nombre total de paires = n * (n-1) / 2
-        return (n * (n - 1)) / 2.0;
-    }
-    
-    /**
-     * Classe interne pour stocker user + classement + distance
-     */
-    private static class UserRankingDistance {
-        User user;
-        List<String> ranking;
-        double distance;
-        
-        UserRankingDistance(User user, List<String> ranking, double distance) {
-            this.user = user;
-            this.ranking = ranking;
-            this.distance = distance;
-        }
+        return (n * (n - 1)) / 2;
     }
     
     // Getters
@@ -286,6 +260,20 @@ public class OrderedRankingBet extends Bet {
         return correctRanking != null ? new ArrayList<>(correctRanking) : null; 
     }
 
+    @Override
+    Object voteValueOf(User user) {
+        return userRankings.get(user);
+    }
+
+    @Override
+    void restoreVoteValue(User user, Object value) {
+        List<String> ranking = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            ranking.add(String.valueOf(item));
+        }
+        recordRanking(user, ranking);
+    }
+
     /**
      * Permet de modifier le classement d'un utilisateur pendant PENDING via ticket.
      */
@@ -297,7 +285,7 @@ public class OrderedRankingBet extends Bet {
         if (validationError != null) {
             return validationError;
         }
-        userRankings.put(user, new ArrayList<>(ranking));
+        recordRanking(user, new ArrayList<>(ranking));
         return "✅ Classement modifié";
     }
 }
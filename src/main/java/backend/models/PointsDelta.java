@@ -0,0 +1,58 @@
+package backend.models;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Ligne du journal d'audit des mouvements de points, en ajout seul, écrite avec le
+ * mouvement quand {@code points.ledger.audit-log} est activé.
+ */
+@Entity
+@Table(name = "user_wp_points_log",
+    indexes = @Index(name = "idx_user_wp_points_log_user_wp", columnList = "user_id, wp_name"))
+public class PointsDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "wp_name", nullable = false)
+    private String watchPartyName;
+
+    @Column(name = "amount", nullable = false)
+    private int amount;
+
+    // true: solde fixé à amount; false: amount ajouté (plancher à 0)
+    @Column(name = "absolute", nullable = false)
+    private boolean absolute;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected PointsDelta() {}
+
+    public PointsDelta(Long userId, String watchPartyName, int amount, boolean absolute, Instant createdAt) {
+        this.userId = userId;
+        this.watchPartyName = watchPartyName;
+        this.amount = amount;
+        this.absolute = absolute;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public String getWatchPartyName() { return watchPartyName; }
+    public int getAmount() { return amount; }
+    public boolean isAbsolute() { return absolute; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,19 @@
+package backend.models;
+
+/**
+ * Observer of every movement of a user's points in a watch party, in the order they were
+ * applied in memory. Lets the points ledger persist deltas instead of whole balances.
+ */
+public interface PointsListener {
+
+    /**
+     * Points added (delta &gt; 0) or debited (delta &lt; 0); the balance never goes below 0.
+     * Called under the user's lock: must not block.
+     */
+    void onPointsAdded(User user, String watchPartyName, int delta);
+
+    /**
+     * Balance set to an absolute value (joining a watch party). Called under the user's lock.
+     */
+    void onPointsSet(User user, String watchPartyName, int points);
+}
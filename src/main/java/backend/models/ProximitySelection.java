@@ -0,0 +1,190 @@
+package backend.models;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Écarts et sélection des prédictions les plus proches pour la résolution des {@link NumericValueBet},
+ * sur des tableaux primitifs alignés sur l'ordre des votes.
+ */
+final class ProximitySelection {
+
+    /** En dessous, le passage séquentiel est plus rapide que le découpage fork/join. */
+    static final int PARALLEL_THRESHOLD = 16_384;
+    private static final int PARTITION_SIZE = 8_192;
+
+    private ProximitySelection() {}
+
+    /**
+     * Résultat du passage sur les prédictions: écarts, écart maximal et nombre de valeurs exactes.
+     */
+    record Distances(double[] values, double max, int exactMatches) {}
+
+    /**
+     * Calcule en un seul passage les écarts à la valeur correcte, l'écart maximal
+     * et le nombre de prédictions exactes (écart inférieur à la tolérance).
+     */
+    static Distances distances(double[] predictions, double correctValue, double tolerance) {
+        double[] values = new double[predictions.length];
+        if (predictions.length < PARALLEL_THRESHOLD) {
+            return computeRange(predictions, values, correctValue, tolerance, 0, predictions.length);
+        }
+        return ForkJoinPool.commonPool().invoke(
+                new DistanceTask(predictions, values, correctValue, tolerance, 0, predictions.length));
+    }
+
+    /**
+     * Indices des prédictions exactes, dans l'ordre des votes.
+     */
+    static int[] exactMatches(Distances distances, double tolerance) {
+        int[] matches = new int[distances.exactMatches()];
+        int found = 0;
+        double[] values = distances.values();
+        for (int i = 0; i < values.length && found < matches.length; i++) {
+            if (values[i] < tolerance) {
+                matches[found++] = i;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Indices des {@code count} plus petits écarts, triés par écart puis par indice
+     * (premier arrivé prioritaire). Seuil par quickselect en O(V), seul le top est trié.
+     */
+    static int[] selectClosest(double[] distances, int count) {
+        if (count <= 0) {
+            return new int[0];
+        }
+        double threshold = kthSmallest(distances.clone(), count - 1);
+
+        int[] winners = new int[count];
+        int selected = 0;
+        for (int i = 0; i < distances.length; i++) {
+            if (distances[i] < threshold) {
+                winners[selected++] = i;
+            }
+        }
+        // Égalités au seuil: les premiers arrivés complètent le top
+        for (int i = 0; i < distances.length && selected < count; i++) {
+            if (distances[i] == threshold) {
+                winners[selected++] = i;
+            }
+        }
+        sortByDistance(winners, distances);
+        return winners;
+    }
+
+    /**
+     * k-ième plus petite valeur (0-based); réordonne {@code values}.
+     */
+    static double kthSmallest(double[] values, int k) {
+        int from = 0;
+        int to = values.length - 1;
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            // Médiane de trois comme pivot: évite le pire cas sur des votes déjà triés
+            if (values[middle] < values[from]) swap(values, middle, from);
+            if (values[to] < values[from]) swap(values, to, from);
+            if (values[to] < values[middle]) swap(values, to, middle);
+            double pivot = values[middle];
+
+            int left = from;
+            int right = to;
+            while (left <= right) {
+                while (values[left] < pivot) left++;
+                while (values[right] > pivot) right--;
+                if (left <= right) {
+                    swap(values, left++, right--);
+                }
+            }
+            if (k <= right) {
+                to = right;
+            } else if (k >= left) {
+                from = left;
+            } else {
+                return values[k];
+            }
+        }
+        return values[k];
+    }
+
+    /**
+     * Tri fusion stable des indices par écart: les indices arrivent croissants,
+     * l'ordre des votes départage donc les égalités.
+     */
+    private static void sortByDistance(int[] indices, double[] distances) {
+        int[] buffer = new int[indices.length];
+        for (int width = 1; width < indices.length; width *= 2) {
+            for (int from = 0; from < indices.length - width; from += 2 * width) {
+                int middle = from + width;
+                int to = Math.min(from + 2 * width, indices.length);
+                int left = from;
+                int right = middle;
+                int out = from;
+                while (left < middle && right < to) {
+                    buffer[out++] = distances[indices[right]] < distances[indices[left]]
+                            ? indices[right++]
+                            : indices[left++];
+                }
+                while (left < middle) buffer[out++] = indices[left++];
+                while (right < to) buffer[out++] = indices[right++];
+                System.arraycopy(buffer, from, indices, from, to - from);
+            }
+        }
+    }
+
+    private static Distances computeRange(double[] predictions, double[] values, double correctValue,
+                                          double tolerance, int from, int to) {
+        double max = 0.0;
+        int exact = 0;
+        for (int i = from; i < to; i++) {
+            double distance = Math.abs(predictions[i] - correctValue);
+            values[i] = distance;
+            max = Math.max(max, distance);
+            if (distance < tolerance) {
+                exact++;
+            }
+        }
+        return new Distances(values, max, exact);
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    private static final class DistanceTask extends RecursiveTask<Distances> {
+        private final double[] predictions;
+        private final double[] values;
+        private final double correctValue;
+        private final double tolerance;
+        private final int from;
+        private final int to;
+
+        DistanceTask(double[] predictions, double[] values, double correctValue, double tolerance, int from, int to) {
+            this.predictions = predictions;
+            this.values = values;
+            this.correctValue = correctValue;
+            this.tolerance = tolerance;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Distances compute() {
+            if (to - from <= PARTITION_SIZE) {
+                return computeRange(predictions, values, correctValue, tolerance, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            DistanceTask left = new DistanceTask(predictions, values, correctValue, tolerance, from, middle);
+            DistanceTask right = new DistanceTask(predictions, values, correctValue, tolerance, middle, to);
+            left.fork();
+            Distances rightResult = right.compute();
+            Distances leftResult = left.join();
+            return new Distances(values, Math.max(leftResult.max(), rightResult.max()),
+                    leftResult.exactMatches() + rightResult.exactMatches());
+        }
+    }
+}
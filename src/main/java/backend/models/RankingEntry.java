@@ -0,0 +1,12 @@
+package backend.models;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Ligne d'un classement. Les ex aequo partagent le même rang (1, 2, 2, 4...).
+ * Sérialisée en tuple compact {@code [rang, nom, score]}.
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"rank", "name", "score"})
+public record RankingEntry(int rank, String name, int score) {}
@@ -0,0 +1,8 @@
+package backend.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rang et score d'un utilisateur lors d'une photo du classement.
+ */
+public record RankingHistoryPoint(LocalDateTime takenAt, int rank, int score) {}
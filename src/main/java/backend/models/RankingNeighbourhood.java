@@ -0,0 +1,9 @@
+package backend.models;
+
+import java.util.List;
+
+/**
+ * Rang d'un utilisateur et ses voisins immédiats dans un classement
+ * ({@code entries} est vide s'il n'y est pas classé).
+ */
+public record RankingNeighbourhood(RankingEntry user, List<RankingEntry> entries) {}
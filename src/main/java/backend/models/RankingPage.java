@@ -0,0 +1,11 @@
+package backend.models;
+
+import java.util.List;
+
+/**
+ * Page d'un classement.
+ *
+ * @param total      nombre de classés
+ * @param nextCursor à renvoyer pour la page suivante, null sur la dernière page
+ */
+public record RankingPage(List<RankingEntry> entries, int total, String nextCursor) {}
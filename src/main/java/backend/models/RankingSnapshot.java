@@ -0,0 +1,53 @@
+package backend.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Photo du classement global public à un instant, en JSON {@code {nom: score}}.
+ * Une photo complète (keyframe) contient tout le classement; les suivantes ne contiennent
+ * que les scores changés depuis la précédente, jusqu'à la keyframe suivante.
+ */
+@Entity
+@Table(name = "ranking_snapshots",
+    indexes = @Index(name = "idx_ranking_snapshots_metric_taken", columnList = "metric, taken_at"))
+public class RankingSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "metric", nullable = false, length = 16)
+    private String metric;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    @Column(name = "keyframe", nullable = false)
+    private boolean keyframe;
+
+    @Column(name = "payload", columnDefinition = "text", nullable = false)
+    private String payload;
+
+    protected RankingSnapshot() {}
+
+    public RankingSnapshot(String metric, LocalDateTime takenAt, boolean keyframe, String payload) {
+        this.metric = metric;
+        this.takenAt = takenAt;
+        this.keyframe = keyframe;
+        this.payload = payload;
+    }
+
+    public Long getId() { return id; }
+    public String getMetric() { return metric; }
+    public LocalDateTime getTakenAt() { return takenAt; }
+    public boolean isKeyframe() { return keyframe; }
+    public String getPayload() { return payload; }
+}
@@ -0,0 +1,8 @@
+package backend.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version d'un classement, pour les requêtes conditionnelles (ETag / Last-Modified).
+ */
+public record RankingVersion(long version, LocalDateTime lastUpdated) {}
@@ -0,0 +1,33 @@
+package backend.models;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Leadership lease of a background job: only the owner node runs it until expiresAt.
+ * Rows are written by SchedulerLeaseRepository's atomic upsert, not through this entity.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+
+    @Column(name = "owner", nullable = false)
+    private String owner; // node id
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    protected SchedulerLease() {}
+
+    public String getJobName() { return jobName; }
+    public String getOwner() { return owner; }
+    public Instant getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,14 @@
+package backend.models;
+
+/**
+ * Observer of a user's standing in a watch party: points or wins changed, or the user
+ * joined or left it. Lets rankings follow deltas instead of recomputing everything.
+ */
+@FunctionalInterface
+public interface ScoreListener {
+
+    /**
+     * Must not block: it may run while the caller still holds the user's lock.
+     */
+    void onScoreChanged(User user, String watchPartyName);
+}
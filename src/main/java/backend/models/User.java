@@ -2,6 +2,7 @@ package backend.models;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -13,6 +14,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.MapKeyColumn;
 import jakarta.persistence.Table;
@@ -39,16 +41,27 @@ public class User {
     @Transient
     private boolean isModerator;
 
+    // Case-insensitive hash of the name, computed on first hash; 0 until then or after a rename
+    @Transient
+    private int nameHash;
+
     @Column(name = "public_points", nullable = false, columnDefinition = "int default 200")
     private int publicPoints;
 
-    // save pts inside watchparty in liked table
+    // pts inside watchparty: persisted by the points ledger (user_wp_points) as atomic deltas,
+    // never by saving this entity; loaded by the service that reads the user from the database
     @JsonIgnore
-    @ElementCollection
-    @CollectionTable(name = "user_wp_points", joinColumns = @JoinColumn(name = "user_id"))
-    @MapKeyColumn(name = "wp_name")
-    @Column(name = "points")
-    private Map<String, Integer> pointsByWatchParty = new HashMap<>();
+    @Transient
+    private Map<String, Integer> pointsByWatchParty;
+
+    // Observers set by the service that hands this instance out (points ledger, rankings); null until then
+    @JsonIgnore
+    @Transient
+    private volatile PointsListener pointsListener;
+
+    @JsonIgnore
+    @Transient
+    private volatile ScoreListener scoreListener;
 
     @Column(name = "ical_url")
     private String icalUrl;
@@ -62,7 +75,8 @@ public class User {
 
     @JsonIgnore
     @ElementCollection
-    @CollectionTable(name = "user_wp_wins", joinColumns = @JoinColumn(name = "user_id"))
+    @CollectionTable(name = "user_wp_wins", joinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_user_wp_wins_user_wp", columnList = "user_id, wp_name", unique = true))
     @MapKeyColumn(name = "wp_name")
     @Column(name = "wins")
     private Map<String, Integer> winsByWatchParty = new HashMap<>();
@@ -74,8 +88,7 @@ public class User {
         this.isModerator = isModerator;
         this.publicPoints = 200; // Default points
         this.createdAt = new Date();
-        // Initialisation des Maps
-        this.pointsByWatchParty = new HashMap<>();
+        // Initialisation des Maps (points: loaded on first access)
         this.winsByWatchParty = new HashMap<>();
         this.publicWins = 0;
     }
@@ -99,6 +112,7 @@ public class User {
 
     public void setName(String name) {
         this.name = name;
+        this.nameHash = 0;
     }
 
     public boolean isAdmin() {
@@ -135,22 +149,77 @@ public class User {
         this.publicPoints = points;
     }
 
-    // manage pts for watchparty
+    // manage pts for watchparty (synchronized: concurrent votes debit the same user)
     public void addPointsForWatchParty(String wpName, int delta) {
-        int current = pointsByWatchParty.getOrDefault(wpName, 0);
-        pointsByWatchParty.put(wpName, Math.max(0, current + delta));
+        synchronized (this) {
+            int current = points().getOrDefault(wpName, 0);
+            points().put(wpName, Math.max(0, current + delta));
+            PointsListener listener = pointsListener;
+            if (listener != null) {
+                listener.onPointsAdded(this, wpName, delta);
+            }
+        }
+        notifyScoreChanged(wpName);
     }
 
-    public int getPointsForWatchParty(String wpName) {
-        return pointsByWatchParty.getOrDefault(wpName, 0);
+    /**
+     * Debits the points only if the balance covers them (atomic check-then-debit).
+     * @return false if points are not positive or the balance is insufficient
+     */
+    public boolean tryDebitPointsForWatchParty(String wpName, int points) {
+        synchronized (this) {
+            int current = points().getOrDefault(wpName, 0);
+            if (points <= 0 || current < points) {
+                return false;
+            }
+            points().put(wpName, current - points);
+            PointsListener listener = pointsListener;
+            if (listener != null) {
+                listener.onPointsAdded(this, wpName, -points);
+            }
+        }
+        notifyScoreChanged(wpName);
+        return true;
+    }
+
+    public synchronized int getPointsForWatchParty(String wpName) {
+        return points().getOrDefault(wpName, 0);
     }
 
     public void setPointsForWatchParty(String wpName, int points) {
-        pointsByWatchParty.put(wpName, points);
+        synchronized (this) {
+            points().put(wpName, points);
+            PointsListener listener = pointsListener;
+            if (listener != null) {
+                listener.onPointsSet(this, wpName, points);
+            }
+        }
+        notifyScoreChanged(wpName);
     }
 
-    public Map<String, Integer> getPointsByWatchParty() {
-        return new HashMap<>(pointsByWatchParty);
+    public synchronized Map<String, Integer> getPointsByWatchParty() {
+        return new HashMap<>(points());
+    }
+
+    /**
+     * Sets the persisted ledger balances, unless points were already loaded or moved in memory.
+     */
+    public synchronized void loadPointsByWatchParty(Map<String, Integer> balances) {
+        if (pointsByWatchParty == null) {
+            pointsByWatchParty = new HashMap<>(balances);
+        }
+    }
+
+    public synchronized boolean hasLoadedPoints() {
+        return pointsByWatchParty != null;
+    }
+
+    // Caller holds the lock. New users (and users whose balances were not loaded) start from nothing.
+    private Map<String, Integer> points() {
+        if (pointsByWatchParty == null) {
+            pointsByWatchParty = new HashMap<>();
+        }
+        return pointsByWatchParty;
     }
 
     // manage wins
@@ -164,6 +233,7 @@ public class User {
 
     public void addWinForWatchParty(String wpName) {
         winsByWatchParty.put(wpName, winsByWatchParty.getOrDefault(wpName, 0) + 1);
+        notifyScoreChanged(wpName);
     }
 
     public int getWinsForWatchParty(String wpName) {
@@ -174,26 +244,40 @@ public class User {
         return new HashMap<>(winsByWatchParty);
     }
 
+    // observers (points ledger, rankings)
+    public void setListeners(PointsListener pointsListener, ScoreListener scoreListener) {
+        this.pointsListener = pointsListener;
+        this.scoreListener = scoreListener;
+    }
+
+    /**
+     * Tells the observers that this user's standing in the watch party changed
+     * (points, wins, membership or visibility of the party).
+     */
+    public void notifyScoreChanged(String wpName) {
+        ScoreListener listener = scoreListener;
+        if (listener != null) {
+            listener.onScoreChanged(this, wpName);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof User other)) return false;
-        // Compare by username (case-insensitive) or by ID if both are persisted
-        if (this.name != null && other.name != null) {
-            return this.name.equalsIgnoreCase(other.name);
-        }
-        return this.id != null && this.id.equals(other.id);
+        // One identity rule, shared with hashCode: the username (case-insensitive), unique per row
+        return this.name != null && this.name.equalsIgnoreCase(other.name);
     }
 
     @Override
     public int hashCode() {
-        // Use username for hashCode to be consistent with equals
-        if (this.name != null) {
-            return this.name.toLowerCase().hashCode();
-        }
-        if (this.id != null) {
-            return this.id.hashCode();
+        // Hash of the username, consistent with equals; allocation-free once computed
+        int hash = nameHash;
+        if (hash == 0 && name != null) {
+            // Benign race: every thread computes the same value
+            hash = name.toLowerCase(Locale.ROOT).hashCode();
+            nameHash = hash;
         }
-        return 0;
+        return hash;
     }
 }
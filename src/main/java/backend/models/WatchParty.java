@@ -4,8 +4,11 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -16,6 +19,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -25,13 +29,16 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "watch_parties")
+@Table(name = "watch_parties", indexes = {
+    @Index(name = "idx_watch_parties_public", columnList = "is_public, id")
+})
 public class WatchParty {
 
     private static final String ERROR_ICON = "\u274c";
     private static final String SUCCESS_ICON = "\u2705";
     private static final String SYSTEM_USER_NAME = "system";
     private static final String CHAT_SUFFIX = " Chat";
+    public static final int OPEN_MINUTES_BEFORE_MATCH = 30;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -57,13 +64,23 @@ public class WatchParty {
     @Embedded
     private AutoConfig autoConfig;
 
+    // Ensemble: appartenance en O(1), et Hibernate insère/supprime une ligne au lieu de réécrire tout le sac
     @ManyToMany
     @JoinTable(
         name = "wp_participants",
         joinColumns = @JoinColumn(name = "wp_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = {
+            // Unique: one membership row per (party, user), the arbiter of addParticipant's ON CONFLICT
+            @Index(name = "idx_wp_participants_wp_user_unique", columnList = "wp_id, user_id", unique = true),
+            @Index(name = "idx_wp_participants_user", columnList = "user_id")
+        }
     )
-    private List<User> participants = new ArrayList<>();
+    private Set<User> participants = new LinkedHashSet<>();
+
+    // Les arrivées passent par la boîte de la watch party, les classements lisent depuis d'autres threads
+    @Transient
+    private final Object participantsLock = new Object();
 
     @ManyToOne
     @JoinColumn(name = "creator_id")
@@ -98,7 +115,7 @@ public class WatchParty {
         this.planned = false;
         this.autoConfig = null;
         this.status = WatchPartyStatus.OPEN;
-        this.participants = new ArrayList<>();
+        this.participants = new LinkedHashSet<>();
         this.creator = null;
         this.matchState = MatchState.PRE_MATCH;
         this.chat = new Chat(name + CHAT_SUFFIX, new User(SYSTEM_USER_NAME, true));
@@ -112,7 +129,7 @@ public class WatchParty {
         this.planned = true;
         this.autoConfig = autoConfig;
         this.status = WatchPartyStatus.WAITING;
-        this.participants = new ArrayList<>();
+        this.participants = new LinkedHashSet<>();
         this.creator = creator;
         this.matchState = MatchState.PRE_MATCH;
         this.chat = new Chat(name + CHAT_SUFFIX, creator != null ? creator : new User(SYSTEM_USER_NAME, true));
@@ -174,7 +191,11 @@ public class WatchParty {
     }
 
     public void setPublic(boolean isPublic) {
+        boolean changed = this.isPublic != isPublic;
         this.isPublic = isPublic;
+        if (changed) {
+            notifyParticipantScores();
+        }
     }
 
     public boolean isAutoWatchParty() {
@@ -213,7 +234,7 @@ public class WatchParty {
         }
         this.date = upcomingMatch.getScheduledTime();
 
-        if (upcomingMatch.isStartingSoon(30) && status != WatchPartyStatus.OPEN) {
+        if (upcomingMatch.isStartingSoon(OPEN_MINUTES_BEFORE_MATCH) && status != WatchPartyStatus.OPEN) {
             status = WatchPartyStatus.OPEN;
         }
 
@@ -226,9 +247,16 @@ public class WatchParty {
     }
 
     private void kickAllParticipants() {
-        participants.clear();
-        if (creator != null) {
-            participants.add(creator);
+        List<User> kicked;
+        synchronized (participantsLock) {
+            kicked = new ArrayList<>(participants);
+            participants.clear();
+            if (creator != null) {
+                participants.add(creator);
+            }
+        }
+        for (User user : kicked) {
+            user.notifyScoreChanged(name);
         }
     }
 
@@ -237,16 +265,26 @@ public class WatchParty {
             return false;
         }
 
-        if (!participants.contains(user)) {
-            participants.add(user);
+        boolean added;
+        synchronized (participantsLock) {
+            added = participants.add(user);
+        }
+        if (added) {
             user.setPointsForWatchParty(name, 200);
-            return true;
         }
-        return false;
+        return added;
     }
 
     public boolean leave(User user) {
-        return participants.remove(user);
+        boolean removed;
+        synchronized (participantsLock) {
+            removed = participants.remove(user);
+        }
+        if (!removed) {
+            return false;
+        }
+        user.notifyScoreChanged(name);
+        return true;
     }
 
     public boolean isCreator(User user) {
@@ -267,8 +305,51 @@ public class WatchParty {
         return autoConfig;
     }
 
+    /**
+     * Copie des participants, dans l'ordre d'arrivée. Pour un test d'appartenance ou un
+     * comptage, {@link #hasParticipant(User)} et {@link #getParticipantCount()} évitent la copie.
+     */
     public List<User> getParticipants() {
-        return new ArrayList<>(participants);
+        synchronized (participantsLock) {
+            return new ArrayList<>(participants);
+        }
+    }
+
+    public boolean hasParticipant(User user) {
+        synchronized (participantsLock) {
+            return participants.contains(user);
+        }
+    }
+
+    public int getParticipantCount() {
+        synchronized (participantsLock) {
+            return participants.size();
+        }
+    }
+
+    /**
+     * Signale à chaque participant que sa contribution aux classements a changé
+     * (visibilité modifiée, watch party ajoutée ou retirée).
+     */
+    public void notifyParticipantScores() {
+        for (User user : getParticipants()) {
+            user.notifyScoreChanged(name);
+        }
+    }
+
+    /**
+     * Remplace les participants et le créateur par les instances que renvoie {@code resolver}
+     * (celles que partagent paris et classements), pour une watch party relue en base.
+     */
+    public void resolveParticipants(UnaryOperator<User> resolver) {
+        synchronized (participantsLock) {
+            List<User> resolved = participants.stream().map(resolver).toList();
+            participants.clear();
+            participants.addAll(resolved);
+        }
+        if (creator != null) {
+            creator = resolver.apply(creator);
+        }
     }
 
     public User getCreator() {
@@ -277,8 +358,13 @@ public class WatchParty {
 
     public void setCreator(User creator) {
         this.creator = creator;
-        if (creator != null && !participants.contains(creator)) {
-            participants.add(creator);
+        boolean added = false;
+        if (creator != null) {
+            synchronized (participantsLock) {
+                added = participants.add(creator);
+            }
+        }
+        if (added) {
             creator.setPointsForWatchParty(this.name, 200);
         }
         this.chat = new Chat(name + CHAT_SUFFIX, creator != null ? creator : new User(SYSTEM_USER_NAME, true));
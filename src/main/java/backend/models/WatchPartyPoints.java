@@ -0,0 +1,64 @@
+package backend.models;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Solde de points d'un utilisateur dans une watch party (registre de points).
+ * Les lignes sont écrites par les upserts atomiques de WatchPartyPointsRepository
+ * ({@code points = GREATEST(0, points + delta)}), jamais en réécrivant l'entité User.
+ */
+@Entity
+@Table(name = "user_wp_points",
+    indexes = @Index(name = "idx_user_wp_points_user_wp", columnList = "user_id, wp_name", unique = true))
+@IdClass(WatchPartyPoints.Key.class)
+public class WatchPartyPoints {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "wp_name")
+    private String watchPartyName;
+
+    @Column(name = "points")
+    private Integer points;
+
+    protected WatchPartyPoints() {}
+
+    public Long getUserId() { return userId; }
+    public String getWatchPartyName() { return watchPartyName; }
+    public int getPoints() { return points == null ? 0 : points; }
+
+    public static class Key implements Serializable {
+        private Long userId;
+        private String watchPartyName;
+
+        public Key() {}
+
+        public Key(Long userId, String watchPartyName) {
+            this.userId = userId;
+            this.watchPartyName = watchPartyName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key other)) return false;
+            return Objects.equals(userId, other.userId) && Objects.equals(watchPartyName, other.watchPartyName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, watchPartyName);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package backend.repositories;
+
+import backend.models.AwardedThreshold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Repository
+public interface AwardedThresholdRepository extends JpaRepository<AwardedThreshold, AwardedThreshold.Key> {
+
+    @Query("SELECT a.threshold FROM AwardedThreshold a WHERE a.userName = :userName")
+    List<Integer> findThresholdsByUserName(@Param("userName") String userName);
+
+    // 1 row when this call records the threshold, 0 when it was already awarded (here or on another node)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO reward_thresholds (user_name, threshold, awarded_at) VALUES (:userName, :threshold, now())"
+                 + " ON CONFLICT (user_name, threshold) DO NOTHING",
+           nativeQuery = true)
+    int tryAward(@Param("userName") String userName, @Param("threshold") int threshold);
+}
@@ -0,0 +1,32 @@
+package backend.repositories;
+
+import java.util.List;
+
+import backend.models.BetJournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface BetJournalRepository extends JpaRepository<BetJournalEntry, Long> {
+
+    // Journal tail of a bet after its snapshot (0 = whole history)
+    List<BetJournalEntry> findByBetIdAndSequenceGreaterThanOrderBySequenceAsc(String betId, long sequence);
+
+    @Query("SELECT DISTINCT e.betId FROM BetJournalEntry e")
+    List<String> findBetIds();
+
+    // Compaction: entries covered by a snapshot are no longer needed
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BetJournalEntry e WHERE e.betId = :betId AND e.sequence <= :sequence")
+    int deleteUpTo(@Param("betId") String betId, @Param("sequence") long sequence);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BetJournalEntry e WHERE e.betId = :betId")
+    int deleteByBet(@Param("betId") String betId);
+}
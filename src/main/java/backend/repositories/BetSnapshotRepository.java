@@ -0,0 +1,9 @@
+package backend.repositories;
+
+import backend.models.BetSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BetSnapshotRepository extends JpaRepository<BetSnapshot, String> {
+}
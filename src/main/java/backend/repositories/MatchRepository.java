@@ -0,0 +1,30 @@
+package backend.repositories;
+
+import backend.models.Match;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MatchRepository extends JpaRepository<Match, String> {
+
+    // Range scan on scheduled_time, earliest first; the target is a substring filter
+    // (free-text targets, as in the Cargo query) checked on the scanned rows until the page is full
+    @Query("SELECT m FROM Match m WHERE m.scheduledTime > :from"
+         + " AND (LOWER(m.team1) LIKE LOWER(CONCAT('%', :team, '%')) OR LOWER(m.team2) LIKE LOWER(CONCAT('%', :team, '%')))"
+         + " ORDER BY m.scheduledTime ASC")
+    List<Match> findTeamMatchesStartingAfter(@Param("team") String team,
+                                             @Param("from") LocalDateTime from,
+                                             Pageable page);
+
+    @Query("SELECT m FROM Match m WHERE m.scheduledTime > :from"
+         + " AND LOWER(m.tournament) LIKE LOWER(CONCAT('%', :tournament, '%'))"
+         + " ORDER BY m.scheduledTime ASC")
+    List<Match> findTournamentMatchesStartingAfter(@Param("tournament") String tournament,
+                                                   @Param("from") LocalDateTime from,
+                                                   Pageable page);
+}
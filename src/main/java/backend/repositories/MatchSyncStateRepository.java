@@ -0,0 +1,9 @@
+package backend.repositories;
+
+import backend.models.MatchSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MatchSyncStateRepository extends JpaRepository<MatchSyncState, String> {
+}
@@ -0,0 +1,9 @@
+package backend.repositories;
+
+import backend.models.PointsDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PointsDeltaRepository extends JpaRepository<PointsDelta, Long> {
+}
@@ -0,0 +1,19 @@
+package backend.repositories;
+
+import backend.models.RankingSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RankingSnapshotRepository extends JpaRepository<RankingSnapshot, Long> {
+
+    // Last full snapshot at or before a date (served by idx_ranking_snapshots_metric_taken)
+    Optional<RankingSnapshot> findFirstByMetricAndKeyframeTrueAndTakenAtLessThanEqualOrderByTakenAtDesc(
+        String metric, LocalDateTime takenAt);
+
+    List<RankingSnapshot> findByMetricAndTakenAtBetweenOrderByTakenAtAsc(
+        String metric, LocalDateTime from, LocalDateTime to);
+}
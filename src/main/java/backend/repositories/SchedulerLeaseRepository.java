@@ -0,0 +1,29 @@
+package backend.repositories;
+
+import backend.models.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Takes the lease if free or expired, renews it if already ours; 0 rows when another node holds it.
+    // Expiry uses the database clock so that node clock skew does not matter.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_leases (job_name, owner, expires_at)"
+                 + " VALUES (:job, :owner, now() + :ttlSeconds * interval '1 second')"
+                 + " ON CONFLICT (job_name) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at"
+                 + " WHERE scheduler_leases.owner = EXCLUDED.owner OR scheduler_leases.expires_at < now()",
+           nativeQuery = true)
+    int tryAcquire(@Param("job") String job, @Param("owner") String owner, @Param("ttlSeconds") long ttlSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM scheduler_leases WHERE job_name = :job AND owner = :owner", nativeQuery = true)
+    int release(@Param("job") String job, @Param("owner") String owner);
+}
@@ -1,11 +1,43 @@
 package backend.repositories;
 
 import backend.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Wins loaded with the user: cached instances are shared by threads outside of any session
+    @EntityGraph(attributePaths = "winsByWatchParty")
     Optional<User> findByName(String name);
+
+    @Override
+    @EntityGraph(attributePaths = "winsByWatchParty")
+    List<User> findAll();
+
+    // Points and wins of one user in one public watch party
+    interface PublicScoreRow {
+        String getUserName();
+        String getWatchPartyName();
+        Integer getPoints();
+        Integer getWins();
+    }
+
+    @Query("SELECT u.name FROM User u")
+    List<String> findAllNames();
+
+    // Every participation in a public watch party, in one query: no User/WatchParty entity
+    // nor per-user points map is loaded (served by the primary keys and idx_wp_participants_*)
+    @Query(value = "SELECT u.username AS userName, wp.name AS watchPartyName,"
+                 + " COALESCE(p.points, 0) AS points, COALESCE(w.wins, 0) AS wins"
+                 + " FROM wp_participants wpp"
+                 + " JOIN watch_parties wp ON wp.id = wpp.wp_id AND wp.is_public"
+                 + " JOIN users u ON u.id = wpp.user_id"
+                 + " LEFT JOIN user_wp_points p ON p.user_id = u.id AND p.wp_name = wp.name"
+                 + " LEFT JOIN user_wp_wins w ON w.user_id = u.id AND w.wp_name = wp.name",
+           nativeQuery = true)
+    List<PublicScoreRow> findPublicScores();
 }
@@ -0,0 +1,32 @@
+package backend.repositories;
+
+import backend.models.WatchPartyPoints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WatchPartyPointsRepository extends JpaRepository<WatchPartyPoints, WatchPartyPoints.Key> {
+
+    List<WatchPartyPoints> findByUserIdIn(Collection<Long> userIds);
+
+    // Atomic delta on the database row: concurrent writers (threads or nodes) add up instead of
+    // overwriting each other. Runs in the caller's transaction (bet journal group commit).
+    @Modifying
+    @Query(value = "INSERT INTO user_wp_points (user_id, wp_name, points)"
+                 + " VALUES (:userId, :wpName, GREATEST(0, :delta))"
+                 + " ON CONFLICT (user_id, wp_name) DO UPDATE SET points = GREATEST(0, COALESCE(user_wp_points.points, 0) + :delta)",
+           nativeQuery = true)
+    int addPoints(@Param("userId") Long userId, @Param("wpName") String wpName, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_wp_points (user_id, wp_name, points)"
+                 + " VALUES (:userId, :wpName, :points)"
+                 + " ON CONFLICT (user_id, wp_name) DO UPDATE SET points = EXCLUDED.points",
+           nativeQuery = true)
+    int setPoints(@Param("userId") Long userId, @Param("wpName") String wpName, @Param("points") int points);
+}
@@ -1,12 +1,60 @@
 package backend.repositories;
 
 import backend.models.WatchParty;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface WatchPartyRepository extends JpaRepository<WatchParty, Long> {
     // Find a party by its name since name is not the ID anymore
     Optional<WatchParty> findByName(String name);
-}
\ No newline at end of file
+
+    // Latest party of that name, participants (and their wins) included: it is then used outside of any session
+    @EntityGraph(attributePaths = {"participants", "participants.winsByWatchParty", "creator.winsByWatchParty"})
+    Optional<WatchParty> findFirstByNameOrderByIdDesc(String name);
+
+    // Membership rows are written one by one instead of merging the whole participant set.
+    // Atomic on idx_wp_participants_wp_user_unique: 0 row when the user is already a participant
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO wp_participants (wp_id, user_id) VALUES (:wpId, :userId)"
+                 + " ON CONFLICT (wp_id, user_id) DO NOTHING",
+           nativeQuery = true)
+    int addParticipant(@Param("wpId") Long wpId, @Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM wp_participants WHERE wp_id = :wpId AND user_id = :userId", nativeQuery = true)
+    int removeParticipant(@Param("wpId") Long wpId, @Param("userId") Long userId);
+
+    // Match close: every participant but the creator leaves in a single statement
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM wp_participants WHERE wp_id = :wpId AND user_id <> :creatorId", nativeQuery = true)
+    int removeParticipantsExcept(@Param("wpId") Long wpId, @Param("creatorId") Long creatorId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM wp_participants WHERE wp_id = :wpId", nativeQuery = true)
+    int removeAllParticipants(@Param("wpId") Long wpId);
+
+    // Participant count of each party
+    interface ParticipantCountRow {
+        Long getWatchPartyId();
+        Long getParticipants();
+    }
+
+    // Counts of many parties in one grouped query, without loading any participant (idx_wp_participants_wp_user_unique)
+    @Query(value = "SELECT wp_id AS watchPartyId, COUNT(*) AS participants FROM wp_participants"
+                 + " WHERE wp_id IN (:wpIds) GROUP BY wp_id",
+           nativeQuery = true)
+    List<ParticipantCountRow> countParticipants(@Param("wpIds") Collection<Long> wpIds);
+}
@@ -1,23 +1,31 @@
 package backend.services;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import jakarta.annotation.PreDestroy;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import backend.integration.lolesports.LiveMatchMonitorService;
 import backend.integration.lolesports.LolEsportsClient;
 import backend.models.AutoConfig;
-import backend.models.Bet;
 import backend.models.Match;
 import backend.models.WatchParty;
+import backend.models.WatchPartyStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Scheduler that automatically opens/closes watch parties based on match timing.
@@ -25,40 +33,84 @@ import backend.models.WatchParty;
 @Service
 public class AutoWatchPartyScheduler {
 
+    private static final Logger log = LoggerFactory.getLogger(AutoWatchPartyScheduler.class);
+    private static final String NO_MATCH_FINGERPRINT = "none";
+
+    static final String CYCLE_TIMER = "watchparty.scheduler.cycle";
+    static final String PARTY_UPDATE_TIMER = "watchparty.scheduler.party.update";
+    static final String UPSTREAM_TIMER = "watchparty.scheduler.upstream";
+    static final String ERRORS_COUNTER = "watchparty.scheduler.errors";
+    static final String LAST_SUCCESS_AGE_GAUGE = "watchparty.scheduler.last.success.age";
+    static final String LEADER_GAUGE = "watchparty.scheduler.leader";
+
     private final WatchPartyManager manager;
     private final LeaguepediaClient apiClient;
+    private final MatchScheduleService matchSchedule;
     private final ScheduledExecutorService scheduler;
     private final LolEsportsClient lolClient;
     private final LiveMatchMonitorService liveMonitor;
+    private final MeterRegistry meterRegistry;
+    private final Timer cycleTimer;
+    private final LeaderElectionService leaderElection;
 
     private boolean running;
+    private volatile long lastSuccessfulCycleNanos;
+    private volatile boolean leading;
 
     public AutoWatchPartyScheduler(WatchPartyManager manager) {
         this(manager, new LeaguepediaClient(), null, null);
     }
 
-    @Autowired
-    public AutoWatchPartyScheduler(WatchPartyManager manager,
-                                   LolEsportsClient lolClient,
-                                   LiveMatchMonitorService liveMonitor) {
-        this(manager, new LeaguepediaClient(), lolClient, liveMonitor);
-        manager.setScheduler(this);
+    AutoWatchPartyScheduler(WatchPartyManager manager,
+                            LeaguepediaClient apiClient,
+                            LolEsportsClient lolClient,
+                            LiveMatchMonitorService liveMonitor) {
+        this(manager, apiClient, lolClient, liveMonitor, new SimpleMeterRegistry());
     }
 
     AutoWatchPartyScheduler(WatchPartyManager manager,
                             LeaguepediaClient apiClient,
                             LolEsportsClient lolClient,
-                            LiveMatchMonitorService liveMonitor) {
+                            LiveMatchMonitorService liveMonitor,
+                            MeterRegistry meterRegistry) {
+        this(manager, new MatchScheduleService(apiClient), lolClient, liveMonitor, meterRegistry,
+            LeaderElectionService.singleNode());
+    }
+
+    @Autowired
+    public AutoWatchPartyScheduler(WatchPartyManager manager,
+                                   MatchScheduleService matchSchedule,
+                                   LolEsportsClient lolClient,
+                                   LiveMatchMonitorService liveMonitor,
+                                   MeterRegistry meterRegistry,
+                                   LeaderElectionService leaderElection) {
         this.manager = manager;
-        this.apiClient = apiClient;
+        this.matchSchedule = matchSchedule;
+        this.apiClient = matchSchedule.getApiClient();
         this.lolClient = lolClient;
         this.liveMonitor = liveMonitor;
         this.scheduler = Executors.newScheduledThreadPool(1);
         this.running = false;
+        this.meterRegistry = meterRegistry;
+        this.leaderElection = leaderElection;
+        this.cycleTimer = Timer.builder(CYCLE_TIMER)
+            .description("Duration of a full auto watch party update cycle")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        // Counted from creation so that a scheduler that never completes a cycle still shows up
+        this.lastSuccessfulCycleNanos = System.nanoTime();
+        Gauge.builder(LAST_SUCCESS_AGE_GAUGE, this, AutoWatchPartyScheduler::secondsSinceLastSuccessfulCycle)
+            .description("Seconds since the last auto watch party cycle completed")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder(LEADER_GAUGE, this, s -> s.leading ? 1 : 0)
+            .description("1 when this node runs the auto watch party cycles")
+            .register(meterRegistry);
+        manager.setScheduler(this);
     }
 
     /**
-     * Start the scheduler. Checks for updates every 5 minutes.
+     * Start the scheduler. Checks for updates every 5 minutes, on the leader node only.
      */
     public void start() {
         if (running) {
@@ -66,7 +118,7 @@ public class AutoWatchPartyScheduler {
         }
 
         running = true;
-        scheduler.scheduleAtFixedRate(this::updateAllAutoWatchParties, 0, 5, TimeUnit.MINUTES);
+        scheduler.scheduleAtFixedRate(this::runScheduledCycle, 0, 5, TimeUnit.MINUTES);
     }
 
     public void stop() {
@@ -75,6 +127,8 @@ public class AutoWatchPartyScheduler {
         }
 
         running = false;
+        leading = false;
+        leaderElection.release(LeaderElectionService.AUTO_WATCH_PARTY_JOB);
         scheduler.shutdown();
         try {
             if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -91,44 +145,155 @@ public class AutoWatchPartyScheduler {
         stop();
     }
 
+    private void runScheduledCycle() {
+        leading = leaderElection.isLeader(LeaderElectionService.AUTO_WATCH_PARTY_JOB);
+        if (!leading) {
+            // Another node runs the cycles: a follower is idle, not stalled
+            lastSuccessfulCycleNanos = System.nanoTime();
+            return;
+        }
+        updateAllAutoWatchParties();
+    }
+
     private void updateAllAutoWatchParties() {
-        for (WatchParty wp : manager.getAllAutoWatchParties()) {
-            try {
-                updateWatchParty(wp);
-            } catch (Exception ignored) {
-                // Best effort scheduler: a single failing watch party must not block the others.
+        Timer.Sample cycle = Timer.start(meterRegistry);
+        try {
+            // Several watch parties can follow the same team/tournament: sync each target once per cycle
+            // target -> sync succeeded: a party following a target whose sync failed did not progress
+            Map<String, Boolean> syncedTargets = new HashMap<>();
+            List<WatchParty> parties = manager.getAllAutoWatchParties();
+            int succeeded = 0;
+            for (WatchParty wp : parties) {
+                if (updateWatchPartyTimed(wp, syncedTargets)) {
+                    succeeded++;
+                }
             }
+
+            // A cycle where every update failed is not progress: let the staleness alert fire
+            if (parties.isEmpty() || succeeded > 0) {
+                lastSuccessfulCycleNanos = System.nanoTime();
+            }
+        } catch (Exception e) {
+            // An exception escaping a scheduleAtFixedRate task would cancel every later cycle
+            recordError("cycle", e);
+            log.warn("Auto watch party cycle failed", e);
+        } finally {
+            cycle.stop(cycleTimer);
         }
+    }
 
-        checkAndAutoCloseBets();
+    /**
+     * @return true if the watch party was updated from a successful sync of its target
+     */
+    private boolean updateWatchPartyTimed(WatchParty wp, Map<String, Boolean> syncedTargets) {
+        Timer.Sample update = Timer.start(meterRegistry);
+        boolean updated = false;
+        try {
+            updated = updateWatchParty(wp, syncedTargets);
+        } catch (Exception e) {
+            // Best effort scheduler: a single failing watch party must not block the others.
+            recordError("party", e);
+            log.warn("Auto watch party '{}' update failed: {}", wp.name(), e.toString());
+        } finally {
+            update.stop(meterRegistry.timer(PARTY_UPDATE_TIMER, "outcome", updated ? "success" : "error"));
+        }
+        return updated;
     }
 
-    private void updateWatchParty(WatchParty wp) {
+    private void recordError(String stage, Exception e) {
+        meterRegistry.counter(ERRORS_COUNTER, "stage", stage, "exception", e.getClass().getSimpleName()).increment();
+    }
+
+    private Timer upstreamTimer(String call) {
+        return meterRegistry.timer(UPSTREAM_TIMER, "call", call);
+    }
+
+    private double secondsSinceLastSuccessfulCycle() {
+        return (System.nanoTime() - lastSuccessfulCycleNanos) / 1_000_000_000.0;
+    }
+
+    /**
+     * @return false if the sync of the party's target failed (the party still gets the local schedule)
+     */
+    private boolean updateWatchParty(WatchParty wp, Map<String, Boolean> syncedTargets) {
         AutoConfig config = wp.getAutoConfig();
         if (config == null) {
-            return;
+            return true;
         }
 
         config.updateLastChecked();
 
-        Match nextMatch = null;
-        try {
-            if (config.isTeamBased()) {
-                nextMatch = apiClient.getNextTeamMatch(config.getTarget());
-            } else if (config.isTournamentBased()) {
-                nextMatch = apiClient.getNextTournamentMatch(config.getTarget());
+        String target = config.getType() + ":" + config.getTarget();
+        Boolean synced = syncedTargets.get(target);
+        if (synced == null) {
+            Timer.Sample sync = Timer.start(meterRegistry);
+            try {
+                matchSchedule.sync(config);
+                synced = true;
+            } catch (IOException e) {
+                recordError("upstream", e);
+                log.warn("Match schedule sync failed for '{}', keeping local data: {}", config.getTarget(), e.getMessage());
+                synced = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                sync.stop(upstreamTimer("leaguepedia.sync"));
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return;
+            syncedTargets.put(target, synced);
         }
 
-        if (config.getCurrentMatch() != null) {
-            apiClient.updateMatchStatus(config.getCurrentMatch());
+        // Answered from the local schedule, even when the sync above failed
+        Match nextMatch = applyUpcomingMatch(wp, config, matchSchedule.getNextMatch(config));
+        maybeStartLiveMonitoring(wp, nextMatch);
+        return synced;
+    }
+
+    /**
+     * Applies the upcoming match to the watch party, skipping the status update and
+     * persistence when neither the match nor its timing phase changed since last cycle.
+     * @return the match instance now tracked by the watch party
+     */
+    private Match applyUpcomingMatch(WatchParty wp, AutoConfig config, Match nextMatch) {
+        Match current = config.getCurrentMatch();
+        if (current != null) {
+            apiClient.updateMatchStatus(current);
+            if (current.hasSameContent(nextMatch)) {
+                // Same upstream match: keep the tracked instance (live status, Riot event id)
+                nextMatch = current;
+            }
         }
 
-        wp.updateStatus(nextMatch);
-        maybeStartLiveMonitoring(wp, nextMatch);
+        if (config.recordAppliedMatch(matchFingerprint(nextMatch))) {
+            Match applied = nextMatch;
+            manager.executeInParty(wp.getName(), () -> {
+                boolean wasOpen = wp.getStatus() == WatchPartyStatus.OPEN;
+                wp.updateStatus(applied);
+                if (wasOpen && wp.getStatus() == WatchPartyStatus.CLOSED) {
+                    // Participants kicked at match close: one bulk delete instead of one per row
+                    manager.saveParticipantsKicked(wp);
+                }
+                manager.saveWatchParty(wp);
+                return null;
+            });
+        }
+        return nextMatch;
+    }
+
+    private String matchFingerprint(Match match) {
+        if (match == null) {
+            return NO_MATCH_FINGERPRINT;
+        }
+        // Time-driven transitions (opening window, match over) must still reach updateStatus
+        String phase;
+        if (match.isPast()) {
+            phase = "past";
+        } else if (match.isStartingSoon(WatchParty.OPEN_MINUTES_BEFORE_MATCH)) {
+            phase = "open";
+        } else {
+            phase = "upcoming";
+        }
+        return match.getKey() + "#" + match.getContentHash() + "#" + match.getStatus() + "#" + phase;
     }
 
     private void maybeStartLiveMonitoring(WatchParty wp, Match nextMatch) {
@@ -141,13 +306,17 @@ public class AutoWatchPartyScheduler {
         }
 
         if (nextMatch.getRiotEventId() == null || nextMatch.getRiotEventId().isBlank()) {
-            lolClient.findLiveEventId(nextMatch).ifPresent(nextMatch::setRiotEventId);
+            upstreamTimer("lolesports.event")
+                .record(() -> lolClient.findLiveEventId(nextMatch))
+                .ifPresent(nextMatch::setRiotEventId);
         }
         if (nextMatch.getRiotEventId() == null || nextMatch.getRiotEventId().isBlank()) {
             return;
         }
 
-        String gameId = lolClient.getFirstGameId(nextMatch.getRiotEventId()).orElse(null);
+        String gameId = upstreamTimer("lolesports.game")
+            .record(() -> lolClient.getFirstGameId(nextMatch.getRiotEventId()))
+            .orElse(null);
         if (gameId != null) {
             liveMonitor.startMonitoring(wp, gameId);
         }
@@ -169,18 +338,6 @@ public class AutoWatchPartyScheduler {
         return report.toString();
     }
 
-    private void checkAndAutoCloseBets() {
-        LocalDateTime now = LocalDateTime.now();
-        for (WatchParty wp : manager.getAllWatchParties()) {
-            Bet activeBet = wp.getActiveBet();
-            if (activeBet != null
-                    && activeBet.getState() == Bet.State.VOTING
-                    && now.isAfter(activeBet.getVotingEndTime())) {
-                activeBet.endVoting();
-            }
-        }
-    }
-
     private void processWatchPartyReport(WatchParty wp, StringBuilder report) {
         try {
             AutoConfig config = wp.getAutoConfig();
@@ -234,10 +391,7 @@ public class AutoWatchPartyScheduler {
 
     private void updateWatchPartyStatus(WatchParty wp, AutoConfig config, List<Match> matches) {
         Match nextMatch = (matches == null || matches.isEmpty()) ? null : matches.get(0);
-        if (config.getCurrentMatch() != null) {
-            apiClient.updateMatchStatus(config.getCurrentMatch());
-        }
-        wp.updateStatus(nextMatch);
+        applyUpcomingMatch(wp, config, nextMatch);
     }
 
     public boolean isRunning() {
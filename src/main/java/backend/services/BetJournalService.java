@@ -0,0 +1,411 @@
+package backend.services;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import backend.models.Bet;
+import backend.models.BetJournalCodec;
+import backend.models.BetJournalEntry;
+import backend.models.BetSnapshot;
+import backend.models.User;
+import backend.models.WatchParty;
+import backend.repositories.BetJournalRepository;
+import backend.repositories.BetSnapshotRepository;
+
+/**
+ * Journal durable des paris en cours (les paris eux-mêmes restent en mémoire).
+ *
+ * Les événements sont écrits par un thread unique en group commit: tout ce qui s'est
+ * accumulé pendant l'écriture précédente part dans une seule transaction, avec les
+ * parieurs concernés. Tous les {@link #SNAPSHOT_INTERVAL} événements d'un pari, un
+ * snapshot remplace l'historique: la reconstruction au démarrage lit un snapshot plus une
+ * queue de journal courte. Les mouvements de points en attente dans le {@link PointsLedgerService}
+ * partent dans la même transaction. Sans repositories (tests), le journal est gardé en mémoire.
+ */
+@Service
+public class BetJournalService {
+
+    private static final Logger log = LoggerFactory.getLogger(BetJournalService.class);
+    static final int SNAPSHOT_INTERVAL = 500;
+    private static final int MAX_BATCH = 512;
+    private static final long POLL_MILLIS = 100;
+    private static final long DURABILITY_TIMEOUT_SECONDS = 5;
+    private static final Type PAYLOAD_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+    private final BetJournalRepository journalRepository;
+    private final BetSnapshotRepository snapshotRepository;
+    private final UserService userService;
+    private final PointsLedgerService pointsLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final Gson gson = new Gson();
+
+    // Dernière position attribuée par pari en cours (attribuée par l'écrivain de la watch party)
+    private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Mode mémoire, protégé par le verrou de inMemoryEntries
+    private final List<BetJournalEntry> inMemoryEntries = new ArrayList<>();
+    private final Map<String, BetSnapshot> inMemorySnapshots = new LinkedHashMap<>();
+
+    @Autowired
+    public BetJournalService(BetJournalRepository journalRepository,
+                             BetSnapshotRepository snapshotRepository,
+                             UserService userService,
+                             PointsLedgerService pointsLedger,
+                             PlatformTransactionManager transactionManager) {
+        this.journalRepository = journalRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.userService = userService;
+        this.pointsLedger = pointsLedger;
+        this.transactionTemplate = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+        this.writer = new Thread(this::writeLoop, "bet-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public BetJournalService() {
+        this(null, null, null, new PointsLedgerService(), null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(DURABILITY_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    public CompletableFuture<Void> recordCreated(Bet bet) {
+        return record(bet, BetJournalEntry.Type.CREATED, BetJournalCodec.describe(bet), List.of());
+    }
+
+    public CompletableFuture<Void> recordVote(Bet bet, User user) {
+        return record(bet, BetJournalEntry.Type.VOTED, BetJournalCodec.vote(bet, user), List.of(user));
+    }
+
+    public CompletableFuture<Void> recordAdjustment(Bet bet, User user) {
+        return record(bet, BetJournalEntry.Type.ADJUSTED, BetJournalCodec.vote(bet, user), List.of(user));
+    }
+
+    public CompletableFuture<Void> recordVotingEnded(Bet bet) {
+        return record(bet, BetJournalEntry.Type.VOTING_ENDED, Map.of(), List.of());
+    }
+
+    public CompletableFuture<Void> recordResolved(Bet bet, Object correctValue) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put(BetJournalCodec.KEY_CORRECT_VALUE, correctValue);
+        return record(bet, BetJournalEntry.Type.RESOLVED, payload, settledUsers(bet));
+    }
+
+    public CompletableFuture<Void> recordCancelled(Bet bet) {
+        return record(bet, BetJournalEntry.Type.CANCELLED, Map.of(), settledUsers(bet));
+    }
+
+    /**
+     * Attend que l'événement soit écrit. L'état en mémoire reste la référence jusqu'au
+     * prochain snapshot; un échec est rendu à l'appelant, qui ne doit pas annoncer la
+     * commande comme acceptée.
+     *
+     * @return false si l'écriture a échoué ou n'est pas confirmée à temps
+     */
+    public boolean awaitDurable(CompletableFuture<Void> durable) {
+        if (durable == null) {
+            return true;
+        }
+        try {
+            durable.get(DURABILITY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Bet journal write not confirmed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Doit être appelé par l'écrivain de la watch party du pari: l'ordre des positions
+     * et le contenu des snapshots en dépendent.
+     */
+    private CompletableFuture<Void> record(Bet bet, BetJournalEntry.Type type,
+                                           Map<String, Object> payload, Collection<User> users) {
+        String betId = bet.getBetId();
+        long sequence = sequences.computeIfAbsent(betId, id -> new AtomicLong()).incrementAndGet();
+        BetJournalEntry entry = new BetJournalEntry(betId, bet.getWatchPartyName(), sequence, type, gson.toJson(payload));
+        PendingWrite write = new PendingWrite(entry, null, users);
+        queue.add(write);
+
+        if (type.isTerminal()) {
+            sequences.remove(betId);
+        } else if (sequence % SNAPSHOT_INTERVAL == 0) {
+            String description = gson.toJson(BetJournalCodec.describe(bet));
+            queue.add(new PendingWrite(null, new BetSnapshot(betId, bet.getWatchPartyName(), sequence, description), List.of()));
+        }
+        return write.durable;
+    }
+
+    private static Collection<User> settledUsers(Bet bet) {
+        Set<User> users = new LinkedHashSet<>(bet.getVotersInOrder());
+        users.addAll(bet.getLastWinners());
+        return users;
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Points bougés hors des paris (arrivée dans une watch party)
+                    if (pointsLedger.hasPending()) {
+                        flush(batch);
+                    }
+                    continue;
+                }
+                batch.add(first);
+                // Group commit: tout ce qui attend part dans la même transaction
+                queue.drainTo(batch, MAX_BATCH - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<BetJournalEntry> entries = new ArrayList<>();
+        Map<String, BetSnapshot> snapshots = new LinkedHashMap<>();
+        Set<String> finishedBets = new LinkedHashSet<>();
+        Map<String, User> users = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            if (write.entry != null) {
+                entries.add(write.entry);
+                if (write.entry.getType().isTerminal()) {
+                    finishedBets.add(write.entry.getBetId());
+                }
+            }
+            if (write.snapshot != null) {
+                snapshots.put(write.snapshot.getBetId(), write.snapshot);
+            }
+            for (User user : write.users) {
+                users.put(user.getName(), user);
+            }
+        }
+        finishedBets.forEach(snapshots::remove);
+
+        List<PointsLedgerService.Movement> points = new ArrayList<>();
+        try {
+            if (journalRepository == null) {
+                writeInMemory(entries, snapshots.values(), finishedBets);
+                points.addAll(pointsLedger.writePending());
+            } else {
+                transactionTemplate.executeWithoutResult(status -> {
+                    writeToDatabase(entries, snapshots.values(), finishedBets, users.values());
+                    points.addAll(pointsLedger.writePending());
+                });
+            }
+            batch.forEach(write -> write.durable.complete(null));
+        } catch (RuntimeException e) {
+            log.error("Bet journal batch of {} events and {} point movements failed", batch.size(), points.size(), e);
+            pointsLedger.requeue(points);
+            batch.forEach(write -> write.durable.completeExceptionally(e));
+        }
+    }
+
+    private void writeToDatabase(List<BetJournalEntry> entries, Collection<BetSnapshot> snapshots,
+                                 Set<String> finishedBets, Collection<User> users) {
+        journalRepository.saveAll(entries);
+        for (BetSnapshot snapshot : snapshots) {
+            snapshotRepository.save(snapshot);
+            journalRepository.deleteUpTo(snapshot.getBetId(), snapshot.getSequence());
+        }
+        for (String betId : finishedBets) {
+            journalRepository.deleteByBet(betId);
+            snapshotRepository.deleteById(betId);
+        }
+        // Victoires des parieurs; leurs points passent par le registre, dans cette même transaction
+        users.forEach(userService::saveUser);
+    }
+
+    private void writeInMemory(List<BetJournalEntry> entries, Collection<BetSnapshot> snapshots,
+                               Set<String> finishedBets) {
+        synchronized (inMemoryEntries) {
+            inMemoryEntries.addAll(entries);
+            for (BetSnapshot snapshot : snapshots) {
+                inMemorySnapshots.put(snapshot.getBetId(), snapshot);
+                inMemoryEntries.removeIf(e -> e.getBetId().equals(snapshot.getBetId())
+                        && e.getSequence() <= snapshot.getSequence());
+            }
+            for (String betId : finishedBets) {
+                inMemoryEntries.removeIf(e -> e.getBetId().equals(betId));
+                inMemorySnapshots.remove(betId);
+            }
+        }
+    }
+
+    // ==================== RECONSTRUCTION ====================
+
+    /**
+     * Reconstruit les paris en cours: dernier snapshot (ou création) puis queue du journal.
+     * Les paris terminés ou dont la watch party n'existe plus sont purgés.
+     */
+    public List<Bet> recover(Function<String, WatchParty> watchParties, Function<String, User> users) {
+        List<Bet> recovered = new ArrayList<>();
+        for (String betId : findBetIds()) {
+            try {
+                Bet bet = rebuild(betId, watchParties, users);
+                if (bet == null) {
+                    purge(betId);
+                } else {
+                    recovered.add(bet);
+                }
+            } catch (RuntimeException e) {
+                log.error("Bet {} could not be rebuilt from the journal", betId, e);
+            }
+        }
+        if (!recovered.isEmpty()) {
+            log.info("{} bet(s) rebuilt from the journal", recovered.size());
+        }
+        return recovered;
+    }
+
+    private Bet rebuild(String betId, Function<String, WatchParty> watchParties, Function<String, User> users) {
+        BetSnapshot snapshot = findSnapshot(betId);
+        List<BetJournalEntry> tail = findTail(betId, snapshot == null ? 0 : snapshot.getSequence());
+        if (tail.stream().anyMatch(e -> e.getType().isTerminal())) {
+            return null;
+        }
+
+        int replayFrom = 0;
+        String description;
+        String watchPartyName;
+        if (snapshot != null) {
+            description = snapshot.getPayload();
+            watchPartyName = snapshot.getWatchPartyName();
+        } else if (!tail.isEmpty() && tail.get(0).getType() == BetJournalEntry.Type.CREATED) {
+            description = tail.get(0).getPayload();
+            watchPartyName = tail.get(0).getWatchPartyName();
+            replayFrom = 1;
+        } else {
+            log.warn("Bet {} has no snapshot nor creation entry", betId);
+            return null;
+        }
+
+        WatchParty wp = watchParties.apply(watchPartyName);
+        if (wp == null) {
+            return null;
+        }
+        Bet bet = BetJournalCodec.rebuild(parse(description), wp, users);
+        long lastSequence = snapshot == null ? 0 : snapshot.getSequence();
+        for (BetJournalEntry entry : tail.subList(replayFrom, tail.size())) {
+            BetJournalCodec.apply(bet, entry.getType(), parse(entry.getPayload()), users);
+        }
+        if (!tail.isEmpty()) {
+            lastSequence = tail.get(tail.size() - 1).getSequence();
+        }
+        sequences.put(betId, new AtomicLong(lastSequence));
+        return bet;
+    }
+
+    private Map<String, Object> parse(String json) {
+        return gson.fromJson(json, PAYLOAD_TYPE);
+    }
+
+    private Set<String> findBetIds() {
+        Set<String> betIds = new LinkedHashSet<>();
+        if (journalRepository != null) {
+            snapshotRepository.findAll().forEach(s -> betIds.add(s.getBetId()));
+            betIds.addAll(journalRepository.findBetIds());
+            return betIds;
+        }
+        synchronized (inMemoryEntries) {
+            betIds.addAll(inMemorySnapshots.keySet());
+            inMemoryEntries.forEach(e -> betIds.add(e.getBetId()));
+        }
+        return betIds;
+    }
+
+    private BetSnapshot findSnapshot(String betId) {
+        if (snapshotRepository != null) {
+            return snapshotRepository.findById(betId).orElse(null);
+        }
+        synchronized (inMemoryEntries) {
+            return inMemorySnapshots.get(betId);
+        }
+    }
+
+    private List<BetJournalEntry> findTail(String betId, long afterSequence) {
+        if (journalRepository != null) {
+            return journalRepository.findByBetIdAndSequenceGreaterThanOrderBySequenceAsc(betId, afterSequence);
+        }
+        synchronized (inMemoryEntries) {
+            return inMemoryEntries.stream()
+                .filter(e -> e.getBetId().equals(betId) && e.getSequence() > afterSequence)
+                .sorted((a, b) -> Long.compare(a.getSequence(), b.getSequence()))
+                .toList();
+        }
+    }
+
+    private void purge(String betId) {
+        sequences.remove(betId);
+        if (journalRepository != null) {
+            journalRepository.deleteByBet(betId);
+            snapshotRepository.deleteById(betId);
+            return;
+        }
+        writeInMemory(List.of(), List.of(), Set.of(betId));
+    }
+
+    /**
+     * Un événement ou un snapshot en attente d'écriture, avec les utilisateurs à persister.
+     */
+    private static final class PendingWrite {
+        final BetJournalEntry entry;
+        final BetSnapshot snapshot;
+        final Collection<User> users;
+        final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        PendingWrite(BetJournalEntry entry, BetSnapshot snapshot, Collection<User> users) {
+            this.entry = entry;
+            this.snapshot = snapshot;
+            this.users = users;
+        }
+    }
+}
@@ -3,44 +3,87 @@ package backend.services;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import backend.integration.lolesports.dto.Frame;
 import backend.models.Bet;
+import backend.models.BetPoolSnapshot;
 import backend.models.DiscreteChoiceBet;
 import backend.models.NumericValueBet;
 import backend.models.OrderedRankingBet;
 import backend.models.TicketType;
 import backend.models.User;
 import backend.models.WatchParty;
+import backend.services.betresolution.FrameIndex;
 
 @Service
 public class BetService {
 
+    private static final Logger log = LoggerFactory.getLogger(BetService.class);
     private static final double BONUS_IN_OR_OUT_TICKET_CHANCE = 0.10;
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
     private static final String ADMIN_REQUIRED_ERROR = "❌ Seuls les admins peuvent créer des paris";
     private static final String WATCH_PARTY_NOT_FOUND = "❌ Watch party introuvable: ";
     private static final String ACTIVE_BET_EXISTS = "❌ Un pari est déjà actif pour cette watch party";
+    private static final String SUCCESS_PREFIX = "✅";
     private static final String NO_ACTIVE_BET = "❌ Aucun pari actif pour cette watch party";
+    static final String NOT_DURABLE = "❌ Enregistrement non confirmé: l'action est appliquée mais peut être perdue au redémarrage";
     private static final String WATCH_PARTY_CREATOR_REQUIRED = "❌ Seuls le créateur de la watchparty ou les admins globaux peuvent ";
 
     private final WatchPartyManager watchPartyManager;
     private final UserService userService;
     private final RankingService rankingService;
     private final BetSettlementService settlementService;
+    private final BetJournalService journal;
+    private final VotingDeadlineScheduler votingDeadlines;
+
+    /**
+     * Résultat d'une commande de watch party et écriture du journal associée (null si aucune).
+     */
+    public record Journaled<T>(T result, CompletableFuture<Void> durable) {}
 
+    @Autowired
     public BetService(WatchPartyManager watchPartyManager,
                       UserService userService,
                       RankingService rankingService,
-                      BetSettlementService settlementService) {
+                      BetSettlementService settlementService,
+                      BetJournalService journal,
+                      VotingDeadlineScheduler votingDeadlines) {
         this.watchPartyManager = watchPartyManager;
         this.userService = userService;
         this.rankingService = rankingService;
         this.settlementService = settlementService;
+        this.journal = journal;
+        this.votingDeadlines = votingDeadlines;
+    }
+
+    /**
+     * Remet en place les paris en cours au démarrage (snapshot + queue du journal).
+     */
+    @PostConstruct
+    public void recoverActiveBets() {
+        for (Bet bet : journal.recover(watchPartyManager::getWatchPartyByName, userService::getUser)) {
+            WatchParty wp = watchPartyManager.getWatchPartyByName(bet.getWatchPartyName());
+            String result = watchPartyManager.executeInParty(wp.getName(), () -> wp.createBet(bet));
+            if (wp.getActiveBet() != bet) {
+                log.warn("Recovered bet of '{}' not restored: {}", wp.getName(), result);
+            } else {
+                settlementService.prepare(bet);
+                scheduleVotingDeadline(wp, bet);
+            }
+        }
     }
 
     public String createDiscreteChoiceBet(String watchPartyName,
@@ -48,17 +91,32 @@ public class BetService {
                                           String question,
                                           List<String> choices,
                                           int votingMinutes) {
+        return createDiscreteChoiceBet(watchPartyName, adminName, question, choices, votingMinutes, false);
+    }
+
+    public String createDiscreteChoiceBet(String watchPartyName,
+                                          String adminName,
+                                          String question,
+                                          List<String> choices,
+                                          int votingMinutes,
+                                          boolean offersTicket) {
         User admin = userService.getUser(adminName);
         WatchParty wp = watchPartyManager.getWatchPartyByName(watchPartyName);
-
-        String validationError = validateBetCreation(admin, wp, watchPartyName);
-        if (validationError != null) {
-            return validationError;
+        if (wp == null) {
+            return WATCH_PARTY_NOT_FOUND + watchPartyName;
         }
 
-        LocalDateTime votingEndTime = LocalDateTime.now().plusMinutes(votingMinutes);
-        DiscreteChoiceBet bet = new DiscreteChoiceBet(question, admin, wp, votingEndTime, choices);
-        return wp.createBet(bet);
+        return executeJournaled(wp.getName(), () -> {
+            String validationError = validateBetCreation(admin, wp, watchPartyName);
+            if (validationError != null) {
+                return unjournaled(validationError);
+            }
+
+            LocalDateTime votingEndTime = LocalDateTime.now().plusMinutes(votingMinutes);
+            DiscreteChoiceBet bet = new DiscreteChoiceBet(question, admin, wp, votingEndTime, choices);
+            bet.setOffersTicket(offersTicket);
+            return openBet(wp, bet);
+        });
     }
 
     public String createNumericValueBet(String watchPartyName,
@@ -68,17 +126,34 @@ public class BetService {
                                         Double minValue,
                                         Double maxValue,
                                         int votingMinutes) {
+        return createNumericValueBet(watchPartyName, adminName, question, isInteger, minValue, maxValue, votingMinutes, false);
+    }
+
+    public String createNumericValueBet(String watchPartyName,
+                                        String adminName,
+                                        String question,
+                                        boolean isInteger,
+                                        Double minValue,
+                                        Double maxValue,
+                                        int votingMinutes,
+                                        boolean offersTicket) {
         User admin = userService.getUser(adminName);
         WatchParty wp = watchPartyManager.getWatchPartyByName(watchPartyName);
-
-        String validationError = validateBetCreation(admin, wp, watchPartyName);
-        if (validationError != null) {
-            return validationError;
+        if (wp == null) {
+            return WATCH_PARTY_NOT_FOUND + watchPartyName;
         }
 
-        LocalDateTime votingEndTime = LocalDateTime.now().plusMinutes(votingMinutes);
-        NumericValueBet bet = new NumericValueBet(question, admin, wp, votingEndTime, isInteger, minValue, maxValue);
-        return wp.createBet(bet);
+        return executeJournaled(wp.getName(), () -> {
+            String validationError = validateBetCreation(admin, wp, watchPartyName);
+            if (validationError != null) {
+                return unjournaled(validationError);
+            }
+
+            LocalDateTime votingEndTime = LocalDateTime.now().plusMinutes(votingMinutes);
+            NumericValueBet bet = new NumericValueBet(question, admin, wp, votingEndTime, isInteger, minValue, maxValue);
+            bet.setOffersTicket(offersTicket);
+            return openBet(wp, bet);
+        });
     }
 
     public String createOrderedRankingBet(String watchPartyName,
@@ -86,17 +161,32 @@ public class BetService {
                                           String question,
                                           List<String> items,
                                           int votingMinutes) {
+        return createOrderedRankingBet(watchPartyName, adminName, question, items, votingMinutes, false);
+    }
+
+    public String createOrderedRankingBet(String watchPartyName,
+                                          String adminName,
+                                          String question,
+                                          List<String> items,
+                                          int votingMinutes,
+                                          boolean offersTicket) {
         User admin = userService.getUser(adminName);
         WatchParty wp = watchPartyManager.getWatchPartyByName(watchPartyName);
-
-        String validationError = validateBetCreation(admin, wp, watchPartyName);
-        if (validationError != null) {
-            return validationError;
+        if (wp == null) {
+            return WATCH_PARTY_NOT_FOUND + watchPartyName;
         }
 
-        LocalDateTime votingEndTime = LocalDateTime.now().plusMinutes(votingMinutes);
-        OrderedRankingBet bet = new OrderedRankingBet(question, admin, wp, votingEndTime, items);
-        return wp.createBet(bet);
+        return executeJournaled(wp.getName(), () -> {
+            String validationError = validateBetCreation(admin, wp, watchPartyName);
+            if (validationError != null) {
+                return unjournaled(validationError);
+            }
+
+            LocalDateTime votingEndTime = LocalDateTime.now().plusMinutes(votingMinutes);
+            OrderedRankingBet bet = new OrderedRankingBet(question, admin, wp, votingEndTime, items);
+            bet.setOffersTicket(offersTicket);
+            return openBet(wp, bet);
+        });
     }
 
     public String vote(String watchPartyName, String username, Object votedValue, int points) {
@@ -104,13 +194,19 @@ public class BetService {
         if (wp == null) {
             return WATCH_PARTY_NOT_FOUND + watchPartyName;
         }
-        if (!wp.hasActiveBet()) {
-            return NO_ACTIVE_BET;
-        }
 
-        User user = userService.getUser(username);
-        Bet bet = wp.getActiveBet();
-        return bet.vote(user, votedValue, points);
+        return executeJournaled(wp.getName(), () -> {
+            if (!wp.hasActiveBet()) {
+                return unjournaled(NO_ACTIVE_BET);
+            }
+            User user = userService.getUser(username);
+            Bet bet = wp.getActiveBet();
+            String result = bet.vote(user, votedValue, points);
+            if (!result.startsWith(SUCCESS_PREFIX)) {
+                return unjournaled(result);
+            }
+            return new Journaled<>(result, journal.recordVote(bet, user));
+        });
     }
 
     public String endVoting(String watchPartyName, String adminName) {
@@ -124,7 +220,15 @@ public class BetService {
             return WATCH_PARTY_CREATOR_REQUIRED + "fermer le vote";
         }
 
-        return wp.closeActiveBet();
+        return executeJournaled(wp.getName(), () -> {
+            Bet bet = wp.getActiveBet();
+            String result = wp.closeActiveBet();
+            if (!result.startsWith(SUCCESS_PREFIX)) {
+                return unjournaled(result);
+            }
+            votingDeadlines.cancel(bet.getBetId());
+            return new Journaled<>(result, journal.recordVotingEnded(bet));
+        });
     }
 
     public String resolveBet(String watchPartyName, String adminName, Object correctValue) {
@@ -137,11 +241,13 @@ public class BetService {
         if (!wp.isAdmin(admin)) {
             return WATCH_PARTY_CREATOR_REQUIRED + "résoudre un pari";
         }
-        if (!wp.hasActiveBet()) {
-            return NO_ACTIVE_BET;
-        }
 
-        return resolveActiveBet(wp, wp.getActiveBet(), correctValue);
+        return executeJournaled(wp.getName(), () -> {
+            if (!wp.hasActiveBet()) {
+                return unjournaled(NO_ACTIVE_BET);
+            }
+            return resolveActiveBet(wp, wp.getActiveBet(), correctValue);
+        });
     }
 
     public String cancelBet(String watchPartyName, String adminName) {
@@ -154,17 +260,22 @@ public class BetService {
         if (!wp.isAdmin(admin)) {
             return WATCH_PARTY_CREATOR_REQUIRED + "annuler un pari";
         }
-        if (!wp.hasActiveBet()) {
-            return NO_ACTIVE_BET;
-        }
 
-        Bet bet = wp.getActiveBet();
-        String result = bet.cancel();
-        if (bet.getState() == Bet.State.CANCELED) {
+        return executeJournaled(wp.getName(), () -> {
+            if (!wp.hasActiveBet()) {
+                return unjournaled(NO_ACTIVE_BET);
+            }
+            Bet bet = wp.getActiveBet();
+            String result = bet.cancel();
+            if (bet.getState() != Bet.State.CANCELED) {
+                return unjournaled(result);
+            }
+            CompletableFuture<Void> durable = journal.recordCancelled(bet);
+            votingDeadlines.cancel(bet.getBetId());
             settlementService.clear(bet);
             refreshRankingCache(wp);
-        }
-        return result;
+            return new Journaled<>(result, durable);
+        });
     }
 
     public List<Bet> getAllActiveBets() {
@@ -182,38 +293,166 @@ public class BetService {
         return wp == null ? null : wp.getActiveBet();
     }
 
+    /**
+     * Pot et cotes en direct du pari actif, lus sur les compteurs du pari.
+     */
+    public BetPoolSnapshot getPoolSnapshot(String watchPartyName) {
+        Bet bet = getActiveBet(watchPartyName);
+        return bet == null ? null : bet.getPoolSnapshot();
+    }
+
     public boolean tryAutoResolveLiveBet(WatchParty wp, Frame frame) {
         return tryAutoResolveLiveBet(wp, null, frame);
     }
 
     public boolean tryAutoResolveLiveBet(WatchParty wp, Frame previousFrame, Frame currentFrame) {
+        return tryAutoResolveLiveBet(wp, FrameIndex.of(previousFrame), FrameIndex.of(currentFrame));
+    }
+
+    /**
+     * Évalue une frame pour les watch parties qui suivent la partie. Seuls les paris dont un
+     * déclencheur est présent dans la frame passent par les délégués de résolution; pour les
+     * autres, on se contente de clore un vote échu.
+     *
+     * @return nombre de paris résolus
+     */
+    public int tryAutoResolveLiveBets(Collection<WatchParty> parties, FrameIndex previousFrame, FrameIndex currentFrame) {
+        if (parties == null || currentFrame == null) {
+            return 0;
+        }
+        Set<Bet> triggered = settlementService.triggeredBets(
+            parties.stream().map(WatchParty::getName).toList(), currentFrame);
+        int resolved = 0;
+        for (WatchParty wp : parties) {
+            Bet activeBet = wp.getActiveBet();
+            if (activeBet == null) {
+                continue;
+            }
+            if (triggered.contains(activeBet)) {
+                if (tryAutoResolveLiveBet(wp, previousFrame, currentFrame)) {
+                    resolved++;
+                }
+            } else if (isVotingOverdue(activeBet)) {
+                executeJournaled(wp.getName(), () -> wp.getActiveBet() == activeBet
+                        ? new Journaled<>(null, closeVotingIfOverdue(activeBet))
+                        : unjournaled(null));
+            }
+        }
+        return resolved;
+    }
+
+    public boolean tryAutoResolveLiveBet(WatchParty wp, FrameIndex previousFrame, FrameIndex currentFrame) {
         if (wp == null || currentFrame == null) {
             return false;
         }
+        return executeJournaled(wp.getName(),
+            () -> autoResolveActiveBet(wp, previousFrame, currentFrame), false);
+    }
 
+    private Journaled<Boolean> autoResolveActiveBet(WatchParty wp, FrameIndex previousFrame, FrameIndex currentFrame) {
         Bet activeBet = wp.getActiveBet();
         if (activeBet == null) {
-            return false;
+            return unjournaled(false);
         }
 
         settlementService.observe(activeBet, previousFrame, currentFrame, wp);
 
-        if (activeBet.getState() == Bet.State.VOTING
-                && LocalDateTime.now().isAfter(activeBet.getVotingEndTime())) {
-            activeBet.endVoting();
-        }
+        CompletableFuture<Void> votingEnded = closeVotingIfOverdue(activeBet);
 
         if (activeBet.getState() != Bet.State.PENDING) {
-            return false;
+            return new Journaled<>(false, votingEnded);
         }
 
         Optional<Object> correctValue = settlementService.findCorrectValue(activeBet, previousFrame, currentFrame, wp);
         if (correctValue.isEmpty()) {
-            return false;
+            return new Journaled<>(false, votingEnded);
+        }
+
+        // Écritures du journal dans l'ordre: attendre la dernière suffit
+        Journaled<String> resolution = resolveActiveBet(wp, activeBet, correctValue.get());
+        CompletableFuture<Void> durable = resolution.durable() != null ? resolution.durable() : votingEnded;
+        return new Journaled<>(activeBet.getState() == Bet.State.RESOLVED, durable);
+    }
+
+    private static boolean isVotingOverdue(Bet bet) {
+        return bet.getState() == Bet.State.VOTING && LocalDateTime.now().isAfter(bet.getVotingEndTime());
+    }
+
+    /**
+     * Clôt le vote si son échéance est passée. Appelé par l'écrivain de la watch party.
+     */
+    private CompletableFuture<Void> closeVotingIfOverdue(Bet bet) {
+        if (isVotingOverdue(bet) && bet.endVoting().startsWith(SUCCESS_PREFIX)) {
+            votingDeadlines.cancel(bet.getBetId());
+            return journal.recordVotingEnded(bet);
         }
+        return null;
+    }
+
+    private void scheduleVotingDeadline(WatchParty wp, Bet bet) {
+        if (bet.getState() == Bet.State.VOTING) {
+            votingDeadlines.schedule(bet.getBetId(), bet.getVotingEndTime(), () -> closeVotingAtDeadline(wp, bet));
+        }
+    }
+
+    /**
+     * Appelé par l'échéancier à l'échéance du vote: la clôture est confiée à l'écrivain de la
+     * watch party sans attendre l'écriture du journal (aucun appelant à qui répondre).
+     */
+    private void closeVotingAtDeadline(WatchParty wp, Bet bet) {
+        if (bet.getState() != Bet.State.VOTING) {
+            return;
+        }
+        if (!isVotingOverdue(bet)) {
+            // Échéance repoussée ou horloge en avance: reprogrammer plutôt que fermer trop tôt
+            scheduleVotingDeadline(wp, bet);
+            return;
+        }
+        watchPartyManager.submitToParty(wp.getName(), () -> {
+            if (wp.getActiveBet() == bet) {
+                closeVotingIfOverdue(bet);
+            }
+        });
+    }
 
-        resolveActiveBet(wp, activeBet, correctValue.get());
-        return activeBet.getState() == Bet.State.RESOLVED;
+    /**
+     * Dernière étape d'ouverture d'un pari: installation sur la watch party et journalisation.
+     */
+    private Journaled<String> openBet(WatchParty wp, Bet bet) {
+        String result = wp.createBet(bet);
+        if (wp.getActiveBet() != bet) {
+            return unjournaled(result);
+        }
+        settlementService.prepare(bet);
+        scheduleVotingDeadline(wp, bet);
+        return new Journaled<>(result, journal.recordCreated(bet));
+    }
+
+    /**
+     * Enregistre un ajustement de pari fait avec un ticket. Appelé par l'écrivain de la
+     * watch party; l'attente de l'écriture se fait dans executeJournaled, hors de celui-ci.
+     */
+    public Journaled<String> recordTicketAdjustment(Bet bet, User user, String result) {
+        return new Journaled<>(result, journal.recordAdjustment(bet, user));
+    }
+
+    /**
+     * Exécute une commande par l'écrivain de la watch party, puis attend hors de celui-ci
+     * que son événement soit durable (group commit du journal).
+     *
+     * @return le message de la commande, ou {@link #NOT_DURABLE} si son écriture a échoué
+     */
+    public String executeJournaled(String watchPartyName, Supplier<Journaled<String>> command) {
+        return executeJournaled(watchPartyName, command, NOT_DURABLE);
+    }
+
+    private <T> T executeJournaled(String watchPartyName, Supplier<Journaled<T>> command, T notDurable) {
+        Journaled<T> outcome = watchPartyManager.executeInParty(watchPartyName, command);
+        return journal.awaitDurable(outcome.durable()) ? outcome.result() : notDurable;
+    }
+
+    public static <T> Journaled<T> unjournaled(T result) {
+        return new Journaled<>(result, null);
     }
 
     private String validateBetCreation(User admin, WatchParty wp, String watchPartyName) {
@@ -229,22 +468,21 @@ public class BetService {
         return null;
     }
 
-    private String resolveActiveBet(WatchParty wp, Bet bet, Object correctValue) {
+    private Journaled<String> resolveActiveBet(WatchParty wp, Bet bet, Object correctValue) {
         String result = bet.resolve(correctValue);
-        if (bet.getState() == Bet.State.RESOLVED) {
-            settlementService.clear(bet);
-            refreshRankingCache(wp);
-            distributeTicketsIfNeeded(wp, bet);
+        if (bet.getState() != Bet.State.RESOLVED) {
+            return unjournaled(result);
         }
-        return result;
+        CompletableFuture<Void> durable = journal.recordResolved(bet, correctValue);
+        settlementService.clear(bet);
+        refreshRankingCache(wp);
+        distributeTicketsIfNeeded(wp, bet);
+        return new Journaled<>(result, durable);
     }
 
     private void refreshRankingCache(WatchParty wp) {
-        if (wp.isPublic()) {
-            rankingService.refreshAll();
-        } else {
-            rankingService.refreshWatchParty(wp.getName());
-        }
+        // Les classements globaux suivent les changements de score: seul celui de la watch party est à refaire
+        rankingService.refreshWatchParty(wp.getName());
     }
 
     private void distributeTicketsIfNeeded(WatchParty wp, Bet bet) {
@@ -1,7 +1,10 @@
 package backend.services;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Service;
 
@@ -10,7 +13,10 @@ import backend.models.Bet;
 import backend.models.WatchParty;
 import backend.services.betresolution.BetResolutionContext;
 import backend.services.betresolution.BetResolutionDelegate;
+import backend.services.betresolution.BetResolutionPlan;
+import backend.services.betresolution.BetRuleIndex;
 import backend.services.betresolution.DiscreteChoiceBetResolutionDelegate;
+import backend.services.betresolution.FrameIndex;
 import backend.services.betresolution.MilestoneRaceTracker;
 import backend.services.betresolution.NumericValueBetResolutionDelegate;
 import backend.services.betresolution.OrderedRankingBetResolutionDelegate;
@@ -18,41 +24,88 @@ import backend.services.betresolution.OrderedRankingBetResolutionDelegate;
 @Service
 public class BetSettlementService {
 
-    private final List<BetResolutionDelegate> delegates;
+    private final BetResolutionDelegate discreteChoiceDelegate;
+    private final BetResolutionDelegate numericValueDelegate;
+    private final BetResolutionDelegate orderedRankingDelegate;
     private final MilestoneRaceTracker milestoneRaceTracker;
 
+    // Question analysée une fois par pari, puis réutilisée à chaque frame
+    private final Map<Bet, BetResolutionPlan> plans = new ConcurrentHashMap<>();
+    private final BetRuleIndex ruleIndex = new BetRuleIndex();
+
     public BetSettlementService() {
-        this.delegates = List.of(
-                new DiscreteChoiceBetResolutionDelegate(),
-                new NumericValueBetResolutionDelegate(),
-                new OrderedRankingBetResolutionDelegate());
+        this.discreteChoiceDelegate = new DiscreteChoiceBetResolutionDelegate();
+        this.numericValueDelegate = new NumericValueBetResolutionDelegate();
+        this.orderedRankingDelegate = new OrderedRankingBetResolutionDelegate();
         this.milestoneRaceTracker = new MilestoneRaceTracker();
     }
 
+    /**
+     * Compile le plan de résolution du pari (à sa création ou à sa reconstruction).
+     * Sinon il est compilé à la première frame observée.
+     */
+    public BetResolutionPlan prepare(Bet bet) {
+        return plans.computeIfAbsent(bet, key -> {
+            BetResolutionPlan plan = BetResolutionPlan.compile(key);
+            ruleIndex.register(plan);
+            return plan;
+        });
+    }
+
+    /**
+     * Paris préparés des watch parties données qu'une frame peut faire avancer; les autres
+     * n'ont pas besoin d'être évalués.
+     */
+    public Set<Bet> triggeredBets(Collection<String> watchPartyNames, FrameIndex frame) {
+        return frame == null ? Set.of() : ruleIndex.triggeredBy(watchPartyNames, frame);
+    }
+
     public void observe(Bet bet, Frame previousFrame, Frame currentFrame, WatchParty watchParty) {
-        findDelegate(bet).ifPresent(delegate -> delegate.recordObservation(
-                bet,
-                new BetResolutionContext(watchParty, previousFrame, currentFrame, milestoneRaceTracker)));
+        observe(bet, FrameIndex.of(previousFrame), FrameIndex.of(currentFrame), watchParty);
+    }
+
+    public void observe(Bet bet, FrameIndex previousFrame, FrameIndex currentFrame, WatchParty watchParty) {
+        BetResolutionPlan plan = prepare(bet);
+        delegateFor(bet).recordObservation(
+                plan,
+                new BetResolutionContext(watchParty, previousFrame, currentFrame, milestoneRaceTracker));
+        if (plan.hasMilestoneRace() && milestoneRaceTracker.getWinner(bet).isPresent()) {
+            ruleIndex.markReady(bet);
+        }
     }
 
     public Optional<Object> findCorrectValue(Bet bet, Frame previousFrame, Frame currentFrame, WatchParty watchParty) {
-        return findDelegate(bet)
-                .flatMap(delegate -> delegate.findCorrectValue(
-                        bet,
-                        new BetResolutionContext(watchParty, previousFrame, currentFrame, milestoneRaceTracker)));
+        return findCorrectValue(bet, FrameIndex.of(previousFrame), FrameIndex.of(currentFrame), watchParty);
+    }
+
+    /**
+     * Les frames indexées sont construites une fois à la réception et partagées par tous les délégués.
+     */
+    public Optional<Object> findCorrectValue(Bet bet, FrameIndex previousFrame, FrameIndex currentFrame,
+                                             WatchParty watchParty) {
+        BetResolutionPlan plan = prepare(bet);
+        return delegateFor(bet).findCorrectValue(
+                plan,
+                new BetResolutionContext(watchParty, previousFrame, currentFrame, milestoneRaceTracker));
     }
 
     public Optional<Object> findCorrectValue(Bet bet, Frame frame, WatchParty watchParty) {
-        return findCorrectValue(bet, null, frame, watchParty);
+        return findCorrectValue(bet, null, FrameIndex.of(frame), watchParty);
     }
 
     public void clear(Bet bet) {
         milestoneRaceTracker.clear(bet);
+        if (bet != null) {
+            plans.remove(bet);
+            ruleIndex.unregister(bet);
+        }
     }
 
-    private Optional<BetResolutionDelegate> findDelegate(Bet bet) {
-        return delegates.stream()
-                .filter(delegate -> delegate.supports(bet))
-                .findFirst();
+    private BetResolutionDelegate delegateFor(Bet bet) {
+        return switch (bet.getType()) {
+            case DISCRETE_CHOICE -> discreteChoiceDelegate;
+            case NUMERIC_VALUE -> numericValueDelegate;
+            case ORDERED_RANKING -> orderedRankingDelegate;
+        };
     }
 }
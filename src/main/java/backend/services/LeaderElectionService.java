@@ -0,0 +1,156 @@
+package backend.services;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import backend.repositories.SchedulerLeaseRepository;
+
+/**
+ * Cluster-wide leadership per background job, based on leases in the scheduler_leases table.
+ *
+ * A node competes for a job once it asks {@link #isLeader(String)} for it. A heartbeat renews
+ * held leases (or tries to take free ones) every few seconds; a dead leader loses its lease
+ * after {@link #LEASE_TTL_SECONDS} and another node takes over on its next heartbeat.
+ * Without a repository (tests, single node) this node is always the leader.
+ */
+@Service
+public class LeaderElectionService {
+
+    public static final String AUTO_WATCH_PARTY_JOB = "auto-watch-party-scheduler";
+    public static final String REWARD_JOB = "reward-scheduler";
+    public static final String RANKING_SNAPSHOT_JOB = "ranking-snapshots";
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderElectionService.class);
+    static final long LEASE_TTL_SECONDS = 30;
+    private static final long RENEW_INTERVAL_SECONDS = 10;
+    // Stop acting as leader a bit before the lease really expires in the database
+    private static final long EXPIRY_MARGIN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String nodeId;
+    // Jobs this node competes for -> local deadline (System.nanoTime) of the held lease, 0 if not held
+    private final Map<String, Long> leaseDeadlines = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat;
+
+    @Autowired
+    public LeaderElectionService(SchedulerLeaseRepository leaseRepository) {
+        this.leaseRepository = leaseRepository;
+        this.nodeId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.heartbeat = leaseRepository == null ? null : Executors.newSingleThreadScheduledExecutor();
+    }
+
+    /**
+     * Single node mode: every job runs locally.
+     */
+    public static LeaderElectionService singleNode() {
+        return new LeaderElectionService(null);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (heartbeat != null) {
+            heartbeat.scheduleWithFixedDelay(this::renewAll, RENEW_INTERVAL_SECONDS, RENEW_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (heartbeat == null) {
+            return;
+        }
+        heartbeat.shutdownNow();
+        // Graceful shutdown: hand over immediately instead of waiting for the TTL
+        for (String job : leaseDeadlines.keySet()) {
+            release(job);
+        }
+    }
+
+    /**
+     * True when this node currently holds the lease of {@code job}. The first call for a job
+     * registers this node as a candidate and tries to take the lease right away; later calls
+     * only read the local state kept fresh by the heartbeat.
+     */
+    public boolean isLeader(String job) {
+        if (leaseRepository == null) {
+            return true;
+        }
+        Long deadline = leaseDeadlines.get(job);
+        if (deadline == null) {
+            return tryAcquire(job, true);
+        }
+        return deadline != 0 && System.nanoTime() - deadline < 0;
+    }
+
+    /**
+     * Stops competing for {@code job} and frees its lease if held.
+     */
+    public void release(String job) {
+        if (leaseRepository == null || leaseDeadlines.remove(job) == null) {
+            return;
+        }
+        try {
+            leaseRepository.release(job, nodeId);
+        } catch (Exception e) {
+            log.warn("Unable to release lease '{}': {}", job, e.getMessage());
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void renewAll() {
+        for (String job : leaseDeadlines.keySet()) {
+            tryAcquire(job, false);
+        }
+    }
+
+    private boolean tryAcquire(String job, boolean register) {
+        long requestedAt = System.nanoTime();
+        boolean held;
+        try {
+            held = leaseRepository.tryAcquire(job, nodeId, LEASE_TTL_SECONDS) > 0;
+        } catch (Exception e) {
+            // Database unreachable: we cannot prove we still own the lease
+            log.warn("Lease '{}' could not be renewed: {}", job, e.getMessage());
+            held = false;
+        }
+
+        long deadline = held ? requestedAt + TimeUnit.SECONDS.toNanos(LEASE_TTL_SECONDS) - EXPIRY_MARGIN_NANOS : 0;
+        Long previous = register ? leaseDeadlines.put(job, deadline) : leaseDeadlines.replace(job, deadline);
+        if (!register && previous == null) {
+            // Released while renewing: do not keep a lease nobody uses
+            if (held) {
+                leaseRepository.release(job, nodeId);
+            }
+            return false;
+        }
+        boolean wasLeader = previous != null && previous != 0;
+        if (held != wasLeader) {
+            log.info("Node {} {} leadership of '{}'", nodeId, held ? "took" : "lost", job);
+        }
+        return held;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package backend.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import backend.models.RankingEntry;
+
+/**
+ * Classement trié par score décroissant puis par nom, en arbre d'ordre statistique
+ * (treap: chaque nœud connaît la taille de son sous-arbre).
+ * Mise à jour d'un score, rang d'un joueur et accès par position en O(log n).
+ * Non thread-safe: l'appelant sérialise les accès.
+ */
+final class Leaderboard {
+
+    private final Map<String, Integer> scores = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    private static final class Node {
+        private final String name;
+        private final int score;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        Node(String name, int score, int priority) {
+            this.name = name;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    int size() {
+        return scores.size();
+    }
+
+    boolean contains(String name) {
+        return scores.containsKey(name);
+    }
+
+    /**
+     * @return score du joueur, 0 s'il n'est pas classé
+     */
+    int scoreOf(String name) {
+        return scores.getOrDefault(name, 0);
+    }
+
+    void put(String name, int score) {
+        Integer previous = scores.put(name, score);
+        if (previous != null) {
+            if (previous == score) {
+                return;
+            }
+            root = delete(root, previous, name);
+        }
+        Node node = new Node(name, score, random.nextInt());
+        Node[] parts = split(root, score, name);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    void remove(String name) {
+        Integer previous = scores.remove(name);
+        if (previous != null) {
+            root = delete(root, previous, name);
+        }
+    }
+
+    void clear() {
+        scores.clear();
+        root = null;
+    }
+
+    /**
+     * Rang de compétition: 1 + nombre de joueurs au score strictement supérieur.
+     * Un joueur non classé a le rang d'un score nul.
+     */
+    int rankOf(String name) {
+        return countAbove(scoreOf(name)) + 1;
+    }
+
+    /**
+     * Nombre de joueurs dont le score atteint {@code score}.
+     */
+    int countAtLeast(int score) {
+        return score == Integer.MIN_VALUE ? size() : countAbove(score - 1);
+    }
+
+    /**
+     * Position (0-based) du joueur dans l'ordre du classement, -1 s'il n'est pas classé.
+     */
+    int indexOf(String name) {
+        Integer score = scores.get(name);
+        if (score == null) {
+            return -1;
+        }
+        int index = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(score, name, node);
+            if (cmp == 0) {
+                return index + size(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Nombre de joueurs classés avant ou à la place de (score, nom), qu'il soit encore classé ou non:
+     * position de la ligne qui suit cette clé.
+     */
+    int positionAfter(int score, String name) {
+        int position = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(score, name, node) >= 0) {
+                position += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Jusqu'à {@code count} lignes à partir de la position {@code from}: O(log n + count).
+     */
+    List<RankingEntry> range(int from, int count) {
+        int start = Math.max(0, from);
+        int end = (int) Math.min((long) start + Math.max(0, count), size());
+        List<RankingEntry> entries = new ArrayList<>(Math.max(0, end - start));
+        if (start >= end) {
+            return entries;
+        }
+        collect(root, start, end, 0, entries);
+        // Rangs: le premier par comptage, les suivants d'après le précédent
+        int rank = countAbove(entries.get(0).score()) + 1;
+        for (int i = 0; i < entries.size(); i++) {
+            RankingEntry entry = entries.get(i);
+            if (i > 0 && entry.score() != entries.get(i - 1).score()) {
+                rank = start + i + 1;
+            }
+            entries.set(i, new RankingEntry(rank, entry.name(), entry.score()));
+        }
+        return entries;
+    }
+
+    List<RankingEntry> top(int count) {
+        return range(0, count);
+    }
+
+    /**
+     * Le joueur et ses {@code radius} voisins de chaque côté; vide s'il n'est pas classé.
+     */
+    List<RankingEntry> around(String name, int radius) {
+        int index = indexOf(name);
+        if (index < 0) {
+            return List.of();
+        }
+        int from = Math.max(0, index - radius);
+        return range(from, index - from + radius + 1);
+    }
+
+    /**
+     * Classement complet, dans l'ordre.
+     */
+    Map<String, Integer> toMap() {
+        Map<String, Integer> ordered = new LinkedHashMap<>();
+        inOrder(root, ordered);
+        return ordered;
+    }
+
+    private int countAbove(int score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /** Ordre du classement: score décroissant, puis nom. */
+    private static int compare(int score, String name, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return name.compareTo(node.name);
+    }
+
+    /** Sépare en (avant la clé, clé et après). */
+    private static Node[] split(Node node, int score, String name) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (compare(score, name, node) <= 0) {
+            Node[] parts = split(node.left, score, name);
+            node.left = parts[1];
+            update(node);
+            return new Node[] {parts[0], node};
+        }
+        Node[] parts = split(node.right, score, name);
+        node.right = parts[0];
+        update(node);
+        return new Node[] {node, parts[1]};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node delete(Node node, int score, String name) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(score, name, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, score, name);
+        } else {
+            node.right = delete(node.right, score, name);
+        }
+        update(node);
+        return node;
+    }
+
+    private static void collect(Node node, int from, int to, int offset, List<RankingEntry> out) {
+        if (node == null || offset >= to || offset + node.size <= from) {
+            return;
+        }
+        int index = offset + size(node.left);
+        collect(node.left, from, to, offset, out);
+        if (index >= from && index < to) {
+            out.add(new RankingEntry(0, node.name, node.score));
+        }
+        collect(node.right, from, to, index + 1, out);
+    }
+
+    private static void inOrder(Node node, Map<String, Integer> out) {
+        if (node == null) {
+            return;
+        }
+        inOrder(node.left, out);
+        out.put(node.name, node.score);
+        inOrder(node.right, out);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
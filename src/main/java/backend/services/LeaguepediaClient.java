@@ -7,9 +7,10 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.zip.GZIPInputStream;
@@ -35,6 +36,15 @@ public class LeaguepediaClient {
     private static final String DEFAULT_API = "https://liquipedia.net/leagueoflegends/api.php";
     private static final String CARGO_QUERY_KEY = "cargoquery";
     private static final String FULLTEXT_KEY = "fulltext";
+    private static final String MATCH_FIELDS = "Start,Team1,Team2,Event,Stream,BestOf,MatchId";
+    // Last edit time of the page defining each row, read by delta queries
+    private static final String MODIFIED_FIELD = "Modified";
+    private static final String START_FIELD = "Start";
+    /** Row limit of a listing (full schedule or delta); a listing that reaches it is truncated. */
+    public static final int FULL_LISTING_LIMIT = 500;
+    // Upcoming lookups still see a match started this long ago (longest BO5)
+    private static final int UPCOMING_LOOKBACK_HOURS = 4;
+    private static final DateTimeFormatter CARGO_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     private final String apiEndpoint;
     private final HttpClient http;
@@ -95,9 +105,7 @@ public class LeaguepediaClient {
      */
     public List<Match> fetchUpcomingMatchesForTeam(String teamName) throws InterruptedException {
         try {
-            String where = URLEncoder.encode(String.format("(Team1 LIKE '%%%s%%' OR Team2 LIKE '%%%s%%')", teamName, teamName), StandardCharsets.UTF_8);
-            String q = "action=cargoquery&format=json&tables=match&fields=Start,Team1,Team2,Event,Stream,BestOf&page=Match&where=" + where + "&limit=50";
-            return queryCargoForMatches(q);
+            return fetchMatchesForTeam(teamName, null);
         } catch (IOException e) {
             return new ArrayList<>();
         }
@@ -108,15 +116,114 @@ public class LeaguepediaClient {
      */
     public List<Match> fetchUpcomingMatchesForTournament(String tournamentName) throws InterruptedException {
         try {
-            String where = URLEncoder.encode(String.format("Event LIKE '%%%s%%'", tournamentName), StandardCharsets.UTF_8);
-            String q = "action=cargoquery&format=json&tables=match&fields=Start,Team1,Team2,Event,Stream,BestOf&page=Match&where=" + where + "&limit=50";
-            return queryCargoForMatches(q);
+            return fetchMatchesForTournament(tournamentName, null);
         } catch (IOException e) {
             return new ArrayList<>();
         }
     }
 
-    private List<Match> queryCargoForMatches(String query) throws IOException, InterruptedException {
+    /**
+     * A listing ordered by one column: start time for a full schedule, page edit time for a delta.
+     * When {@code complete} is false the row limit was reached: only rows whose ordering value is
+     * before {@code coveredUntil} (the value on the last row read) are known to be listed.
+     */
+    public record Listing(List<Match> matches, boolean complete, LocalDateTime coveredUntil) {
+    }
+
+    /**
+     * Fetch a team's matches, restricted to pages edited after {@code modifiedSince} (UTC)
+     * when it is not null. Unlike fetchUpcomingMatchesForTeam, failures are thrown so that
+     * callers can tell "nothing changed" from "upstream unreachable".
+     */
+    public List<Match> fetchMatchesForTeam(String teamName, LocalDateTime modifiedSince)
+            throws IOException, InterruptedException {
+        if (modifiedSince == null) {
+            return fetchScheduleForTeam(teamName, upcomingFrom()).matches();
+        }
+        return fetchChangesForTeam(teamName, modifiedSince).matches();
+    }
+
+    /**
+     * Tournament variant of {@link #fetchMatchesForTeam(String, LocalDateTime)}.
+     */
+    public List<Match> fetchMatchesForTournament(String tournamentName, LocalDateTime modifiedSince)
+            throws IOException, InterruptedException {
+        if (modifiedSince == null) {
+            return fetchScheduleForTournament(tournamentName, upcomingFrom()).matches();
+        }
+        return fetchChangesForTournament(tournamentName, modifiedSince).matches();
+    }
+
+    /**
+     * A team's matches whose page was edited at or after {@code modifiedSince} (UTC), oldest edit
+     * first, up to {@link #FULL_LISTING_LIMIT} rows. A truncated listing's {@code coveredUntil}
+     * is the edit time of its last row: the next delta has to resume from there.
+     */
+    public Listing fetchChangesForTeam(String teamName, LocalDateTime modifiedSince)
+            throws IOException, InterruptedException {
+        return queryCargoForMatches(buildDeltaQuery(teamWhere(teamName), modifiedSince), MODIFIED_FIELD);
+    }
+
+    /**
+     * Tournament variant of {@link #fetchChangesForTeam(String, LocalDateTime)}.
+     */
+    public Listing fetchChangesForTournament(String tournamentName, LocalDateTime modifiedSince)
+            throws IOException, InterruptedException {
+        return queryCargoForMatches(buildDeltaQuery(tournamentWhere(tournamentName), modifiedSince), MODIFIED_FIELD);
+    }
+
+    /**
+     * Every match of a team starting at or after {@code startingFrom} (UTC), in start order,
+     * up to {@link #FULL_LISTING_LIMIT} rows.
+     */
+    public Listing fetchScheduleForTeam(String teamName, LocalDateTime startingFrom)
+            throws IOException, InterruptedException {
+        return queryCargoForMatches(buildListingQuery(teamWhere(teamName), startingFrom), START_FIELD);
+    }
+
+    /**
+     * Tournament variant of {@link #fetchScheduleForTeam(String, LocalDateTime)}.
+     */
+    public Listing fetchScheduleForTournament(String tournamentName, LocalDateTime startingFrom)
+            throws IOException, InterruptedException {
+        return queryCargoForMatches(buildListingQuery(tournamentWhere(tournamentName), startingFrom), START_FIELD);
+    }
+
+    private static String teamWhere(String teamName) {
+        return String.format("(Team1 LIKE '%%%s%%' OR Team2 LIKE '%%%s%%')", teamName, teamName);
+    }
+
+    private static String tournamentWhere(String tournamentName) {
+        return String.format("Event LIKE '%%%s%%'", tournamentName);
+    }
+
+    private static LocalDateTime upcomingFrom() {
+        return LocalDateTime.now(ZoneOffset.UTC).minusHours(UPCOMING_LOOKBACK_HOURS);
+    }
+
+    private String buildListingQuery(String where, LocalDateTime startingFrom) {
+        String windowWhere = "(" + where + ") AND Start >= '" + CARGO_DATE_FORMAT.format(startingFrom) + "'";
+        return "action=cargoquery&format=json&tables=match&fields=" + MATCH_FIELDS
+            + "&page=Match&where=" + URLEncoder.encode(windowWhere, StandardCharsets.UTF_8)
+            + "&order_by=" + URLEncoder.encode("Start ASC", StandardCharsets.UTF_8)
+            + "&limit=" + FULL_LISTING_LIMIT;
+    }
+
+    private String buildDeltaQuery(String where, LocalDateTime modifiedSince) {
+        // Delta: Cargo's _pageData table holds the last edit time of the page defining each row.
+        // Ordered on it (inclusive bound) so that a truncated delta can be resumed from its last row.
+        String deltaWhere = "(" + where + ") AND _pageData._modificationDate >= '"
+            + CARGO_DATE_FORMAT.format(modifiedSince) + "'";
+        return "action=cargoquery&format=json&tables=" + URLEncoder.encode("match,_pageData", StandardCharsets.UTF_8)
+            + "&join_on=" + URLEncoder.encode("match._pageName=_pageData._pageName", StandardCharsets.UTF_8)
+            + "&fields=" + MATCH_FIELDS + ","
+            + URLEncoder.encode("_pageData._modificationDate=" + MODIFIED_FIELD, StandardCharsets.UTF_8)
+            + "&page=Match&where=" + URLEncoder.encode(deltaWhere, StandardCharsets.UTF_8)
+            + "&order_by=" + URLEncoder.encode("_pageData._modificationDate ASC", StandardCharsets.UTF_8)
+            + "&limit=" + FULL_LISTING_LIMIT;
+    }
+
+    private Listing queryCargoForMatches(String query, String orderField) throws IOException, InterruptedException {
         String uri = apiEndpoint + "?" + query;
                 HttpRequest req = HttpRequest.newBuilder()
                     .uri(URI.create(uri))
@@ -144,24 +251,44 @@ public class LeaguepediaClient {
         }
 
         if (status != 200) {
-            // Non-200 response - log details for debugging
-            return new ArrayList<>();
+            throw new IOException("Cargo query failed with HTTP " + status);
         }
 
         JsonObject root = gson.fromJson(respBody, JsonObject.class);
         JsonArray cargo = extractCargoArray(root);
 
+        if (cargo == null) {
+            // Cargo reports query errors with HTTP 200 and an "error" object
+            throw new IOException("Unexpected Cargo response");
+        }
+
         List<Match> result = new ArrayList<>();
-        if (cargo == null) return result;
+        LocalDateTime lastOrderValue = null;
 
         for (JsonElement el : cargo) {
             Match m = parseMatchFromElement(el);
             if (m != null) {
                 result.add(m);
             }
+            LocalDateTime orderValue = parseOrderValue(el, orderField);
+            if (orderValue != null) {
+                lastOrderValue = orderValue;
+            }
         }
 
-        return result;
+        // Counted on raw rows: unparseable ones still use up the limit
+        boolean complete = cargo.size() < FULL_LISTING_LIMIT;
+        return new Listing(result, complete, complete ? null : lastOrderValue);
+    }
+
+    private LocalDateTime parseOrderValue(JsonElement el, String orderField) {
+        try {
+            JsonObject obj = el.getAsJsonObject();
+            JsonObject fields = obj.has("fields") ? obj.getAsJsonObject("fields") : null;
+            return parseDateTime(getFirstNonNull(fields, orderField));
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     private JsonArray extractCargoArray(JsonObject root) {
@@ -183,6 +310,7 @@ public class LeaguepediaClient {
             String event = getFirstNonNull(fields, "Event", "event", "tournament");
             String stream = getFirstNonNull(fields, "Stream", "stream", "stream_url");
             String bo = getFirstNonNull(fields, "BestOf", "bestof", "BO");
+            String matchId = getFirstNonNull(fields, "MatchId", "match_id", "matchid");
 
             if ((team1 == null || team2 == null) && title != null && title.has(FULLTEXT_KEY)) {
                 String[] teams = parseTeamsFromFulltext(title.get(FULLTEXT_KEY).getAsString());
@@ -191,16 +319,20 @@ public class LeaguepediaClient {
             }
 
             LocalDateTime scheduled = parseDateTime(start);
-            String id = extractMatchId(title, obj);
-            
             if (team1 == null || team2 == null || scheduled == null) {
                 return null;
             }
 
-            return new Match(id, team1, team2, scheduled, 
-                event == null ? "Unknown" : event, 
-                stream == null ? "" : stream, 
-                bo == null ? "BO3" : bo);
+            String tournament = event == null ? "Unknown" : event;
+            String streamUrl = stream == null ? "" : stream;
+            String bestOf = bo == null ? "BO3" : bo;
+            if (matchId != null && !matchId.isBlank()) {
+                // Stable upstream id: a rescheduled match keeps its row
+                return Match.withUpstreamId(matchId, team1, team2, scheduled, tournament, streamUrl, bestOf);
+            }
+
+            String id = extractMatchId(title, team1, team2, scheduled, event);
+            return new Match(id, team1, team2, scheduled, tournament, streamUrl, bestOf);
         } catch (Exception e) {
             return null;
         }
@@ -216,11 +348,12 @@ public class LeaguepediaClient {
         return result;
     }
 
-    private String extractMatchId(JsonObject title, JsonObject obj) {
+    private String extractMatchId(JsonObject title, String team1, String team2, LocalDateTime scheduled, String event) {
         if (title != null && title.has(FULLTEXT_KEY)) {
             return title.get(FULLTEXT_KEY).getAsString();
         }
-        return Integer.toString(obj.hashCode());
+        // No page title: fall back to a key that stays the same across fetches
+        return Match.buildKey(team1, team2, scheduled, event);
     }
 
     private String getFirstNonNull(JsonObject obj, String... keys) {
@@ -233,33 +366,69 @@ public class LeaguepediaClient {
         return null;
     }
 
-    private LocalDateTime parseDateTime(String s) {
+    /**
+     * Parse a Cargo start time. The parser is picked from the shape of the string
+     * instead of trying every format in turn, so well-formed rows never throw.
+     */
+    static LocalDateTime parseDateTime(String s) {
         if (s == null) return null;
         s = s.trim();
-        // Try several common formats
-        DateTimeFormatter[] fmts = new DateTimeFormatter[] {
-            DateTimeFormatter.ISO_DATE_TIME,
-            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
-            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'")
-        };
-        for (DateTimeFormatter f : fmts) {
-            try {
-                return LocalDateTime.parse(s, f);
-            } catch (DateTimeParseException ignored) {
-                // Format not matching - try next format
+        int len = s.length();
+        if (len == 0) return null;
+
+        try {
+            int signed = s.charAt(0) == '-' || s.charAt(0) == '+' ? 1 : 0;
+            if (len > signed && isDigits(s, signed, len)) {
+                // Epoch seconds, optionally signed (as Long.parseLong accepted them)
+                return len - signed > 18 ? null : LocalDateTime.ofEpochSecond(Long.parseLong(s), 0, ZoneOffset.UTC);
             }
+            if (len < 16 || !hasDateShape(s)) {
+                return null;
+            }
+            char separator = s.charAt(10);
+            if (hasPlainTimeShape(s) && (len == 19 || (len == 20 && separator == 'T' && s.charAt(19) == 'Z'))) {
+                // "yyyy-MM-dd HH:mm:ss", "yyyy-MM-ddTHH:mm:ss" and "yyyy-MM-ddTHH:mm:ssZ" (the bulk of Cargo rows)
+                return LocalDateTime.of(
+                    digits(s, 0, 4), digits(s, 5, 7), digits(s, 8, 10),
+                    digits(s, 11, 13), digits(s, 14, 16), digits(s, 17, 19));
+            }
+            // Minutes-only, fractional seconds, offsets or zone ids: only the ISO form accepts them
+            return separator == 'T' ? LocalDateTime.parse(s, DateTimeFormatter.ISO_DATE_TIME) : null;
+        } catch (DateTimeException ignored) {
+            // Right shape but invalid fields (e.g. month 13)
+            return null;
         }
+    }
 
-        // Try parsing epoch seconds
-        try {
-            long epoch = Long.parseLong(s);
-            return LocalDateTime.ofEpochSecond(epoch, 0, java.time.ZoneOffset.UTC);
-        } catch (Exception ignored) {
-            // Not a valid epoch timestamp
+    private static boolean hasDateShape(String s) {
+        char separator = s.charAt(10);
+        return s.charAt(4) == '-' && s.charAt(7) == '-'
+            && (separator == ' ' || separator == 'T')
+            && isDigits(s, 0, 4) && isDigits(s, 5, 7) && isDigits(s, 8, 10);
+    }
+
+    private static boolean hasPlainTimeShape(String s) {
+        return s.length() >= 19
+            && s.charAt(13) == ':' && s.charAt(16) == ':'
+            && isDigits(s, 11, 13) && isDigits(s, 14, 16) && isDigits(s, 17, 19);
+    }
+
+    private static boolean isDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
         }
+        return true;
+    }
 
-        return null;
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
     }
 
     /**
@@ -0,0 +1,262 @@
+package backend.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import backend.models.AutoConfig;
+import backend.models.Match;
+import backend.models.MatchSyncState;
+import backend.repositories.MatchRepository;
+import backend.repositories.MatchSyncStateRepository;
+
+/**
+ * Local match schedule, kept in sync with Leaguepedia.
+ *
+ * The scheduler reads the next match from the local table (indexed on start time)
+ * instead of querying Leaguepedia for every watch party. Syncs only fetch pages
+ * edited since the last watermark (ordered by edit time, a truncated delta is resumed on
+ * the next sync), with a periodic full listing (ordered by start time) to drop matches
+ * removed or rescheduled upstream within the window it covers.
+ * Without repositories (tests), data is kept in memory.
+ */
+@Service
+public class MatchScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchScheduleService.class);
+    private static final Duration DEFAULT_FULL_SYNC_INTERVAL = Duration.ofHours(6);
+    // Re-read a little before the watermark: page edits and our clock are not perfectly aligned
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(10);
+    // Longest estimated match (BO5): a match started this long ago may still be running
+    private static final int MAX_MATCH_DURATION_HOURS = 4;
+    private static final int LOOKUP_PAGE_SIZE = 10;
+    private static final int PRUNE_SCAN_LIMIT = 500;
+
+    private final MatchRepository matchRepository;
+    private final MatchSyncStateRepository syncStateRepository;
+    private final LeaguepediaClient apiClient;
+    private final Duration fullSyncInterval;
+
+    private final Map<String, Match> inMemoryMatches = new ConcurrentHashMap<>();
+    private final Map<String, MatchSyncState> inMemorySyncStates = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MatchScheduleService(MatchRepository matchRepository, MatchSyncStateRepository syncStateRepository) {
+        this(matchRepository, syncStateRepository, new LeaguepediaClient());
+    }
+
+    public MatchScheduleService(LeaguepediaClient apiClient) {
+        this(null, null, apiClient);
+    }
+
+    MatchScheduleService(MatchRepository matchRepository,
+                         MatchSyncStateRepository syncStateRepository,
+                         LeaguepediaClient apiClient) {
+        this(matchRepository, syncStateRepository, apiClient, DEFAULT_FULL_SYNC_INTERVAL);
+    }
+
+    MatchScheduleService(MatchRepository matchRepository,
+                         MatchSyncStateRepository syncStateRepository,
+                         LeaguepediaClient apiClient,
+                         Duration fullSyncInterval) {
+        this.matchRepository = matchRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.apiClient = apiClient;
+        this.fullSyncInterval = fullSyncInterval;
+    }
+
+    /**
+     * Brings the local schedule up to date for the config's target.
+     * On upstream failure the local data is left untouched and the exception is rethrown.
+     */
+    public synchronized void sync(AutoConfig config) throws IOException, InterruptedException {
+        if (config == null || config.getTarget() == null) {
+            return;
+        }
+
+        MatchSyncState state = loadSyncState(syncKey(config));
+        LocalDateTime syncStart = LocalDateTime.now(ZoneOffset.UTC);
+        boolean full = state.needsFullSync(syncStart, fullSyncInterval);
+
+        int written;
+        int removed = 0;
+        if (full) {
+            LeaguepediaClient.Listing listing = fetchListing(config, syncStart.minusHours(MAX_MATCH_DURATION_HOURS));
+            written = upsert(listing.matches());
+            removed = pruneMissing(config, listing);
+            state.markSynced(syncStart, true);
+        } else {
+            LeaguepediaClient.Listing changes = fetchChanges(config, state.deltaStart(WATERMARK_OVERLAP));
+            written = upsert(changes.matches());
+            if (changes.complete()) {
+                state.markSynced(syncStart, false);
+            } else if (changes.coveredUntil() != null) {
+                // Row limit reached: only advance to the last edit read, the rest comes next sync
+                state.markTruncated(changes.coveredUntil());
+            } else {
+                log.warn("Match schedule '{}': truncated delta without edit times, watermark kept",
+                    config.getTarget());
+            }
+        }
+        saveSyncState(state);
+
+        if (written > 0 || removed > 0) {
+            log.info("Match schedule '{}' synced ({}): {} written, {} removed",
+                config.getTarget(), full ? "full" : "delta", written, removed);
+        }
+    }
+
+    /**
+     * The match in progress or the next upcoming one for the config's target,
+     * answered from the local schedule only.
+     */
+    public Match getNextMatch(AutoConfig config) {
+        if (config == null || config.getTarget() == null) {
+            return null;
+        }
+        LocalDateTime from = LocalDateTime.now().minusHours(MAX_MATCH_DURATION_HOURS);
+        for (Match m : findStartingAfter(config, from, LOOKUP_PAGE_SIZE)) {
+            if (m.isCurrentOrUpcoming()) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    public LeaguepediaClient getApiClient() {
+        return apiClient;
+    }
+
+    private LeaguepediaClient.Listing fetchChanges(AutoConfig config, LocalDateTime modifiedSince)
+            throws IOException, InterruptedException {
+        if (config.isTeamBased()) {
+            return apiClient.fetchChangesForTeam(config.getTarget(), modifiedSince);
+        }
+        return apiClient.fetchChangesForTournament(config.getTarget(), modifiedSince);
+    }
+
+    private LeaguepediaClient.Listing fetchListing(AutoConfig config, LocalDateTime startingFrom)
+            throws IOException, InterruptedException {
+        if (config.isTeamBased()) {
+            return apiClient.fetchScheduleForTeam(config.getTarget(), startingFrom);
+        }
+        return apiClient.fetchScheduleForTournament(config.getTarget(), startingFrom);
+    }
+
+    /**
+     * Writes new or changed matches only; the Riot event id resolved locally is kept.
+     * @return number of rows written
+     */
+    private int upsert(List<Match> fetched) {
+        LocalDateTime now = LocalDateTime.now();
+        int written = 0;
+        for (Match incoming : fetched) {
+            Match existing = findByKey(incoming.getKey());
+            if (existing != null && existing.hasSameContent(incoming)) {
+                continue;
+            }
+            if (existing != null && incoming.getRiotEventId() == null) {
+                incoming.setRiotEventId(existing.getRiotEventId());
+            }
+            incoming.setSyncedAt(now);
+            if (matchRepository != null) {
+                matchRepository.save(incoming);
+            } else {
+                inMemoryMatches.put(incoming.getKey(), incoming);
+            }
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * After a full fetch, removes future matches of the target that upstream no longer lists.
+     * A truncated listing only vouches for the matches starting before its last row, so later
+     * local matches are kept.
+     * @return number of rows removed
+     */
+    private int pruneMissing(AutoConfig config, LeaguepediaClient.Listing listing) {
+        LocalDateTime coveredUntil = listing.complete() ? null : listing.coveredUntil();
+        if (!listing.complete() && coveredUntil == null) {
+            return 0; // nothing parseable in a truncated listing: no window to compare against
+        }
+        Set<String> fetchedKeys = listing.matches().stream().map(Match::getKey).collect(Collectors.toSet());
+        int removed = 0;
+        for (Match local : findStartingAfter(config, LocalDateTime.now(), PRUNE_SCAN_LIMIT)) {
+            if (coveredUntil != null && !local.getScheduledTime().isBefore(coveredUntil)) {
+                break; // sorted by start time: the rest is beyond the listed window
+            }
+            if (!fetchedKeys.contains(local.getKey())) {
+                if (matchRepository != null) {
+                    matchRepository.delete(local);
+                } else {
+                    inMemoryMatches.remove(local.getKey());
+                }
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private Match findByKey(String key) {
+        if (matchRepository != null) {
+            return matchRepository.findById(key).orElse(null);
+        }
+        return inMemoryMatches.get(key);
+    }
+
+    private List<Match> findStartingAfter(AutoConfig config, LocalDateTime from, int limit) {
+        String target = config.getTarget();
+        if (matchRepository != null) {
+            PageRequest page = PageRequest.of(0, limit);
+            return config.isTeamBased()
+                ? matchRepository.findTeamMatchesStartingAfter(target, from, page)
+                : matchRepository.findTournamentMatchesStartingAfter(target, from, page);
+        }
+
+        String needle = target.toLowerCase(Locale.ROOT);
+        return inMemoryMatches.values().stream()
+            .filter(m -> m.getScheduledTime().isAfter(from))
+            .filter(m -> config.isTeamBased()
+                ? contains(m.getTeam1(), needle) || contains(m.getTeam2(), needle)
+                : contains(m.getTournament(), needle))
+            .sorted(Comparator.comparing(Match::getScheduledTime))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    private static boolean contains(String value, String lowerNeedle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerNeedle);
+    }
+
+    private static String syncKey(AutoConfig config) {
+        return config.getType() + ":" + config.getTarget().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private MatchSyncState loadSyncState(String key) {
+        if (syncStateRepository != null) {
+            return syncStateRepository.findById(key).orElseGet(() -> new MatchSyncState(key));
+        }
+        return inMemorySyncStates.computeIfAbsent(key, MatchSyncState::new);
+    }
+
+    private void saveSyncState(MatchSyncState state) {
+        if (syncStateRepository != null) {
+            syncStateRepository.save(state);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package backend.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import backend.models.PointsDelta;
+import backend.models.PointsListener;
+import backend.models.User;
+import backend.models.WatchPartyPoints;
+import backend.repositories.PointsDeltaRepository;
+import backend.repositories.WatchPartyPointsRepository;
+
+/**
+ * Registre des points par watch party: chaque mouvement de points appliqué en mémoire
+ * (mise, remboursement, gain, arrivée dans une watch party) est mis en file puis écrit en
+ * delta atomique ({@code points = GREATEST(0, points + delta)}) sur la ligne
+ * (utilisateur, watch party), au lieu de réécrire tous les soldes de l'utilisateur.
+ *
+ * La file est vidée par l'écrivain du journal des paris, dans la transaction de son group
+ * commit: une mise débitée devient durable avec le vote qui l'enregistre. Sans repository
+ * (tests), les soldes en mémoire sont la seule référence et rien n'est mis en file.
+ */
+@Service
+public class PointsLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(PointsLedgerService.class);
+    private static final int MAX_BATCH = 1024;
+
+    private final WatchPartyPointsRepository pointsRepository;
+    private final PointsDeltaRepository deltaRepository;
+    private final boolean auditLog;
+    private final UserEventPublisher eventPublisher;
+    private final BlockingDeque<Movement> pending = new LinkedBlockingDeque<>();
+    private final PointsListener listener = new PointsListener() {
+        @Override
+        public void onPointsAdded(User user, String watchPartyName, int delta) {
+            enqueue(user, watchPartyName, delta, false);
+        }
+
+        @Override
+        public void onPointsSet(User user, String watchPartyName, int points) {
+            enqueue(user, watchPartyName, points, true);
+        }
+    };
+
+    /**
+     * Mouvement en attente d'écriture. Distinct de la ligne d'audit: un lot rendu après
+     * l'échec de sa transaction repart sans l'id que la base a pu attribuer à ses lignes.
+     */
+    public record Movement(Long userId, String watchPartyName, int amount, boolean absolute, Instant createdAt) {
+
+        PointsDelta toAuditRow() {
+            return new PointsDelta(userId, watchPartyName, amount, absolute, createdAt);
+        }
+    }
+
+    @Autowired
+    public PointsLedgerService(WatchPartyPointsRepository pointsRepository,
+                               PointsDeltaRepository deltaRepository,
+                               UserEventPublisher eventPublisher,
+                               @Value("${points.ledger.audit-log:false}") boolean auditLog) {
+        this.pointsRepository = pointsRepository;
+        this.deltaRepository = deltaRepository;
+        this.eventPublisher = eventPublisher;
+        this.auditLog = auditLog && deltaRepository != null;
+        if (pointsRepository != null) {
+            eventPublisher.addPointsListener(listener);
+        }
+    }
+
+    public PointsLedgerService() {
+        this(null, null, null, false);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (pointsRepository != null) {
+            eventPublisher.removePointsListener(listener);
+        }
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Écrit les mouvements en attente, dans l'ordre où ils ont été appliqués en mémoire.
+     * Doit tourner dans une transaction (celle du group commit du journal); si elle échoue,
+     * l'appelant rend les mouvements avec {@link #requeue}.
+     *
+     * @return les mouvements écrits
+     */
+    public List<Movement> writePending() {
+        List<Movement> batch = new ArrayList<>();
+        pending.drainTo(batch, MAX_BATCH);
+        if (batch.isEmpty() || pointsRepository == null) {
+            return batch;
+        }
+        for (Movement movement : batch) {
+            if (movement.absolute()) {
+                pointsRepository.setPoints(movement.userId(), movement.watchPartyName(), movement.amount());
+            } else {
+                pointsRepository.addPoints(movement.userId(), movement.watchPartyName(), movement.amount());
+            }
+        }
+        if (auditLog) {
+            deltaRepository.saveAll(batch.stream().map(Movement::toAuditRow).toList());
+        }
+        return batch;
+    }
+
+    /**
+     * Remet en tête de file des mouvements dont la transaction a échoué, dans leur ordre.
+     */
+    public void requeue(List<Movement> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            pending.addFirst(batch.get(i));
+        }
+    }
+
+    /**
+     * Charge en une requête les soldes persistés des utilisateurs qui ne les ont pas encore,
+     * au moment où ils sont lus en base: jamais sous le verrou d'un utilisateur ou d'un classement.
+     */
+    public void loadBalances(Collection<User> users) {
+        if (pointsRepository == null) {
+            return;
+        }
+        Map<Long, User> toLoad = new HashMap<>();
+        for (User user : users) {
+            if (user.getId() != null && !user.hasLoadedPoints()) {
+                toLoad.put(user.getId(), user);
+            }
+        }
+        if (toLoad.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<String, Integer>> balances = new HashMap<>();
+        for (WatchPartyPoints row : pointsRepository.findByUserIdIn(toLoad.keySet())) {
+            balances.computeIfAbsent(row.getUserId(), ignored -> new HashMap<>())
+                .put(row.getWatchPartyName(), row.getPoints());
+        }
+        toLoad.forEach((id, user) -> user.loadPointsByWatchParty(balances.getOrDefault(id, Map.of())));
+    }
+
+    private void enqueue(User user, String watchPartyName, int amount, boolean absolute) {
+        if (user.getId() == null || watchPartyName == null) {
+            // Utilisateur jamais enregistré (système, tests): rien à persister
+            log.debug("Points of unsaved user {} not recorded in the ledger", user.getName());
+            return;
+        }
+        pending.add(new Movement(user.getId(), watchPartyName, amount, absolute, Instant.now()));
+    }
+}
@@ -0,0 +1,261 @@
+package backend.services;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import backend.models.RankingEntry;
+import backend.models.RankingHistoryPoint;
+import backend.models.RankingSnapshot;
+import backend.repositories.RankingSnapshotRepository;
+
+/**
+ * Historique du classement global public: une photo par heure et par métrique, prise par le
+ * nœud leader. Une photo complète (keyframe) au démarrage puis toutes les
+ * {@link #KEYFRAME_EVERY} photos; entre deux, seules les différences sont écrites.
+ *
+ * Le top mensuel et la courbe de rang d'un joueur se calculent en rejouant la keyframe qui
+ * précède la période puis ses deltas, sans reparcourir les paris ni les utilisateurs.
+ * Sans repository (tests), les photos restent en mémoire.
+ */
+@Service
+public class RankingHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingHistoryService.class);
+    private static final Type PAYLOAD_TYPE = new TypeToken<Map<String, Integer>>() { }.getType();
+
+    static final Duration SNAPSHOT_INTERVAL = Duration.ofHours(1);
+    /** Une keyframe par jour: borne le nombre de deltas à rejouer pour une date. */
+    static final int KEYFRAME_EVERY = 24;
+
+    private final RankingService rankingService;
+    private final LeaderElectionService leaderElection;
+    private final RankingSnapshotRepository snapshotRepository;
+    private final List<RankingSnapshot> inMemorySnapshots = new CopyOnWriteArrayList<>();
+    private final Gson gson = new Gson();
+
+    // Dernier état écrit par métrique, base du prochain delta (absent: prochaine photo complète)
+    private final Map<RankingService.Metric, Map<String, Integer>> lastState = new EnumMap<>(RankingService.Metric.class);
+    private final Map<RankingService.Metric, Integer> deltasSinceKeyframe = new EnumMap<>(RankingService.Metric.class);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ranking-snapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public RankingHistoryService(RankingService rankingService, LeaderElectionService leaderElection,
+                                 RankingSnapshotRepository snapshotRepository) {
+        this.rankingService = rankingService;
+        this.leaderElection = leaderElection;
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    public RankingHistoryService(RankingService rankingService) {
+        this(rankingService, LeaderElectionService.singleNode(), null);
+    }
+
+    @PostConstruct
+    public void start() {
+        // Photos alignées sur les heures pleines
+        LocalDateTime now = LocalDateTime.now();
+        long initialDelay = Duration.between(now, now.truncatedTo(ChronoUnit.HOURS).plusHours(1)).toMillis();
+        scheduler.scheduleAtFixedRate(this::snapshotSafe, initialDelay, SNAPSHOT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        leaderElection.release(LeaderElectionService.RANKING_SNAPSHOT_JOB);
+    }
+
+    /**
+     * Photo du classement courant, pour chaque métrique.
+     */
+    public void takeSnapshot() {
+        takeSnapshot(LocalDateTime.now());
+    }
+
+    synchronized void takeSnapshot(LocalDateTime takenAt) {
+        for (RankingService.Metric metric : RankingService.Metric.values()) {
+            Map<String, Integer> current = metric == RankingService.Metric.POINTS
+                    ? rankingService.getGlobalPublicPoints(false)
+                    : rankingService.getGlobalPublicWins(false);
+            Map<String, Integer> previous = lastState.get(metric);
+            int deltas = deltasSinceKeyframe.getOrDefault(metric, 0);
+            if (previous == null || deltas + 1 >= KEYFRAME_EVERY) {
+                store(new RankingSnapshot(metric.name(), takenAt, true, gson.toJson(current)));
+                deltasSinceKeyframe.put(metric, 0);
+            } else {
+                Map<String, Integer> changes = diff(previous, current);
+                if (changes.isEmpty()) {
+                    continue; // rien n'a bougé: la photo précédente vaut encore
+                }
+                store(new RankingSnapshot(metric.name(), takenAt, false, gson.toJson(changes)));
+                deltasSinceKeyframe.put(metric, deltas + 1);
+            }
+            lastState.put(metric, new HashMap<>(current));
+        }
+    }
+
+    /**
+     * Scores à une date, d'après la dernière photo prise avant ou à cette date.
+     *
+     * @return les scores, vide si aucune photo n'existe encore à cette date
+     */
+    public Map<String, Integer> scoresAt(RankingService.Metric metric, LocalDateTime time) {
+        Map<String, Integer> scores = new HashMap<>();
+        for (RankingSnapshot snapshot : snapshots(metric, time, time)) {
+            apply(scores, snapshot);
+        }
+        return scores;
+    }
+
+    /**
+     * Classement des gains sur un mois (score en fin de mois moins score au début), meilleurs d'abord.
+     *
+     * @return le classement, null si aucune photo ne couvre ce mois
+     */
+    public List<RankingEntry> getMonthlyTop(RankingService.Metric metric, YearMonth month, int limit) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        Map<String, Integer> end = scoresAt(metric, start.plusMonths(1));
+        if (end.isEmpty()) {
+            return null;
+        }
+        Map<String, Integer> before = scoresAt(metric, start);
+        Leaderboard gains = new Leaderboard();
+        end.forEach((name, score) -> {
+            int gain = score - before.getOrDefault(name, 0);
+            if (gain > 0) {
+                gains.put(name, gain);
+            }
+        });
+        return gains.top(limit);
+    }
+
+    /**
+     * Rang et score d'un joueur à chaque photo prise entre {@code from} et {@code to}.
+     */
+    public List<RankingHistoryPoint> getHistory(RankingService.Metric metric, String userName,
+                                                LocalDateTime from, LocalDateTime to) {
+        List<RankingHistoryPoint> history = new ArrayList<>();
+        Leaderboard board = new Leaderboard();
+        for (RankingSnapshot snapshot : snapshots(metric, from, to)) {
+            Map<String, Integer> payload = decode(snapshot);
+            if (snapshot.isKeyframe()) {
+                board.clear();
+            }
+            payload.forEach(board::put);
+            if (snapshot.getTakenAt().isBefore(from)) {
+                continue;
+            }
+            if (board.contains(userName)) {
+                history.add(new RankingHistoryPoint(snapshot.getTakenAt(), board.rankOf(userName), board.scoreOf(userName)));
+            }
+        }
+        return history;
+    }
+
+    private void snapshotSafe() {
+        if (!leaderElection.isLeader(LeaderElectionService.RANKING_SNAPSHOT_JOB)) {
+            // Un autre nœud écrit les photos; à la reprise du rôle, la première sera complète
+            synchronized (this) {
+                lastState.clear();
+            }
+            return;
+        }
+        try {
+            takeSnapshot();
+        } catch (Exception e) {
+            log.warn("❌ Photo du classement impossible: {}", e.getMessage(), e);
+            synchronized (this) {
+                lastState.clear(); // état écrit incertain: repartir d'une keyframe
+            }
+        }
+    }
+
+    private void store(RankingSnapshot snapshot) {
+        if (snapshotRepository == null) {
+            inMemorySnapshots.add(snapshot);
+        } else {
+            snapshotRepository.save(snapshot);
+        }
+    }
+
+    /**
+     * Photos à rejouer pour connaître l'état entre {@code from} et {@code to}: la dernière
+     * keyframe prise avant {@code from} puis toutes les photos suivantes jusqu'à {@code to}.
+     * La toute première photo étant complète, sans keyframe avant {@code from} il n'y a rien avant.
+     */
+    private List<RankingSnapshot> snapshots(RankingService.Metric metric, LocalDateTime from, LocalDateTime to) {
+        if (snapshotRepository != null) {
+            LocalDateTime base = snapshotRepository
+                    .findFirstByMetricAndKeyframeTrueAndTakenAtLessThanEqualOrderByTakenAtDesc(metric.name(), from)
+                    .map(RankingSnapshot::getTakenAt)
+                    .orElse(from);
+            return snapshotRepository.findByMetricAndTakenAtBetweenOrderByTakenAtAsc(metric.name(), base, to);
+        }
+        List<RankingSnapshot> snapshots = new ArrayList<>();
+        for (RankingSnapshot snapshot : inMemorySnapshots) {
+            if (!snapshot.getMetric().equals(metric.name()) || snapshot.getTakenAt().isAfter(to)) {
+                continue;
+            }
+            if (snapshot.isKeyframe() && !snapshot.getTakenAt().isAfter(from)) {
+                snapshots.clear();
+            }
+            snapshots.add(snapshot);
+        }
+        return snapshots;
+    }
+
+    private void apply(Map<String, Integer> scores, RankingSnapshot snapshot) {
+        if (snapshot.isKeyframe()) {
+            scores.clear();
+        }
+        scores.putAll(decode(snapshot));
+    }
+
+    private Map<String, Integer> decode(RankingSnapshot snapshot) {
+        return gson.fromJson(snapshot.getPayload(), PAYLOAD_TYPE);
+    }
+
+    /**
+     * Scores changés entre deux états; un joueur disparu du classement est écrit à 0.
+     */
+    private static Map<String, Integer> diff(Map<String, Integer> previous, Map<String, Integer> current) {
+        Map<String, Integer> changes = new HashMap<>();
+        current.forEach((name, score) -> {
+            if (!score.equals(previous.get(name))) {
+                changes.put(name, score);
+            }
+        });
+        previous.keySet().forEach(name -> {
+            if (!current.containsKey(name)) {
+                changes.put(name, 0);
+            }
+        });
+        return changes;
+    }
+}
@@ -1,76 +1,216 @@
 package backend.services;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import backend.models.RankingEntry;
+import backend.models.RankingNeighbourhood;
+import backend.models.RankingPage;
+import backend.models.RankingVersion;
+import backend.models.ScoreListener;
 import backend.models.User;
 import backend.models.WatchParty;
+import backend.repositories.UserRepository;
 
 @Service
 public class RankingService {
 
+    /** Classements globaux publics disponibles. */
+    public enum Metric { POINTS, WINS }
+
+    /** Délai minimal entre deux reconstructions demandées par un client ({@code ?refresh=true}). */
+    static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private static final Logger log = LoggerFactory.getLogger(RankingService.class);
+
     private final UserService userService;
     private final WatchPartyManager watchPartyManager;
+    private final UserRepository userRepository;
+
+    // Classements globaux publics: construits une fois, puis tenus à jour par les changements de score.
+    // Une reconstruction se fait hors verrou sur un nouvel état, publié d'un bloc; en attendant,
+    // les lecteurs continuent de lire l'ancien.
+    private final Object globalLock = new Object();
+    private GlobalRanking global;                              // null avant la première construction
+    private CompletableFuture<Void> globalRebuild;             // reconstruction en cours (une seule à la fois)
+    private Map<ScoreKey, User> rebuildJournal;                // scores appliqués pendant la reconstruction
+    private LocalDateTime lastRebuildStart;
+    private long globalVersion;
+    private LocalDateTime globalUpdatedAt;
+    private final Map<ScoreKey, User> pendingScores = new ConcurrentHashMap<>();
+    private volatile boolean trackingScores;
+    private final ScoreListener scoreListener = this::onScoreChanged;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ranking-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
 
-    private CachedRanking globalPublicPoints;
-    private CachedRanking globalPublicWins;
     private final Map<String, CachedRanking> watchPartyPoints = new ConcurrentHashMap<>();
     private final Map<String, CachedRanking> watchPartyWins = new ConcurrentHashMap<>();
+    private final AtomicLong watchPartyVersions = new AtomicLong();
 
-    public RankingService(UserService userService, WatchPartyManager watchPartyManager) {
+    /** Points et victoires d'un utilisateur dans une watch party publique. */
+    private record Contribution(int points, int wins) {}
+
+    private record ScoreKey(String userName, String watchPartyName) {}
+
+    /** Classements globaux et leur détail par watch party, remplacés ensemble à chaque reconstruction. */
+    private static final class GlobalRanking {
+        private final Leaderboard points = new Leaderboard();
+        private final Leaderboard wins = new Leaderboard();
+        private final Map<String, Map<String, Contribution>> contributions = new HashMap<>(); // user -> wp publique -> score
+    }
+
+    @Autowired
+    public RankingService(UserService userService, WatchPartyManager watchPartyManager, UserRepository userRepository) {
         this.userService = userService;
         this.watchPartyManager = watchPartyManager;
+        this.userRepository = userRepository;
+        userService.getEventPublisher().addScoreListener(scoreListener);
+    }
+
+    public RankingService(UserService userService, WatchPartyManager watchPartyManager) {
+        this(userService, watchPartyManager, null);
+    }
+
+    @PreDestroy
+    public void close() {
+        userService.getEventPublisher().removeScoreListener(scoreListener);
+        rebuildExecutor.shutdownNow();
     }
 
+    /**
+     * @param refresh demande une reconstruction en arrière-plan (au plus une par
+     *                {@link #MIN_REFRESH_INTERVAL}); le classement courant est servi sans l'attendre
+     */
     public Map<String, Integer> getGlobalPublicPoints(boolean refresh) {
-        if (globalPublicPoints == null || refresh) {
-            globalPublicPoints = new CachedRanking(computeGlobalPublicPoints());
-        }
-        return globalPublicPoints.data;
+        return readGlobal(refresh, ranking -> ranking.points.toMap());
     }
 
     public Map<String, Integer> getGlobalPublicWins(boolean refresh) {
-        if (globalPublicWins == null || refresh) {
-            globalPublicWins = new CachedRanking(computeGlobalPublicWins());
-        }
-        return globalPublicWins.data;
+        return readGlobal(refresh, ranking -> ranking.wins.toMap());
+    }
+
+    /**
+     * Version du classement global public, incrémentée à chaque changement (points ou victoires).
+     * À lire avant les données: une réponse n'est jamais plus ancienne que la version annoncée.
+     */
+    public RankingVersion getGlobalPublicVersion(boolean refresh) {
+        return readGlobal(refresh, ranking -> new RankingVersion(globalVersion, globalUpdatedAt));
+    }
+
+    /**
+     * Les {@code limit} premiers du classement global public.
+     */
+    public List<RankingEntry> getGlobalPublicTop(Metric metric, int limit) {
+        return readGlobal(false, ranking -> board(ranking, metric).top(limit));
+    }
+
+    /**
+     * Tous les utilisateurs dont le score global public atteint {@code minScore}, dans l'ordre.
+     */
+    public List<RankingEntry> getGlobalPublicAtLeast(Metric metric, int minScore) {
+        return readGlobal(false, ranking -> {
+            Leaderboard board = board(ranking, metric);
+            return board.top(board.countAtLeast(minScore));
+        });
+    }
+
+    /**
+     * Rang et score d'un utilisateur dans le classement global public (rang d'un score nul s'il n'est pas classé).
+     */
+    public RankingEntry getGlobalPublicRank(Metric metric, String userName) {
+        return readGlobal(false, ranking -> {
+            Leaderboard board = board(ranking, metric);
+            return new RankingEntry(board.rankOf(userName), userName, board.scoreOf(userName));
+        });
+    }
+
+    /**
+     * L'utilisateur et ses {@code radius} voisins de chaque côté dans le classement global public.
+     */
+    public List<RankingEntry> getGlobalPublicAround(Metric metric, String userName, int radius) {
+        return readGlobal(false, ranking -> board(ranking, metric).around(userName, radius));
     }
 
     public Map<String, Integer> getWatchPartyPoints(String watchPartyName, boolean refresh) {
-        if (!watchPartyExists(watchPartyName)) {
-            return Map.of();
-        }
-        CachedRanking cached = watchPartyPoints.get(watchPartyName);
-        if (cached == null || refresh) {
-            CachedRanking updated = new CachedRanking(computeWatchPartyPoints(watchPartyName));
-            watchPartyPoints.put(watchPartyName, updated);
-            cached = updated;
-        }
-        return cached.data;
+        Leaderboard board = watchPartyBoard(watchPartyName, Metric.POINTS, refresh);
+        return board == null ? Map.of() : board.toMap();
     }
 
     public Map<String, Integer> getWatchPartyWins(String watchPartyName, boolean refresh) {
-        if (!watchPartyExists(watchPartyName)) {
-            return Map.of();
-        }
-        CachedRanking cached = watchPartyWins.get(watchPartyName);
-        if (cached == null || refresh) {
-            CachedRanking updated = new CachedRanking(computeWatchPartyWins(watchPartyName));
-            watchPartyWins.put(watchPartyName, updated);
-            cached = updated;
-        }
-        return cached.data;
+        Leaderboard board = watchPartyBoard(watchPartyName, Metric.WINS, refresh);
+        return board == null ? Map.of() : board.toMap();
+    }
+
+    /**
+     * Une page du classement global public: à partir de {@code cursor} (renvoyé par la page
+     * précédente, stable même si le classement bouge entre deux pages) ou de {@code offset}.
+     */
+    public RankingPage getGlobalPublicPage(Metric metric, int offset, String cursor, int limit) {
+        return readGlobal(false, ranking -> page(board(ranking, metric), offset, cursor, limit));
+    }
+
+    public RankingNeighbourhood getGlobalPublicNeighbourhood(Metric metric, String userName, int radius) {
+        return readGlobal(false, ranking -> neighbourhood(board(ranking, metric), userName, radius));
+    }
+
+    /**
+     * @return null si la watch party n'existe pas
+     */
+    public RankingPage getWatchPartyPage(String watchPartyName, Metric metric, int offset, String cursor, int limit) {
+        Leaderboard board = watchPartyBoard(watchPartyName, metric, false);
+        return board == null ? null : page(board, offset, cursor, limit);
+    }
+
+    /**
+     * @return null si la watch party n'existe pas
+     */
+    public RankingNeighbourhood getWatchPartyNeighbourhood(String watchPartyName, Metric metric, String userName, int radius) {
+        Leaderboard board = watchPartyBoard(watchPartyName, metric, false);
+        return board == null ? null : neighbourhood(board, userName, radius);
     }
 
+    /**
+     * Version du classement d'une watch party (construit au besoin), null si elle n'existe pas.
+     */
+    public RankingVersion getWatchPartyVersion(String watchPartyName, Metric metric, boolean refresh) {
+        CachedRanking cached = watchPartyRanking(watchPartyName, metric, refresh);
+        return cached == null ? null : new RankingVersion(cached.version, cached.lastUpdated);
+    }
+
+    /**
+     * Reconstruit tout, sans limite de fréquence (job quotidien, action d'administration).
+     * Les classements globaux suivent déjà les changements de score: la reconstruction se fait
+     * en arrière-plan et les lecteurs gardent l'état courant jusqu'à sa publication.
+     */
     public void refreshAll() {
-        globalPublicPoints = null;
-        globalPublicWins = null;
+        synchronized (globalLock) {
+            if (global != null) {
+                startGlobalRebuild();
+            }
+        }
         watchPartyPoints.clear();
         watchPartyWins.clear();
     }
@@ -80,82 +220,303 @@ public class RankingService {
         watchPartyWins.remove(watchPartyName);
     }
 
-    private boolean watchPartyExists(String name) {
-        return watchPartyManager.getWatchPartyByName(name) != null;
+    /**
+     * Appelé à chaque changement de score, parfois sous le verrou de l'utilisateur:
+     * on ne fait que noter le couple (utilisateur, watch party), appliqué au prochain accès.
+     */
+    private void onScoreChanged(User user, String watchPartyName) {
+        if (trackingScores && user.getName() != null && watchPartyName != null) {
+            pendingScores.put(new ScoreKey(user.getName(), watchPartyName), user);
+        }
     }
 
-    private Map<String, Integer> computeGlobalPublicPoints() {
-        // Global ranking includes ALL users; WP-specific rankings only include participants
-        Map<String, Integer> totals = userService.getAllUsers().stream()
-            .collect(Collectors.toMap(User::getName, u -> 0));
-
-        watchPartyManager.getAllWatchParties().stream()
-            .filter(WatchParty::isPublic)
-            .forEach(wp -> {
-                String wpName = wp.getName();
-                wp.getParticipants().forEach(user -> {
-                    totals.compute(user.getName(), (k, v) -> v == null ? user.getPointsForWatchParty(wpName) : v + user.getPointsForWatchParty(wpName));
-                });
+    /**
+     * Lit les classements globaux sous {@code globalLock}, après y avoir appliqué les scores
+     * changés depuis le dernier accès (O(log n) chacun). Seul le tout premier accès attend
+     * une construction complète.
+     */
+    private <T> T readGlobal(boolean refresh, Function<GlobalRanking, T> reader) {
+        CompletableFuture<Void> firstBuild = null;
+        synchronized (globalLock) {
+            if (global == null) {
+                firstBuild = startGlobalRebuild();
+            } else if (refresh && refreshAllowed()) {
+                startGlobalRebuild();
+            }
+        }
+        if (firstBuild != null) {
+            awaitRebuild(firstBuild);
+        }
+        synchronized (globalLock) {
+            applyPendingScores(global);
+            return reader.apply(global);
+        }
+    }
+
+    /** Appelé sous {@code globalLock}. */
+    private boolean refreshAllowed() {
+        return lastRebuildStart == null
+            || !LocalDateTime.now().isBefore(lastRebuildStart.plus(MIN_REFRESH_INTERVAL));
+    }
+
+    /**
+     * Lance la reconstruction si aucune n'est en cours, sinon rejoint celle en cours.
+     * Appelé sous {@code globalLock}.
+     */
+    private CompletableFuture<Void> startGlobalRebuild() {
+        if (globalRebuild == null) {
+            lastRebuildStart = LocalDateTime.now();
+            CompletableFuture<Void> rebuild = CompletableFuture.runAsync(this::rebuildGlobal, rebuildExecutor);
+            globalRebuild = rebuild;
+            rebuild.whenComplete((ignored, error) -> {
+                synchronized (globalLock) {
+                    if (globalRebuild == rebuild) {
+                        globalRebuild = null;
+                    }
+                    rebuildJournal = null;
+                }
+                if (error != null) {
+                    log.warn("Reconstruction du classement global public échouée: {}", error.toString());
+                }
             });
+        }
+        return globalRebuild;
+    }
+
+    private static void awaitRebuild(CompletableFuture<Void> rebuild) {
+        try {
+            rebuild.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-        return sortDescending(totals);
+    private static Leaderboard board(GlobalRanking ranking, Metric metric) {
+        return metric == Metric.WINS ? ranking.wins : ranking.points;
     }
 
-    private Map<String, Integer> computeGlobalPublicWins() {
-        // Global wins = sum of wins in all public watch parties (same logic as points)
-        Map<String, Integer> totals = userService.getAllUsers().stream()
-            .collect(Collectors.toMap(User::getName, u -> 0));
+    /**
+     * Construit un nouvel état hors verrou, puis le publie. Les scores changés pendant le
+     * chargement sont rejoués sur le nouvel état, qu'ils soient encore en attente ou déjà
+     * appliqués à l'ancien entre-temps (journal).
+     */
+    private void rebuildGlobal() {
+        synchronized (globalLock) {
+            rebuildJournal = new HashMap<>();
+        }
+        trackingScores = true;
+
+        GlobalRanking fresh = new GlobalRanking();
+        if (userRepository != null) {
+            loadPublicScoresFromDatabase(fresh);
+        } else {
+            loadPublicScoresInMemory(fresh);
+        }
+        fresh.contributions.keySet().forEach(name -> updateTotals(fresh, name));
 
-        watchPartyManager.getAllWatchParties().stream()
-            .filter(WatchParty::isPublic)
-            .forEach(wp -> {
-                String wpName = wp.getName();
-                wp.getParticipants().forEach(user -> {
-                    totals.compute(user.getName(), (k, v) -> v == null ? user.getWinsForWatchParty(wpName) : v + user.getWinsForWatchParty(wpName));
-                });
-            });
+        synchronized (globalLock) {
+            pendingScores.putAll(rebuildJournal);
+            rebuildJournal = null;
+            global = fresh;
+            // Scores changés pendant le chargement
+            applyPendingScores(fresh);
+            globalVersion++;
+            globalUpdatedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Agrégation côté base: deux requêtes scalaires au lieu de charger chaque utilisateur,
+     * chaque watch party publique et la map de points de chaque participant.
+     *
+     * La base peut être en retard sur la mémoire (deltas du ledger pas encore écrits,
+     * victoires pas encore sauvegardées, changements faits avant la première construction,
+     * que rien n'a notés): les watch parties publiques chargées en mémoire, dont les
+     * participants portent les scores à jour, remplacent leurs lignes.
+     */
+    private void loadPublicScoresFromDatabase(GlobalRanking ranking) {
+        // Global ranking includes ALL users; WP-specific rankings only include participants
+        for (String name : userRepository.findAllNames()) {
+            ranking.points.put(name, 0);
+            ranking.wins.put(name, 0);
+        }
+        for (UserRepository.PublicScoreRow row : userRepository.findPublicScores()) {
+            ranking.contributions.computeIfAbsent(row.getUserName(), ignored -> new HashMap<>())
+                .put(row.getWatchPartyName(), new Contribution(row.getPoints(), row.getWins()));
+        }
+        for (WatchParty wp : watchPartyManager.getLoadedWatchParties()) {
+            if (!wp.isPublic()) {
+                continue;
+            }
+            String wpName = wp.getName();
+            ranking.contributions.values().forEach(byParty -> byParty.remove(wpName));
+            addInMemoryContributions(ranking, wp);
+        }
+    }
 
-        return sortDescending(totals);
+    private void loadPublicScoresInMemory(GlobalRanking ranking) {
+        // Global ranking includes ALL users; WP-specific rankings only include participants
+        for (User user : userService.getAllUsers()) {
+            ranking.points.put(user.getName(), 0);
+            ranking.wins.put(user.getName(), 0);
+        }
+        for (WatchParty wp : watchPartyManager.getAllWatchParties()) {
+            if (!wp.isPublic()) {
+                continue;
+            }
+            addInMemoryContributions(ranking, wp);
+        }
     }
 
-    private Map<String, Integer> computeWatchPartyPoints(String watchPartyName) {
-        WatchParty wp = watchPartyManager.getWatchPartyByName(watchPartyName);
-        if (wp == null) return Map.of();
-        
-        return sortDescending(wp.getParticipants().stream()
-            .collect(Collectors.toMap(User::getName, u -> u.getPointsForWatchParty(watchPartyName), (a, b) -> a, LinkedHashMap::new)));
+    private static void addInMemoryContributions(GlobalRanking ranking, WatchParty wp) {
+        String wpName = wp.getName();
+        for (User user : wp.getParticipants()) {
+            ranking.contributions.computeIfAbsent(user.getName(), ignored -> new HashMap<>())
+                .put(wpName, new Contribution(user.getPointsForWatchParty(wpName), user.getWinsForWatchParty(wpName)));
+        }
+    }
+
+    /** Appelé sous {@code globalLock}; incrémente la version si un total a changé. */
+    private void applyPendingScores(GlobalRanking ranking) {
+        if (pendingScores.isEmpty()) {
+            return;
+        }
+        boolean changed = false;
+        Map<String, WatchParty> parties = new HashMap<>();
+        Iterator<Map.Entry<ScoreKey, User>> pending = pendingScores.entrySet().iterator();
+        while (pending.hasNext()) {
+            Map.Entry<ScoreKey, User> entry = pending.next();
+            pending.remove();
+            if (rebuildJournal != null) {
+                rebuildJournal.put(entry.getKey(), entry.getValue());
+            }
+            String wpName = entry.getKey().watchPartyName();
+            User user = entry.getValue();
+
+            // Relecture du score courant: appliquer deux fois le même changement est sans effet
+            WatchParty wp = parties.computeIfAbsent(wpName, watchPartyManager::getWatchPartyByName);
+            Map<String, Contribution> byParty = ranking.contributions.computeIfAbsent(user.getName(), ignored -> new HashMap<>());
+            if (wp != null && wp.isPublic() && wp.hasParticipant(user)) {
+                byParty.put(wpName, new Contribution(user.getPointsForWatchParty(wpName), user.getWinsForWatchParty(wpName)));
+            } else {
+                byParty.remove(wpName);
+            }
+            changed |= updateTotals(ranking, user.getName());
+        }
+        if (changed) {
+            globalVersion++;
+            globalUpdatedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * @return true si le total de points ou de victoires de l'utilisateur a changé
+     */
+    private static boolean updateTotals(GlobalRanking ranking, String userName) {
+        int points = 0;
+        int wins = 0;
+        for (Contribution contribution : ranking.contributions.getOrDefault(userName, Map.of()).values()) {
+            points += contribution.points();
+            wins += contribution.wins();
+        }
+        boolean changed = !ranking.points.contains(userName)
+            || ranking.points.scoreOf(userName) != points
+            || ranking.wins.scoreOf(userName) != wins;
+        ranking.points.put(userName, points);
+        ranking.wins.put(userName, wins);
+        return changed;
+    }
+
+    private Leaderboard watchPartyBoard(String watchPartyName, Metric metric, boolean refresh) {
+        CachedRanking cached = watchPartyRanking(watchPartyName, metric, refresh);
+        return cached == null ? null : cached.board;
     }
 
-    private Map<String, Integer> computeWatchPartyWins(String watchPartyName) {
+    /**
+     * Classement d'une watch party, construit au premier accès puis servi tel quel (lectures
+     * concurrentes sans copie) jusqu'à son invalidation par {@link #refreshWatchParty}.
+     * Une seule construction par watch party à la fois; un {@code refresh} client n'en relance
+     * une que si le classement a plus de {@link #MIN_REFRESH_INTERVAL}.
+     */
+    private CachedRanking watchPartyRanking(String watchPartyName, Metric metric, boolean refresh) {
         WatchParty wp = watchPartyManager.getWatchPartyByName(watchPartyName);
-        if (wp == null) return Map.of();
-        
-        return sortDescending(wp.getParticipants().stream()
-            .collect(Collectors.toMap(User::getName, u -> u.getWinsForWatchParty(watchPartyName), (a, b) -> a, LinkedHashMap::new)));
+        if (wp == null) {
+            return null;
+        }
+        Map<String, CachedRanking> cache = metric == Metric.WINS ? watchPartyWins : watchPartyPoints;
+        CachedRanking cached = cache.get(watchPartyName);
+        if (cached != null && !(refresh && cached.isOlderThan(MIN_REFRESH_INTERVAL))) {
+            return cached;
+        }
+        return cache.compute(watchPartyName, (name, current) -> {
+            if (current != null && current != cached) {
+                return current; // reconstruit par un autre appel entre-temps
+            }
+            Leaderboard board = new Leaderboard();
+            for (User user : wp.getParticipants()) {
+                board.put(user.getName(), metric == Metric.WINS
+                        ? user.getWinsForWatchParty(name)
+                        : user.getPointsForWatchParty(name));
+            }
+            return new CachedRanking(board, watchPartyVersions.incrementAndGet());
+        });
+    }
+
+    private static RankingPage page(Leaderboard board, int offset, String cursor, int limit) {
+        int from = cursor != null ? positionAfterCursor(board, cursor) : Math.max(0, offset);
+        List<RankingEntry> entries = board.range(from, limit);
+        String next = null;
+        if (!entries.isEmpty() && from + entries.size() < board.size()) {
+            next = cursorOf(entries.get(entries.size() - 1));
+        }
+        return new RankingPage(entries, board.size(), next);
+    }
+
+    private static RankingNeighbourhood neighbourhood(Leaderboard board, String userName, int radius) {
+        RankingEntry user = new RankingEntry(board.rankOf(userName), userName, board.scoreOf(userName));
+        return new RankingNeighbourhood(user, board.around(userName, Math.max(0, radius)));
+    }
+
+    /** Curseur opaque: score et nom de la dernière ligne renvoyée. */
+    private static String cursorOf(RankingEntry last) {
+        String key = last.score() + ":" + last.name();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
     }
 
-    private Map<String, Integer> sortDescending(Map<String, Integer> input) {
-        return input.entrySet().stream()
-            .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                Map.Entry::getValue,
-                (e1, e2) -> e1,
-                LinkedHashMap::new
-            ));
+    private static int positionAfterCursor(Leaderboard board, String cursor) {
+        String key;
+        try {
+            key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur de classement invalide", e);
+        }
+        int separator = key.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Curseur de classement invalide");
+        }
+        try {
+            return board.positionAfter(Integer.parseInt(key.substring(0, separator)), key.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Curseur de classement invalide", e);
+        }
     }
 
     private static class CachedRanking {
-        private final Map<String, Integer> data;
+        private final Leaderboard board;
+        private final long version;
         private final LocalDateTime lastUpdated;
 
-        CachedRanking(Map<String, Integer> data) {
-            this.data = data;
+        CachedRanking(Leaderboard board, long version) {
+            this.board = board;
+            this.version = version;
             this.lastUpdated = LocalDateTime.now();
         }
 
-        public LocalDateTime getLastUpdated() {
-            return lastUpdated;
+        boolean isOlderThan(Duration age) {
+            return LocalDateTime.now().isAfter(lastUpdated.plus(age));
         }
     }
 }
\ No newline at end of file
@@ -17,10 +17,12 @@ public class RewardScheduler {
     private static final Logger log = Logger.getLogger(RewardScheduler.class.getName());
 
     private final RewardService rewardService;
+    private final LeaderElectionService leaderElection;
     private final ScheduledExecutorService scheduler;
 
-    public RewardScheduler(RewardService rewardService) {
+    public RewardScheduler(RewardService rewardService, LeaderElectionService leaderElection) {
         this.rewardService = rewardService;
+        this.leaderElection = leaderElection;
         this.scheduler = Executors.newScheduledThreadPool(1);
     }
 
@@ -33,9 +35,15 @@ public class RewardScheduler {
     @PreDestroy
     public void stop() {
         scheduler.shutdownNow();
+        leaderElection.release(LeaderElectionService.REWARD_JOB);
     }
 
     private void runDailySafe() {
+        if (!leaderElection.isLeader(LeaderElectionService.REWARD_JOB)) {
+            // Rewards are granted by the leader node only
+            log.fine("[Rewards] Not the leader node, daily job skipped");
+            return;
+        }
         try {
             List<String> msgs = rewardService.runDailyJob();
             if (!msgs.isEmpty()) {
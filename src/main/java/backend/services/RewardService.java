@@ -1,16 +1,30 @@
 package backend.services;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import backend.models.RankingEntry;
+import backend.models.ScoreListener;
+import backend.models.User;
+import backend.repositories.AwardedThresholdRepository;
+
 @Service
 public class RewardService {
 
@@ -18,15 +32,53 @@ public class RewardService {
 
     private static final List<Integer> THRESHOLDS = List.of(1000, 2500, 5000, 10000, 20000, 50000, 100000);
 
+    // Delay between two checks of the users whose points moved (reward latency)
+    static final long THRESHOLD_CHECK_SECONDS = 2;
+
     private final UserService userService;
     private final RankingService rankingService;
+    private final AwardedThresholdRepository awardedRepository;
+    private final RankingHistoryService historyService;
 
-    // Tracks thresholds already granted per user to avoid duplicate rewards in memory
+    // Thresholds already granted per user (mirror of reward_thresholds, loaded per user on first check)
     private final Map<String, Set<Integer>> awardedThresholds = new ConcurrentHashMap<>();
+    // Users whose points changed since the last check
+    private final Set<String> pendingUsers = ConcurrentHashMap.newKeySet();
+    private final ScoreListener scoreListener = this::onScoreChanged;
+    private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reward-thresholds");
+        thread.setDaemon(true);
+        return thread;
+    });
 
-    public RewardService(UserService userService, RankingService rankingService) {
+    @Autowired
+    public RewardService(UserService userService, RankingService rankingService,
+                         AwardedThresholdRepository awardedRepository, RankingHistoryService historyService) {
         this.userService = userService;
         this.rankingService = rankingService;
+        this.awardedRepository = awardedRepository;
+        this.historyService = historyService;
+        userService.getEventPublisher().addScoreListener(scoreListener);
+    }
+
+    public RewardService(UserService userService, RankingService rankingService,
+                         AwardedThresholdRepository awardedRepository) {
+        this(userService, rankingService, awardedRepository, null);
+    }
+
+    public RewardService(UserService userService, RankingService rankingService) {
+        this(userService, rankingService, null);
+    }
+
+    @PostConstruct
+    public void start() {
+        checker.scheduleWithFixedDelay(this::checkPendingSafe, THRESHOLD_CHECK_SECONDS, THRESHOLD_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        userService.getEventPublisher().removeScoreListener(scoreListener);
+        checker.shutdownNow();
     }
 
     public List<Integer> getThresholds() {
@@ -34,38 +86,108 @@ public class RewardService {
     }
 
     /**
-     * Evaluate public point thresholds for all users and grant rewards (placeholder logging).
+     * Grant the thresholds crossed by the users whose points moved since the last check
+     * (called every few seconds, so rewards follow point changes in near real time).
+     */
+    public List<String> checkPendingThresholds() {
+        List<String> rewards = new ArrayList<>();
+        for (String username : pendingUsers) {
+            // Removed before the check: a change made meanwhile marks the user pending again
+            pendingUsers.remove(username);
+            try {
+                RankingEntry entry = rankingService.getGlobalPublicRank(RankingService.Metric.POINTS, username);
+                rewards.addAll(grantCrossedThresholds(username, entry.score()));
+            } catch (RuntimeException e) {
+                pendingUsers.add(username); // retried on the next check
+                log.log(Level.WARNING, "[Rewards] Threshold check failed for " + username + ": " + e.getMessage(), e);
+            }
+        }
+        return rewards;
+    }
+
+    /**
+     * Reconciliation pass over public point thresholds (placeholder logging), for changes the
+     * event-driven check missed (restart, change made on another node).
      * Uses the sum of points in all public watch parties (same calculation as global ranking).
      */
     public List<String> evaluateThresholdRewards() {
+        List<String> rewards = new ArrayList<>(checkPendingThresholds());
+        // Only users at or above the lowest threshold (global public points, sum of all public WPs)
+        List<RankingEntry> candidates = rankingService.getGlobalPublicAtLeast(RankingService.Metric.POINTS, THRESHOLDS.get(0));
+        for (RankingEntry entry : candidates) {
+            rewards.addAll(grantCrossedThresholds(entry.name(), entry.score()));
+        }
+        return rewards;
+    }
+
+    private void onScoreChanged(User user, String watchPartyName) {
+        if (user.getName() != null) {
+            pendingUsers.add(user.getName());
+        }
+    }
+
+    private void checkPendingSafe() {
+        try {
+            checkPendingThresholds();
+        } catch (Exception e) {
+            log.log(Level.WARNING, "[Rewards] Threshold check failed: " + e.getMessage(), e);
+        }
+    }
+
+    private List<String> grantCrossedThresholds(String username, int points) {
+        if (points < THRESHOLDS.get(0)) {
+            return List.of();
+        }
+        Set<Integer> granted = awardedThresholds.computeIfAbsent(username, this::loadAwardedThresholds);
         List<String> rewards = new ArrayList<>();
-        // Get global points (sum of all public WP points) from ranking service
-        Map<String, Integer> globalPoints = rankingService.getGlobalPublicPoints(true);
-        
-        for (Map.Entry<String, Integer> entry : globalPoints.entrySet()) {
-            String username = entry.getKey();
-            int points = entry.getValue();
-            Set<Integer> granted = awardedThresholds.computeIfAbsent(username, k -> ConcurrentHashMap.newKeySet());
-            for (int threshold : THRESHOLDS) {
-                if (points >= threshold && !granted.contains(threshold)) {
-                    granted.add(threshold);
-                    String msg = "🎁 Reward threshold reached: " + username + " -> " + threshold + " pts (global public)";
-                    rewards.add(msg);
-                    log.info(msg);
-                }
+        for (int threshold : THRESHOLDS) {
+            if (points < threshold) {
+                break;
+            }
+            if (!granted.contains(threshold) && recordAward(username, threshold, granted)) {
+                String msg = "🎁 Reward threshold reached: " + username + " -> " + threshold + " pts (global public)";
+                rewards.add(msg);
+                log.info(msg);
             }
         }
         return rewards;
     }
 
+    /**
+     * @return true if this call is the one granting the threshold (at most once per user, across nodes)
+     */
+    private boolean recordAward(String username, int threshold, Set<Integer> granted) {
+        if (!granted.add(threshold)) {
+            return false;
+        }
+        if (awardedRepository == null) {
+            return true;
+        }
+        try {
+            // 0 row: already granted by another node, nothing to announce here
+            return awardedRepository.tryAward(username, threshold) == 1;
+        } catch (RuntimeException e) {
+            granted.remove(threshold); // retried on the next check
+            throw e;
+        }
+    }
+
+    private Set<Integer> loadAwardedThresholds(String username) {
+        Set<Integer> granted = ConcurrentHashMap.newKeySet();
+        if (awardedRepository != null) {
+            granted.addAll(awardedRepository.findThresholdsByUserName(username));
+        }
+        return granted;
+    }
+
     /**
      * Compute monthly top 3 (public points and wins) and grant placeholder rewards.
-     * Runs typically once per month (scheduler checks day-of-month == 1).
+     * Runs typically once per month (scheduler checks day-of-month == 1), on the previous month.
      */
     public List<String> computeMonthlyTop3() {
-        rankingService.refreshAll();
-        Map<String, Integer> points = rankingService.getGlobalPublicPoints(true);
-        Map<String, Integer> wins = rankingService.getGlobalPublicWins(true);
+        YearMonth month = YearMonth.now().minusMonths(1);
+        List<RankingEntry> points = monthlyTop(RankingService.Metric.POINTS, month);
+        List<RankingEntry> wins = monthlyTop(RankingService.Metric.WINS, month);
 
         List<String> messages = new ArrayList<>();
         messages.addAll(awardTop3("points", points));
@@ -73,13 +195,26 @@ public class RewardService {
         return messages;
     }
 
-    private List<String> awardTop3(String category, Map<String, Integer> ranking) {
-        if (ranking == null || ranking.isEmpty()) return Collections.emptyList();
-        List<Map.Entry<String, Integer>> top = ranking.entrySet().stream().limit(3).toList();
+    /**
+     * Top 3 of what was gained during the month, from the ranking snapshots; all-time top 3
+     * when no snapshot covers the month (history not recorded yet).
+     */
+    private List<RankingEntry> monthlyTop(RankingService.Metric metric, YearMonth month) {
+        if (historyService != null) {
+            List<RankingEntry> top = historyService.getMonthlyTop(metric, month, 3);
+            if (top != null) {
+                return top;
+            }
+        }
+        return rankingService.getGlobalPublicTop(metric, 3);
+    }
+
+    private List<String> awardTop3(String category, List<RankingEntry> top) {
+        if (top == null || top.isEmpty()) return Collections.emptyList();
         List<String> msgs = new ArrayList<>();
         for (int i = 0; i < top.size(); i++) {
-            Map.Entry<String, Integer> entry = top.get(i);
-            String msg = String.format("🏅 [%s] #%d %s (%d)", category, i + 1, entry.getKey(), entry.getValue());
+            RankingEntry entry = top.get(i);
+            String msg = String.format("🏅 [%s] #%d %s (%d)", category, i + 1, entry.name(), entry.score());
             msgs.add(msg);
             log.info(() -> msg + " — reward placeholder (color/title TBD)");
         }
@@ -87,10 +222,9 @@ public class RewardService {
     }
 
     /**
-     * Daily job: refresh ranking caches and thresholds; run monthly awards on day 1.
+     * Daily job: reconcile thresholds (rankings already follow score changes); run monthly awards on day 1.
      */
     public List<String> runDailyJob() {
-        rankingService.refreshAll();
         List<String> output = new ArrayList<>();
         output.addAll(evaluateThresholdRewards());
         if (LocalDate.now().getDayOfMonth() == 1) {
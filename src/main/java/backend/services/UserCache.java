@@ -0,0 +1,122 @@
+package backend.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import backend.models.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache borné des utilisateurs, par nom en minuscules.
+ * Lectures sans verrou; au-delà de {@code maxSize} (plus une marge), un seul thread retire
+ * d'un coup les entrées inactives puis les moins récemment lues, ce qui amortit le tri.
+ * Une entrée inactive depuis plus de {@code maxIdleNanos} compte comme absente.
+ */
+final class UserCache {
+
+    static final String GETS_COUNTER = "cache.gets";
+    static final String EVICTIONS_COUNTER = "cache.evictions";
+    static final String SIZE_GAUGE = "cache.size";
+    private static final String CACHE_TAG = "users";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long maxIdleNanos;
+    private final LongSupplier clock;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private static final class Entry {
+        private final User user;
+        private volatile long lastAccess;
+
+        Entry(User user, long now) {
+            this.user = user;
+            this.lastAccess = now;
+        }
+    }
+
+    private record Candidate(String key, Entry entry, long lastAccess) {}
+
+    UserCache(int maxSize, long maxIdleNanos, LongSupplier clock, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.maxIdleNanos = maxIdleNanos;
+        this.clock = clock;
+        this.hits = Counter.builder(GETS_COUNTER).tag("cache", CACHE_TAG).tag("result", "hit")
+            .description("User lookups served from the cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder(GETS_COUNTER).tag("cache", CACHE_TAG).tag("result", "miss")
+            .description("User lookups that went to the database")
+            .register(meterRegistry);
+        this.evictions = Counter.builder(EVICTIONS_COUNTER).tag("cache", CACHE_TAG)
+            .description("Users evicted for size or inactivity")
+            .register(meterRegistry);
+        Gauge.builder(SIZE_GAUGE, this, UserCache::size).tag("cache", CACHE_TAG)
+            .description("Users currently cached")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return l'utilisateur en cache, null (miss) s'il est absent ou inactif depuis trop longtemps
+     */
+    User get(String key) {
+        Entry entry = entries.get(key);
+        long now = clock.getAsLong();
+        if (entry == null || now - entry.lastAccess > maxIdleNanos) {
+            if (entry != null && entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        entry.lastAccess = now;
+        hits.increment();
+        return entry.user;
+    }
+
+    void put(String key, User user) {
+        entries.put(key, new Entry(user, clock.getAsLong()));
+        if (entries.size() > maxSize + Math.max(1, maxSize / 8)) {
+            evict();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return; // un autre thread fait déjà le ménage
+        }
+        try {
+            long now = clock.getAsLong();
+            // Dates d'accès figées: elles bougent pendant le tri
+            List<Candidate> candidates = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> candidates.add(new Candidate(key, entry, entry.lastAccess)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+            int excess = candidates.size() - maxSize;
+            for (Candidate candidate : candidates) {
+                boolean idle = now - candidate.lastAccess() > maxIdleNanos;
+                if (!idle && excess <= 0) {
+                    break;
+                }
+                if (entries.remove(candidate.key(), candidate.entry())) {
+                    evictions.increment();
+                    excess--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
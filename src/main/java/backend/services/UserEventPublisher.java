@@ -0,0 +1,69 @@
+package backend.services;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.stereotype.Service;
+
+import backend.models.PointsListener;
+import backend.models.ScoreListener;
+import backend.models.User;
+
+/**
+ * Relays the point movements and score changes of the users handed out by {@link UserService}
+ * to the services observing them (points ledger, rankings, rewards). Each application context
+ * has its own publisher: a closed service unregisters from it and never sees another context's users.
+ */
+@Service
+public class UserEventPublisher implements PointsListener, ScoreListener {
+
+    private final List<PointsListener> pointsListeners = new CopyOnWriteArrayList<>();
+    private final List<ScoreListener> scoreListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Makes {@code user} report its changes to this publisher.
+     */
+    public User attach(User user) {
+        if (user != null) {
+            user.setListeners(this, this);
+        }
+        return user;
+    }
+
+    public void addPointsListener(PointsListener listener) {
+        pointsListeners.add(listener);
+    }
+
+    public void removePointsListener(PointsListener listener) {
+        pointsListeners.remove(listener);
+    }
+
+    public void addScoreListener(ScoreListener listener) {
+        scoreListeners.add(listener);
+    }
+
+    public void removeScoreListener(ScoreListener listener) {
+        scoreListeners.remove(listener);
+    }
+
+    @Override
+    public void onPointsAdded(User user, String watchPartyName, int delta) {
+        for (PointsListener listener : pointsListeners) {
+            listener.onPointsAdded(user, watchPartyName, delta);
+        }
+    }
+
+    @Override
+    public void onPointsSet(User user, String watchPartyName, int points) {
+        for (PointsListener listener : pointsListeners) {
+            listener.onPointsSet(user, watchPartyName, points);
+        }
+    }
+
+    @Override
+    public void onScoreChanged(User user, String watchPartyName) {
+        for (ScoreListener listener : scoreListeners) {
+            listener.onScoreChanged(user, watchPartyName);
+        }
+    }
+}
@@ -1,29 +1,70 @@
 package backend.services;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import backend.models.User;
 import backend.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @Service
 public class UserService {
 
     private static final String ADMIN_USERNAME = "admin";
+    static final int CACHE_MAX_SIZE = 10_000;
+    static final long CACHE_MAX_IDLE_MINUTES = 30;
 
     private final UserRepository userRepository;
+    private final PointsLedgerService pointsLedger;
+    // Every instance handed out reports its point movements and score changes here
+    private final UserEventPublisher eventPublisher;
     private final Map<String, User> inMemoryUsers;
+    // Read-through cache in front of the repository: hot users cost no DB round-trip
+    private final UserCache cache;
+    // Every instance handed out, weakly held: a user evicted from the cache but still referenced
+    // by a party, a bet or a ranking is found again instead of being read as a second instance
+    private final Map<String, Identity> identities = new ConcurrentHashMap<>();
+    private final ReferenceQueue<User> collected = new ReferenceQueue<>();
+
+    private static final class Identity extends WeakReference<User> {
+        private final String key;
+
+        Identity(String key, User user, ReferenceQueue<User> queue) {
+            super(user, queue);
+            this.key = key;
+        }
+    }
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, MeterRegistry meterRegistry,
+                       PointsLedgerService pointsLedger, UserEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.inMemoryUsers = new HashMap<>();
-        this.inMemoryUsers.put(ADMIN_USERNAME, new User(ADMIN_USERNAME, true));
+        this.pointsLedger = pointsLedger;
+        this.eventPublisher = eventPublisher;
+        this.inMemoryUsers = new ConcurrentHashMap<>();
+        this.inMemoryUsers.put(ADMIN_USERNAME, eventPublisher.attach(new User(ADMIN_USERNAME, true)));
+        this.cache = new UserCache(CACHE_MAX_SIZE, TimeUnit.MINUTES.toNanos(CACHE_MAX_IDLE_MINUTES),
+            System::nanoTime, meterRegistry);
+    }
+
+    public UserService(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this(userRepository, meterRegistry, new PointsLedgerService(), new UserEventPublisher());
+    }
+
+    public UserService(UserRepository userRepository) {
+        this(userRepository, new SimpleMeterRegistry());
     }
 
     public UserService() {
@@ -32,40 +73,108 @@ public class UserService {
 
     public User getUser(String username) {
         boolean shouldBeAdmin = ADMIN_USERNAME.equalsIgnoreCase(username);
+        String key = username.toLowerCase(Locale.ROOT);
         if (userRepository == null) {
-            String key = username.toLowerCase();
-            User user = inMemoryUsers.computeIfAbsent(key, ignored -> new User(username, shouldBeAdmin));
+            User user = inMemoryUsers.computeIfAbsent(key,
+                ignored -> eventPublisher.attach(new User(username, shouldBeAdmin)));
             if (shouldBeAdmin && !user.isAdmin()) {
                 user.setAdmin(true);
             }
             return user;
         }
-        return userRepository.findByName(username)
-            .map(user -> {
-                if (shouldBeAdmin && !user.isAdmin()) {
-                    user.setAdmin(true);
-                    return userRepository.save(user);
+        User cached = cache.get(key);
+        if (cached == null) {
+            cached = liveInstance(key);
+            if (cached != null) {
+                cache.put(key, cached);
+            }
+        }
+        if (cached != null) {
+            if (shouldBeAdmin && !cached.isAdmin()) {
+                cached.setAdmin(true);
+                saveUser(cached);
+            }
+            return cached;
+        }
+        User user = userRepository.findByName(username)
+            .map(found -> {
+                if (shouldBeAdmin && !found.isAdmin()) {
+                    found.setAdmin(true);
+                    return userRepository.save(found);
                 }
-                return user;
+                return found;
             })
             .orElseGet(() -> userRepository.save(new User(username, shouldBeAdmin)));
+        User canonical = register(key, user);
+        pointsLedger.loadBalances(List.of(canonical));
+        cache.put(key, canonical);
+        return canonical;
     }
 
     public List<User> getAllUsers() {
         if (userRepository == null) {
             return new ArrayList<>(inMemoryUsers.values());
         }
-        return userRepository.findAll();
+        List<User> users = userRepository.findAll().stream().map(this::resolve).toList();
+        pointsLedger.loadBalances(users);
+        return users;
+    }
+
+    /**
+     * The instance already in use for this user (the one whose points and wins move in memory),
+     * or {@code loaded} itself, which becomes that instance. For users read from the database
+     * by another path, such as the participants of a watch party.
+     */
+    public User resolve(User loaded) {
+        if (userRepository == null || loaded == null || loaded.getName() == null) {
+            return eventPublisher.attach(loaded);
+        }
+        return register(loaded.getName().toLowerCase(Locale.ROOT), loaded);
+    }
+
+    /**
+     * Loads the ledger balances of users read from the database by another path
+     * (participants fetched with their watch party), in one query.
+     */
+    public void loadPoints(Collection<User> users) {
+        pointsLedger.loadBalances(users);
     }
 
     public User saveUser(User user) {
         if (user == null) {
             return null;
         }
+        String key = user.getName().toLowerCase(Locale.ROOT);
         if (userRepository == null) {
-            inMemoryUsers.put(user.getName().toLowerCase(), user);
+            inMemoryUsers.put(key, eventPublisher.attach(user));
             return user;
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Write-through: keep the instance callers mutate (its points live in memory), unless it was never saved
+        cache.put(key, register(key, user.getId() != null ? user : saved));
+        return saved;
+    }
+
+    public UserEventPublisher getEventPublisher() {
+        return eventPublisher;
+    }
+
+    private User liveInstance(String key) {
+        Identity identity = identities.get(key);
+        return identity == null ? null : identity.get();
+    }
+
+    /**
+     * @return the live instance of the user if there is one, otherwise {@code user}, now registered
+     */
+    private User register(String key, User user) {
+        for (Reference<? extends User> cleared; (cleared = collected.poll()) != null; ) {
+            Identity identity = (Identity) cleared;
+            identities.remove(identity.key, identity);
+        }
+        Identity registered = identities.compute(key, (ignored, current) ->
+            current != null && current.get() != null ? current : new Identity(key, eventPublisher.attach(user), collected));
+        User live = registered.get();
+        return live != null ? live : user;
     }
 }
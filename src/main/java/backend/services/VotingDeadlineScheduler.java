@@ -0,0 +1,110 @@
+package backend.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Échéances de vote des paris: une tâche différée par pari, déclenchée à son {@code votingEndTime}
+ * au lieu d'un balayage périodique de toutes les watch parties.
+ *
+ * Les échéances vivent dans la file à priorité du {@link ScheduledThreadPoolExecutor}
+ * (insertion et annulation en O(log n)); le thread de l'échéancier ne fait que transmettre
+ * la clôture à l'écrivain de la watch party, sans jamais bloquer.
+ */
+@Service
+public class VotingDeadlineScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(VotingDeadlineScheduler.class);
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, Deadline> deadlines = new ConcurrentHashMap<>();
+
+    public VotingDeadlineScheduler() {
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "voting-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Un pari clos ou annulé avant son échéance ne doit pas rester dans la file
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Programme (ou reprogramme) l'échéance d'un pari.
+     */
+    public void schedule(String betId, LocalDateTime deadline, Runnable onDeadline) {
+        // +1 ms: le vote n'est échu qu'une fois l'échéance strictement dépassée
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), deadline).toMillis() + 1);
+        Deadline entry = new Deadline(betId, onDeadline);
+        Deadline previous = deadlines.put(betId, entry);
+        if (previous != null) {
+            previous.cancel();
+        }
+        entry.future = executor.schedule(entry, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Retire l'échéance d'un pari (vote clos manuellement, pari annulé ou résolu).
+     */
+    public void cancel(String betId) {
+        Deadline deadline = deadlines.remove(betId);
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    public int pendingCount() {
+        return deadlines.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        deadlines.clear();
+    }
+
+    private final class Deadline implements Runnable {
+        private final String betId;
+        private final Runnable onDeadline;
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled;
+
+        Deadline(String betId, Runnable onDeadline) {
+            this.betId = betId;
+            this.onDeadline = onDeadline;
+        }
+
+        void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            // Ne retire que cette échéance: le pari a pu être reprogrammé entre-temps
+            deadlines.remove(betId, this);
+            if (cancelled) {
+                return;
+            }
+            try {
+                onDeadline.run();
+            } catch (Exception e) {
+                log.warn("Voting deadline of bet {} failed: {}", betId, e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package backend.services;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One mailbox per watch party: commands sent to a party are run one at a time, in
+ * arrival order, by a single logical writer. Mailboxes share a small worker pool and
+ * hold no thread while idle, so parties never wait on each other.
+ *
+ * A drain runs up to {@link #MAX_BATCH} commands before giving the worker back,
+ * so one busy party cannot starve the others.
+ */
+final class WatchPartyMailboxes {
+
+    private static final Logger log = LoggerFactory.getLogger(WatchPartyMailboxes.class);
+    static final int MAX_BATCH = 64;
+
+    // Mailbox drained by the current thread: nested commands for the same party run inline
+    private static final ThreadLocal<Mailbox> DRAINING = new ThreadLocal<>();
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    WatchPartyMailboxes() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    WatchPartyMailboxes(int workerCount) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "watchparty-mailbox-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs {@code command} on the party's writer and waits for its result.
+     * Exceptions thrown by the command are rethrown to the caller.
+     */
+    <T> T call(String party, Supplier<T> command) {
+        Mailbox mailbox = mailboxes.computeIfAbsent(party, Mailbox::new);
+        if (DRAINING.get() == mailbox) {
+            return command.get();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.enqueue(() -> {
+            try {
+                result.complete(command.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return await(result);
+    }
+
+    /**
+     * Queues {@code command} on the party's writer without waiting for it.
+     */
+    void send(String party, Runnable command) {
+        Mailbox mailbox = mailboxes.computeIfAbsent(party, Mailbox::new);
+        if (DRAINING.get() == mailbox) {
+            command.run();
+            return;
+        }
+        mailbox.enqueue(command);
+    }
+
+    /**
+     * Forgets the mailbox of a removed party. Commands already queued are still run.
+     */
+    void remove(String party) {
+        mailboxes.remove(party);
+    }
+
+    int size() {
+        return mailboxes.size();
+    }
+
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the watch party writer", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private final class Mailbox {
+        private final String party;
+        private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+        // True while a drain is queued or running: at most one writer per mailbox
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Mailbox(String party) {
+            this.party = party;
+        }
+
+        void enqueue(Runnable command) {
+            commands.add(command);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                workers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Pool stopped (shutdown): run on the caller rather than dropping commands
+                drain();
+            }
+        }
+
+        private void drain() {
+            Mailbox outer = DRAINING.get();
+            DRAINING.set(this);
+            try {
+                Runnable command;
+                int processed = 0;
+                while (processed < MAX_BATCH && (command = commands.poll()) != null) {
+                    runSafely(command);
+                    processed++;
+                }
+            } finally {
+                DRAINING.set(outer);
+                scheduled.set(false);
+            }
+            // A command may have arrived between the last poll and the flag reset
+            if (!commands.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void runSafely(Runnable command) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                log.warn("Command failed in watch party '{}' mailbox", party, e);
+            }
+        }
+    }
+}
@@ -2,14 +2,22 @@ package backend.services;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import backend.models.MatchState;
 import backend.models.User;
@@ -27,11 +35,13 @@ public class WatchPartyManager {
 
     private final WatchPartyRepository watchPartyRepository;
     private final CalendarIntegrationService calendarIntegrationService;
+    private final UserService userService;
     private final NotificationService notificationService;
     private AutoWatchPartyScheduler scheduler;
 
     private final List<WatchParty> watchParties;
     private final List<WatchParty> watchPartiesPlanned;
+    private final WatchPartyMailboxes mailboxes = new WatchPartyMailboxes();
 
     @Autowired
     public WatchPartyManager(
@@ -41,9 +51,11 @@ public class WatchPartyManager {
             NotificationService notificationService) {
         this.watchPartyRepository = watchPartyRepository;
         this.calendarIntegrationService = calendarIntegrationService;
+        this.userService = userService;
         this.notificationService = notificationService;
-        this.watchParties = new ArrayList<>();
-        this.watchPartiesPlanned = new ArrayList<>();
+        // Read on every request, written rarely: copy-on-write keeps lookups lock-free
+        this.watchParties = new CopyOnWriteArrayList<>();
+        this.watchPartiesPlanned = new CopyOnWriteArrayList<>();
         this.scheduler = new AutoWatchPartyScheduler(this);
     }
 
@@ -51,6 +63,35 @@ public class WatchPartyManager {
         this(null, new CalendarIntegrationService(), new UserService(null), new NotificationService());
     }
 
+    @PreDestroy
+    public void shutdown() {
+        mailboxes.shutdown();
+    }
+
+    /**
+     * Runs a command on the single writer of the watch party and returns its result.
+     * Every mutation of a party's bets, participants or status goes through here, so
+     * commands of one party never overlap while different parties run in parallel.
+     * Unknown parties get no mailbox: the command runs on the caller.
+     */
+    public <T> T executeInParty(String watchPartyName, Supplier<T> command) {
+        if (!hasMailbox(watchPartyName)) {
+            return command.get();
+        }
+        return mailboxes.call(watchPartyName, command);
+    }
+
+    /**
+     * Same as {@link #executeInParty(String, Supplier)} without waiting for the command.
+     */
+    public void submitToParty(String watchPartyName, Runnable command) {
+        if (!hasMailbox(watchPartyName)) {
+            command.run();
+            return;
+        }
+        mailboxes.send(watchPartyName, command);
+    }
+
     public void setScheduler(AutoWatchPartyScheduler scheduler) {
         if (scheduler != null) {
             this.scheduler = scheduler;
@@ -86,6 +127,110 @@ public class WatchPartyManager {
         }
     }
 
+    /**
+     * Arrivée d'un participant, à lancer dans la boîte de la watch party: la mise à jour en
+     * mémoire et l'écriture de sa ligne de wp_participants se font dans une même transaction,
+     * ouverte sur le thread de la boîte (qui n'a ni requête ni session). Les 200 points d'arrivée
+     * passent par le registre des points, comme tout mouvement de points.
+     *
+     * @return false si l'utilisateur participait déjà
+     */
+    @Transactional
+    public boolean joinParticipant(WatchParty wp, User user) {
+        if (!wp.join(user)) {
+            return false;
+        }
+        try {
+            saveParticipantJoined(wp, user);
+        } catch (RuntimeException e) {
+            wp.leave(user); // la mémoire suit la base
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Départ d'un participant, à lancer dans la boîte de la watch party (voir {@link #joinParticipant}).
+     *
+     * @return false si l'utilisateur ne participait pas
+     */
+    @Transactional
+    public boolean leaveParticipant(WatchParty wp, User user) {
+        if (!wp.leave(user)) {
+            return false;
+        }
+        try {
+            saveParticipantLeft(wp, user);
+        } catch (RuntimeException e) {
+            wp.join(user);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Une seule ligne de wp_participants, sans fusionner toute la watch party; retombe sur
+     * {@link #saveWatchParty} si l'un des deux n'a pas encore d'id.
+     */
+    private void saveParticipantJoined(WatchParty wp, User user) {
+        if (watchPartyRepository == null || wp.getId() == null || user.getId() == null) {
+            saveWatchParty(wp);
+            return;
+        }
+        watchPartyRepository.addParticipant(wp.getId(), user.getId());
+    }
+
+    private void saveParticipantLeft(WatchParty wp, User user) {
+        if (watchPartyRepository == null || wp.getId() == null || user.getId() == null) {
+            saveWatchParty(wp);
+            return;
+        }
+        watchPartyRepository.removeParticipant(wp.getId(), user.getId());
+    }
+
+    /**
+     * Fermeture du match: retire en une requête tous les participants sauf le créateur, avant
+     * que la watch party soit sauvegardée (la fusion n'a alors plus de ligne à supprimer).
+     */
+    public void saveParticipantsKicked(WatchParty wp) {
+        if (watchPartyRepository == null || wp.getId() == null) {
+            return;
+        }
+        User creator = wp.getCreator();
+        if (creator != null && creator.getId() != null) {
+            watchPartyRepository.removeParticipantsExcept(wp.getId(), creator.getId());
+        } else {
+            watchPartyRepository.removeAllParticipants(wp.getId());
+        }
+    }
+
+    /**
+     * Nombre de participants de chaque watch party, par nom: compté en mémoire pour les
+     * watch parties chargées, en une requête groupée pour les autres, sans charger leurs participants.
+     */
+    public Map<String, Integer> getParticipantCounts(List<WatchParty> parties) {
+        Set<String> loaded = new HashSet<>();
+        for (WatchParty wp : watchParties) {
+            loaded.add(wp.getName());
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        Map<Long, String> stored = new HashMap<>();
+        for (WatchParty wp : parties) {
+            if (loaded.contains(wp.getName()) || watchPartyRepository == null || wp.getId() == null) {
+                counts.put(wp.getName(), wp.getParticipantCount());
+            } else {
+                counts.put(wp.getName(), 0);
+                stored.put(wp.getId(), wp.getName());
+            }
+        }
+        if (!stored.isEmpty()) {
+            for (WatchPartyRepository.ParticipantCountRow row : watchPartyRepository.countParticipants(stored.keySet())) {
+                counts.put(stored.get(row.getWatchPartyId()), row.getParticipants().intValue());
+            }
+        }
+        return counts;
+    }
+
     public void planifyWatchParty(WatchParty wp) {
         if (wp.date().isAfter(LocalDateTime.now())) {
             if (!watchPartiesPlanned.contains(wp)) {
@@ -131,7 +276,10 @@ public class WatchPartyManager {
     }
 
     public boolean removeWatchParty(String name) {
-        boolean removedInMemory = watchParties.removeIf(wp -> wp.getName().equals(name));
+        List<WatchParty> removedParties = watchParties.stream()
+            .filter(wp -> wp.getName().equals(name))
+            .toList();
+        boolean removedInMemory = watchParties.removeAll(removedParties);
         watchPartiesPlanned.removeIf(wp -> wp.getName().equals(name));
 
         boolean removedInRepository = false;
@@ -145,6 +293,8 @@ public class WatchPartyManager {
 
         boolean removed = removedInMemory || removedInRepository;
         if (removed) {
+            mailboxes.remove(name);
+            removedParties.forEach(WatchParty::notifyParticipantScores);
             log.info(WATCH_PARTY_REMOVED_LOG);
         } else {
             log.warn(WATCH_PARTY_NOT_FOUND_LOG);
@@ -165,17 +315,27 @@ public class WatchPartyManager {
             return null;
         }
 
-        WatchParty fromRepository = watchPartyRepository.findAll().stream()
-            .filter(wp -> wp.getName().equals(name))
-            .reduce((first, second) -> second)
-            .orElse(null);
+        // Participants chargés avec la watch party: elle est ensuite lue hors session (boîte, classements)
+        WatchParty fromRepository = watchPartyRepository.findFirstByNameOrderByIdDesc(name).orElse(null);
 
         if (fromRepository != null) {
+            // Participants ramenés aux instances déjà en usage, puis leurs soldes chargés ici,
+            // sur le thread appelant, plutôt qu'au premier accès aux points
+            fromRepository.resolveParticipants(userService::resolve);
+            userService.loadPoints(fromRepository.getParticipants());
             replaceInMemoryWatchParty(fromRepository);
         }
         return fromRepository;
     }
 
+    /**
+     * Watch parties tenues en mémoire, sans lecture en base: leurs participants sont les
+     * instances modifiées par les paris, à jour avant leur écriture.
+     */
+    public List<WatchParty> getLoadedWatchParties() {
+        return new ArrayList<>(watchParties);
+    }
+
     public List<WatchParty> getAllWatchParties() {
         Map<String, WatchParty> merged = new LinkedHashMap<>();
         for (WatchParty wp : watchParties) {
@@ -296,8 +456,20 @@ public class WatchPartyManager {
         }
     }
 
+    private boolean hasMailbox(String watchPartyName) {
+        return watchPartyName != null && getWatchPartyByName(watchPartyName) != null;
+    }
+
     private void replaceInMemoryWatchParty(WatchParty wp) {
-        watchParties.removeIf(existing -> existing.getName().equals(wp.getName()));
+        List<WatchParty> previous = watchParties.stream()
+            .filter(existing -> existing.getName().equals(wp.getName()))
+            .toList();
+        watchParties.removeAll(previous);
         watchParties.add(wp);
+        if (previous.size() != 1 || previous.get(0) != wp) {
+            // Autre instance: les participants (anciens et nouveaux) sont réévalués dans les classements
+            previous.forEach(WatchParty::notifyParticipantScores);
+            wp.notifyParticipantScores();
+        }
     }
 }
@@ -1,11 +1,10 @@
 package backend.services.betresolution;
 
-import backend.integration.lolesports.dto.Frame;
 import backend.models.WatchParty;
 
 public record BetResolutionContext(
         WatchParty watchParty,
-        Frame previousFrame,
-        Frame currentFrame,
+        FrameIndex previousFrame,
+        FrameIndex currentFrame,
         MilestoneRaceTracker milestoneRaceTracker
 ) {}
@@ -2,15 +2,11 @@ package backend.services.betresolution;
 
 import java.util.Optional;
 
-import backend.models.Bet;
-
 public interface BetResolutionDelegate {
 
-    boolean supports(Bet bet);
-
-    default void recordObservation(Bet bet, BetResolutionContext context) {
+    default void recordObservation(BetResolutionPlan plan, BetResolutionContext context) {
         // Default no-op.
     }
 
-    Optional<Object> findCorrectValue(Bet bet, BetResolutionContext context);
+    Optional<Object> findCorrectValue(BetResolutionPlan plan, BetResolutionContext context);
 }
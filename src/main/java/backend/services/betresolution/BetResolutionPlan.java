@@ -0,0 +1,259 @@
+package backend.services.betresolution;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import backend.integration.lolesports.dto.ParticipantFrame;
+import backend.models.Bet;
+import backend.models.DiscreteChoiceBet;
+import backend.models.Match;
+import backend.models.NumericValueBet;
+import backend.models.OrderedRankingBet;
+import backend.models.WatchParty;
+
+/**
+ * Résolution automatique d'un pari, décidée une seule fois à partir de sa question:
+ * ce qu'il faut regarder dans les frames et comment relier les choix aux équipes/joueurs.
+ * Les frames sont ensuite évaluées sans ré-analyser la question.
+ */
+public final class BetResolutionPlan {
+
+    public enum Kind {
+        NONE,
+        FIRST_EVENT,     // Premier événement d'un type (first blood, dragon, tour)
+        GAME_WINNER,
+        TOTAL_KILLS,
+        GOLD_DIFF,
+        DURATION,
+        STAT_RANKING     // Classement des joueurs sur une statistique
+    }
+
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("(\\d+(?:[.,]\\d+)?)");
+
+    private final Bet bet;
+    private final Kind kind;
+    private final GameEventType eventType;      // FIRST_EVENT: type d'événement visé
+    private final ParticipantMetric metric;     // STAT_RANKING ou course au palier
+    private final boolean ascending;            // STAT_RANKING: le moins d'abord
+    private final int milestoneThreshold;       // -1 sans course au palier
+    private final List<String> options;         // Choix ou éléments, tels que saisis
+    private final String[] normalizedOptions;
+    private final boolean[] blueOptions;
+    private final boolean[] redOptions;
+    private final Set<ResolutionTrigger> triggers;
+
+    // Noms d'équipes normalisés du match courant, recalculés seulement quand le match change
+    private volatile TeamNames teamNames;
+
+    private record TeamNames(Match match, String team1, String team2) {}
+
+    private BetResolutionPlan(Bet bet, Kind kind, GameEventType eventType, ParticipantMetric metric,
+                              boolean ascending, int milestoneThreshold, List<String> options) {
+        this.bet = bet;
+        this.kind = kind;
+        this.eventType = eventType;
+        this.metric = metric;
+        this.ascending = ascending;
+        this.milestoneThreshold = milestoneThreshold;
+        this.options = List.copyOf(options);
+        this.normalizedOptions = new String[this.options.size()];
+        this.triggers = triggersOf(kind, eventType, milestoneThreshold >= 0);
+        this.blueOptions = new boolean[this.options.size()];
+        this.redOptions = new boolean[this.options.size()];
+        for (int i = 0; i < this.options.size(); i++) {
+            normalizedOptions[i] = BetResolutionSupport.normalize(this.options.get(i));
+            blueOptions[i] = BetResolutionSupport.containsAny(normalizedOptions[i],
+                    "blue", "bleu", "equipe bleue", "side blue");
+            redOptions[i] = BetResolutionSupport.containsAny(normalizedOptions[i],
+                    "red", "rouge", "equipe rouge", "side red");
+        }
+    }
+
+    /**
+     * Classe la question du pari. Appelé une fois par pari (à sa création).
+     */
+    public static BetResolutionPlan compile(Bet bet) {
+        String question = BetResolutionSupport.normalize(bet.getQuestion());
+        if (bet instanceof DiscreteChoiceBet dcb) {
+            return compileDiscreteChoice(dcb, question);
+        }
+        if (bet instanceof NumericValueBet) {
+            return new BetResolutionPlan(bet, numericKind(question), null, null, false, -1, List.of());
+        }
+        if (bet instanceof OrderedRankingBet orb) {
+            return compileRanking(orb, question);
+        }
+        return new BetResolutionPlan(bet, Kind.NONE, null, null, false, -1, List.of());
+    }
+
+    private static BetResolutionPlan compileDiscreteChoice(DiscreteChoiceBet bet, String question) {
+        // La course au palier passe avant les autres questions (voir DiscreteChoiceBetResolutionDelegate)
+        ParticipantMetric milestoneMetric = null;
+        int threshold = -1;
+        if (isMilestoneQuestion(question)) {
+            threshold = extractThreshold(question);
+            milestoneMetric = threshold < 0 ? null : milestoneMetric(question);
+            if (milestoneMetric == null) {
+                threshold = -1;
+            }
+        }
+
+        Kind kind = Kind.NONE;
+        GameEventType eventType = null;
+        if (BetResolutionSupport.containsAny(question, "first blood", "premier kill")) {
+            kind = Kind.FIRST_EVENT;
+            eventType = GameEventType.KILL;
+        } else if (BetResolutionSupport.containsAny(question, "first dragon", "premier dragon")) {
+            kind = Kind.FIRST_EVENT;
+            eventType = GameEventType.DRAGON_KILL;
+        } else if (BetResolutionSupport.containsAny(question, "first tower", "premiere tour", "premier tower")) {
+            kind = Kind.FIRST_EVENT;
+            eventType = GameEventType.TOWER_DESTROYED;
+        } else if (BetResolutionSupport.containsAny(question, "winner", "gagnant", "qui gagne",
+                "qui va gagner", "victoire")) {
+            kind = Kind.GAME_WINNER;
+        }
+        return new BetResolutionPlan(bet, kind, eventType, milestoneMetric, false, threshold, bet.getChoices());
+    }
+
+    private static Kind numericKind(String question) {
+        if (BetResolutionSupport.containsAny(question, "total kills", "nombre de kills", "combien de kills")) {
+            return Kind.TOTAL_KILLS;
+        }
+        if (BetResolutionSupport.containsAny(question, "gold diff", "ecart de gold", "difference de gold")) {
+            return Kind.GOLD_DIFF;
+        }
+        if (BetResolutionSupport.containsAny(question, "duration", "duree", "durÃ©e", "temps de jeu")) {
+            return Kind.DURATION;
+        }
+        return Kind.NONE;
+    }
+
+    private static BetResolutionPlan compileRanking(OrderedRankingBet bet, String question) {
+        ParticipantMetric rankingMetric = null;
+        boolean ascending = false;
+        if (BetResolutionSupport.containsAny(question, "kills", "kill")) {
+            rankingMetric = ParticipantMetric.KILLS;
+        } else if (BetResolutionSupport.containsAny(question, "assists", "assist")) {
+            rankingMetric = ParticipantMetric.ASSISTS;
+        } else if (BetResolutionSupport.containsAny(question, "gold")) {
+            rankingMetric = ParticipantMetric.GOLD;
+        } else if (BetResolutionSupport.containsAny(question, "level", "niveau")) {
+            rankingMetric = ParticipantMetric.LEVEL;
+        } else if (BetResolutionSupport.containsAny(question, "deaths", "morts", "mort")) {
+            rankingMetric = ParticipantMetric.DEATHS;
+            ascending = BetResolutionSupport.containsAny(question, "least", "fewest", "moins");
+        }
+        Kind kind = rankingMetric == null ? Kind.NONE : Kind.STAT_RANKING;
+        return new BetResolutionPlan(bet, kind, null, rankingMetric, ascending, -1, bet.getItems());
+    }
+
+    private static boolean isMilestoneQuestion(String question) {
+        return BetResolutionSupport.containsAny(question,
+                "first to",
+                "reach first",
+                "reaches first",
+                "atteindra en premier",
+                "atteindra le plus rapidement",
+                "atteindra d abord",
+                "atteindra d abord le palier",
+                "atteindra premier",
+                "plus rapidement le palier");
+    }
+
+    private static ParticipantMetric milestoneMetric(String question) {
+        for (ParticipantMetric candidate : ParticipantMetric.values()) {
+            if (candidate.matches(question)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static int extractThreshold(String question) {
+        Matcher matcher = NUMBER_PATTERN.matcher(question);
+        if (!matcher.find()) {
+            return -1;
+        }
+        String raw = matcher.group(1).replace(',', '.');
+        return (int) Math.round(Double.parseDouble(raw));
+    }
+
+    private static Set<ResolutionTrigger> triggersOf(Kind kind, GameEventType eventType, boolean milestoneRace) {
+        EnumSet<ResolutionTrigger> triggers = EnumSet.noneOf(ResolutionTrigger.class);
+        if (milestoneRace) {
+            triggers.add(ResolutionTrigger.PARTICIPANT_STATS);
+        }
+        switch (kind) {
+            case FIRST_EVENT -> triggers.add(ResolutionTrigger.forFirstEvent(eventType));
+            case GAME_WINNER, TOTAL_KILLS, GOLD_DIFF, DURATION, STAT_RANKING -> triggers.add(ResolutionTrigger.GAME_END);
+            case NONE -> { }
+        }
+        return Collections.unmodifiableSet(triggers);
+    }
+
+    // ==================== ÉVALUATION ====================
+
+    /**
+     * Choix correspondant à l'équipe d'un événement ("blue", "red", "100", nom d'équipe...).
+     * Même priorité que l'ancien parcours: premier choix qui correspond, dans l'ordre des choix.
+     */
+    Optional<String> choiceForTeam(String team, WatchParty watchParty) {
+        String normalizedTeam = BetResolutionSupport.normalize(team);
+        boolean blueTeam = BetResolutionSupport.containsAny(normalizedTeam, "blue", "bleu", "100");
+        boolean redTeam = BetResolutionSupport.containsAny(normalizedTeam, "red", "rouge", "200");
+        TeamNames names = teamNames(watchParty);
+
+        for (int i = 0; i < normalizedOptions.length; i++) {
+            String choice = normalizedOptions[i];
+            if (choice.equals(normalizedTeam)
+                    || (blueTeam && blueOptions[i])
+                    || (redTeam && redOptions[i])
+                    || (blueTeam && !names.team1().isBlank() && choice.equals(names.team1()))
+                    || (redTeam && !names.team2().isBlank() && choice.equals(names.team2()))) {
+                return Optional.of(options.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    Comparator<ParticipantFrame> rankingComparator() {
+        Comparator<ParticipantFrame> byMetric = Comparator.comparingInt(metric::extract);
+        return ascending ? byMetric : byMetric.reversed();
+    }
+
+    private TeamNames teamNames(WatchParty watchParty) {
+        Match match = watchParty == null || watchParty.getAutoConfig() == null
+                ? null
+                : watchParty.getAutoConfig().getCurrentMatch();
+        TeamNames cached = teamNames;
+        if (cached != null && cached.match() == match) {
+            return cached;
+        }
+        TeamNames fresh = match == null
+                ? new TeamNames(null, "", "")
+                : new TeamNames(match, BetResolutionSupport.normalize(match.getTeam1()),
+                        BetResolutionSupport.normalize(match.getTeam2()));
+        teamNames = fresh;
+        return fresh;
+    }
+
+    public Bet bet() { return bet; }
+    public Kind kind() { return kind; }
+    public GameEventType eventType() { return eventType; }
+    public ParticipantMetric metric() { return metric; }
+    /**
+     * Déclencheurs sans lesquels une frame ne peut pas faire avancer ce pari.
+     */
+    public Set<ResolutionTrigger> triggers() { return triggers; }
+    public boolean hasMilestoneRace() { return milestoneThreshold >= 0; }
+    public int milestoneThreshold() { return milestoneThreshold; }
+    public List<String> options() { return options; }
+    String normalizedOption(int index) { return normalizedOptions[index]; }
+}
@@ -0,0 +1,124 @@
+package backend.services.betresolution;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import backend.models.Bet;
+
+/**
+ * Index watch party -> déclencheur -> paris ouverts qui l'attendent. Une frame n'est évaluée
+ * que pour les watch parties qui suivent sa partie, et n'y réveille que les paris dont un
+ * déclencheur est présent: le coût suit ces watch parties et le contenu de la frame, pas le
+ * nombre de paris ouverts ailleurs.
+ */
+public class BetRuleIndex {
+
+    private final Map<String, PartyRules> rulesByParty = new ConcurrentHashMap<>();
+
+    /** Paris ouverts d'une watch party. */
+    private static final class PartyRules {
+        private final Map<ResolutionTrigger, Set<Bet>> betsByTrigger = new EnumMap<>(ResolutionTrigger.class);
+        // Paris déjà tranchés (course au palier gagnée): à évaluer quelle que soit la frame
+        private final Set<Bet> ready = ConcurrentHashMap.newKeySet();
+
+        PartyRules() {
+            for (ResolutionTrigger trigger : ResolutionTrigger.values()) {
+                betsByTrigger.put(trigger, ConcurrentHashMap.newKeySet());
+            }
+        }
+
+        void remove(Bet bet) {
+            for (Set<Bet> bets : betsByTrigger.values()) {
+                bets.remove(bet);
+            }
+            ready.remove(bet);
+        }
+
+        boolean isEmpty() {
+            return ready.isEmpty() && betsByTrigger.values().stream().allMatch(Set::isEmpty);
+        }
+    }
+
+    public void register(BetResolutionPlan plan) {
+        rulesByParty.compute(plan.bet().getWatchPartyName(), (name, rules) -> {
+            PartyRules target = rules == null ? new PartyRules() : rules;
+            for (ResolutionTrigger trigger : plan.triggers()) {
+                target.betsByTrigger.get(trigger).add(plan.bet());
+            }
+            return target;
+        });
+    }
+
+    public void markReady(Bet bet) {
+        rulesByParty.compute(bet.getWatchPartyName(), (name, rules) -> {
+            PartyRules target = rules == null ? new PartyRules() : rules;
+            target.ready.add(bet);
+            return target;
+        });
+    }
+
+    public void unregister(Bet bet) {
+        rulesByParty.computeIfPresent(bet.getWatchPartyName(), (name, rules) -> {
+            rules.remove(bet);
+            return rules.isEmpty() ? null : rules;
+        });
+    }
+
+    /**
+     * Paris des watch parties données à évaluer pour cette frame. Les déclencheurs présents
+     * dans la frame sont calculés une fois, pour toutes ces watch parties.
+     */
+    public Set<Bet> triggeredBy(Collection<String> watchPartyNames, FrameIndex frame) {
+        Set<ResolutionTrigger> fired = null;
+        Set<Bet> triggered = null;
+        for (String name : watchPartyNames) {
+            PartyRules rules = rulesByParty.get(name);
+            if (rules == null) {
+                continue;
+            }
+            if (fired == null) {
+                fired = firedBy(frame);
+            }
+            for (ResolutionTrigger trigger : fired) {
+                Set<Bet> bets = rules.betsByTrigger.get(trigger);
+                if (!bets.isEmpty()) {
+                    triggered = addAll(triggered, bets);
+                }
+            }
+            if (!rules.ready.isEmpty()) {
+                triggered = addAll(triggered, rules.ready);
+            }
+        }
+        return triggered == null ? Set.of() : triggered;
+    }
+
+    public int size(ResolutionTrigger trigger) {
+        int size = 0;
+        for (PartyRules rules : rulesByParty.values()) {
+            size += rules.betsByTrigger.get(trigger).size();
+        }
+        return size;
+    }
+
+    private static Set<ResolutionTrigger> firedBy(FrameIndex frame) {
+        Set<ResolutionTrigger> fired = EnumSet.noneOf(ResolutionTrigger.class);
+        for (ResolutionTrigger trigger : ResolutionTrigger.values()) {
+            if (trigger.firedBy(frame)) {
+                fired.add(trigger);
+            }
+        }
+        return fired;
+    }
+
+    private static Set<Bet> addAll(Set<Bet> triggered, Set<Bet> bets) {
+        Set<Bet> target = triggered != null ? triggered : Collections.newSetFromMap(new IdentityHashMap<>());
+        target.addAll(bets);
+        return target;
+    }
+}
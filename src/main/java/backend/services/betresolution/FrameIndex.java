@@ -0,0 +1,174 @@
+package backend.services.betresolution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import backend.integration.lolesports.dto.Frame;
+import backend.integration.lolesports.dto.GameEvent;
+import backend.integration.lolesports.dto.ParticipantFrame;
+import backend.integration.lolesports.dto.TeamFrame;
+
+/**
+ * Vue d'une frame indexée une seule fois à la réception: types d'événements internés,
+ * événements regroupés par type avec premier/dernier, joueurs aplatis.
+ * Les délégués de résolution la lisent sans re-parcourir la frame.
+ */
+public final class FrameIndex {
+
+    private final Frame frame;
+    private final Map<GameEventType, List<GameEvent>> eventsByType = new EnumMap<>(GameEventType.class);
+    private final Map<GameEventType, GameEvent> firstByType = new EnumMap<>(GameEventType.class);
+    private final Map<GameEventType, GameEvent> lastByType = new EnumMap<>(GameEventType.class);
+    private final GameEvent lastGameEndWithTeam;
+    private final long lastTimestamp;
+    private final ParticipantFrame[] participants;
+    private final List<ParticipantFrame> participantList;
+
+    private FrameIndex(Frame frame) {
+        this.frame = frame;
+        long maxTimestamp = frame.timestamp();
+        GameEvent winnerEvent = null;
+
+        for (GameEvent event : frame.events()) {
+            maxTimestamp = Math.max(maxTimestamp, event.timestamp());
+            GameEventType type = GameEventType.of(event.type());
+            if (type == GameEventType.OTHER) {
+                continue;
+            }
+            eventsByType.computeIfAbsent(type, ignored -> new ArrayList<>()).add(event);
+            // À égalité de timestamp, le premier reçu est gardé des deux côtés
+            GameEvent first = firstByType.get(type);
+            if (first == null || event.timestamp() < first.timestamp()) {
+                firstByType.put(type, event);
+            }
+            GameEvent last = lastByType.get(type);
+            if (last == null || event.timestamp() > last.timestamp()) {
+                lastByType.put(type, event);
+            }
+            if (type == GameEventType.GAME_END
+                    && !BetResolutionSupport.normalizedEquals(event.team(), "")
+                    && (winnerEvent == null || event.timestamp() > winnerEvent.timestamp())) {
+                winnerEvent = event;
+            }
+        }
+
+        this.lastGameEndWithTeam = winnerEvent;
+        this.lastTimestamp = maxTimestamp;
+        this.participants = flattenParticipants(frame);
+        this.participantList = Collections.unmodifiableList(Arrays.asList(participants));
+    }
+
+    public static FrameIndex of(Frame frame) {
+        return frame == null ? null : new FrameIndex(frame);
+    }
+
+    public Frame frame() {
+        return frame;
+    }
+
+    public boolean isGameFinished() {
+        return firstByType.containsKey(GameEventType.GAME_END);
+    }
+
+    public List<GameEvent> events(GameEventType type) {
+        return eventsByType.getOrDefault(type, List.of());
+    }
+
+    public Optional<GameEvent> firstEvent(GameEventType type) {
+        return Optional.ofNullable(firstByType.get(type));
+    }
+
+    public Optional<GameEvent> lastEvent(GameEventType type) {
+        return Optional.ofNullable(lastByType.get(type));
+    }
+
+    public Optional<String> teamForFirstEvent(GameEventType type) {
+        GameEvent first = firstByType.get(type);
+        return first == null ? Optional.empty() : Optional.ofNullable(first.team());
+    }
+
+    /**
+     * Équipe gagnante: dernier GAME_END avec une équipe, sinon avantage en gold puis en kills.
+     */
+    public Optional<String> winningTeam() {
+        if (lastGameEndWithTeam != null) {
+            return Optional.of(lastGameEndWithTeam.team());
+        }
+
+        int blueGold = blueGold();
+        int redGold = redGold();
+        if (blueGold != redGold) {
+            return Optional.of(blueGold > redGold ? "blue" : "red");
+        }
+
+        int blueKills = blueKills();
+        int redKills = redKills();
+        if (blueKills != redKills) {
+            return Optional.of(blueKills > redKills ? "blue" : "red");
+        }
+
+        return Optional.empty();
+    }
+
+    public int blueKills() {
+        return safeKills(frame.blueTeam());
+    }
+
+    public int redKills() {
+        return safeKills(frame.redTeam());
+    }
+
+    public int blueGold() {
+        return safeGold(frame.blueTeam());
+    }
+
+    public int redGold() {
+        return safeGold(frame.redTeam());
+    }
+
+    public double durationMinutes() {
+        return lastTimestamp / 60000.0;
+    }
+
+    /**
+     * Joueurs des deux équipes (bleue puis rouge), sans entrées incomplètes.
+     */
+    public List<ParticipantFrame> participants() {
+        return participantList;
+    }
+
+    public int participantCount() {
+        return participants.length;
+    }
+
+    private static ParticipantFrame[] flattenParticipants(Frame frame) {
+        List<ParticipantFrame> flattened = new ArrayList<>();
+        addParticipants(flattened, frame.blueTeam());
+        addParticipants(flattened, frame.redTeam());
+        return flattened.toArray(new ParticipantFrame[0]);
+    }
+
+    private static void addParticipants(List<ParticipantFrame> target, TeamFrame team) {
+        if (team == null) {
+            return;
+        }
+        for (ParticipantFrame participant : team.participants()) {
+            if (participant != null && participant.championName() != null) {
+                target.add(participant);
+            }
+        }
+    }
+
+    private static int safeKills(TeamFrame teamFrame) {
+        return teamFrame == null ? 0 : teamFrame.totalKills();
+    }
+
+    private static int safeGold(TeamFrame teamFrame) {
+        return teamFrame == null ? 0 : teamFrame.totalGold();
+    }
+}
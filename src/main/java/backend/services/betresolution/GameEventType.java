@@ -0,0 +1,29 @@
+package backend.services.betresolution;
+
+/**
+ * Types d'événements utiles à la résolution, internés une fois par frame.
+ */
+public enum GameEventType {
+    KILL,
+    DRAGON_KILL,
+    TOWER_DESTROYED,
+    GAME_END,
+    OTHER;
+
+    private static final GameEventType[] KNOWN = {KILL, DRAGON_KILL, TOWER_DESTROYED, GAME_END};
+
+    // "DRAGON_KILL" -> "dragon kill", comparé comme les autres textes normalisés
+    private final String normalizedName = BetResolutionSupport.normalize(name());
+
+    /**
+     * Type interné d'un type brut ("GAME_END", "game-end", "Dragon Kill"...), OTHER sinon.
+     */
+    public static GameEventType of(String rawType) {
+        for (GameEventType type : KNOWN) {
+            if (BetResolutionSupport.normalizedEquals(rawType, type.normalizedName)) {
+                return type;
+            }
+        }
+        return OTHER;
+    }
+}
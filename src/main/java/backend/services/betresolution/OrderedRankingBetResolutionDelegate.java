@@ -1,58 +1,45 @@
 package backend.services.betresolution;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import backend.integration.lolesports.dto.Frame;
 import backend.integration.lolesports.dto.ParticipantFrame;
-import backend.models.Bet;
-import backend.models.OrderedRankingBet;
 
 public class OrderedRankingBetResolutionDelegate implements BetResolutionDelegate {
 
     @Override
-    public boolean supports(Bet bet) {
-        return bet instanceof OrderedRankingBet;
-    }
-
-    @Override
-    public Optional<Object> findCorrectValue(Bet bet, BetResolutionContext context) {
-        OrderedRankingBet orderedRankingBet = (OrderedRankingBet) bet;
-        Frame frame = context.currentFrame();
-        if (frame == null || !BetResolutionSupport.isGameFinished(frame)) {
+    public Optional<Object> findCorrectValue(BetResolutionPlan plan, BetResolutionContext context) {
+        FrameIndex frame = context.currentFrame();
+        if (frame == null || plan.kind() != BetResolutionPlan.Kind.STAT_RANKING || !frame.isGameFinished()) {
             return Optional.empty();
         }
 
-        String normalizedQuestion = BetResolutionSupport.normalize(orderedRankingBet.getQuestion());
-        Comparator<ParticipantFrame> comparator = BetResolutionSupport.buildRankingComparator(normalizedQuestion);
-        if (comparator == null) {
-            return Optional.empty();
-        }
-
-        List<ParticipantFrame> participants = BetResolutionSupport.flattenParticipants(frame);
+        List<ParticipantFrame> participants = frame.participants();
         if (participants.isEmpty()) {
             return Optional.empty();
         }
 
+        List<String> items = plan.options();
         Map<ParticipantFrame, String> originalItemsByParticipant = new LinkedHashMap<>();
-        for (String item : orderedRankingBet.getItems()) {
-            Optional<ParticipantFrame> participant = BetResolutionSupport.findParticipantForChoice(participants, item);
+        for (int i = 0; i < items.size(); i++) {
+            Optional<ParticipantFrame> participant = BetResolutionSupport.findParticipantForChoice(
+                    participants, plan.normalizedOption(i));
             if (participant.isEmpty() || originalItemsByParticipant.containsKey(participant.get())) {
                 return Optional.empty();
             }
-            originalItemsByParticipant.put(participant.get(), item);
+            originalItemsByParticipant.put(participant.get(), items.get(i));
         }
 
         List<ParticipantFrame> sortedParticipants = new ArrayList<>(originalItemsByParticipant.keySet());
-        sortedParticipants.sort(comparator.thenComparing(BetResolutionSupport::participantIdentifier));
+        sortedParticipants.sort(plan.rankingComparator().thenComparing(BetResolutionSupport::participantIdentifier));
 
-        List<String> ranking = sortedParticipants.stream()
-                .map(originalItemsByParticipant::get)
-                .toList();
-        return Optional.of((Object) ranking);
+        List<String> ranking = new ArrayList<>(sortedParticipants.size());
+        for (ParticipantFrame participant : sortedParticipants) {
+            ranking.add(originalItemsByParticipant.get(participant));
+        }
+        return Optional.of((Object) List.copyOf(ranking));
     }
 }
@@ -0,0 +1,32 @@
+package backend.services.betresolution;
+
+import java.util.function.ToIntFunction;
+
+import backend.integration.lolesports.dto.ParticipantFrame;
+
+/**
+ * Statistique de joueur visée par une question (paliers et classements).
+ */
+public enum ParticipantMetric {
+    KILLS(ParticipantFrame::kills, "kills", "kill"),
+    ASSISTS(ParticipantFrame::assists, "assists", "assist"),
+    GOLD(ParticipantFrame::gold, "gold"),
+    LEVEL(ParticipantFrame::level, "level", "niveau"),
+    DEATHS(ParticipantFrame::deaths, "deaths", "death", "morts", "mort");
+
+    private final ToIntFunction<ParticipantFrame> extractor;
+    private final String[] keywords;
+
+    ParticipantMetric(ToIntFunction<ParticipantFrame> extractor, String... keywords) {
+        this.extractor = extractor;
+        this.keywords = keywords;
+    }
+
+    public int extract(ParticipantFrame participantFrame) {
+        return extractor.applyAsInt(participantFrame);
+    }
+
+    boolean matches(String normalizedQuestion) {
+        return BetResolutionSupport.containsAny(normalizedQuestion, keywords);
+    }
+}
@@ -0,0 +1,35 @@
+package backend.services.betresolution;
+
+/**
+ * Ce qui, dans une frame, peut faire avancer la résolution d'un pari.
+ */
+public enum ResolutionTrigger {
+    FIRST_KILL,
+    FIRST_DRAGON,
+    FIRST_TOWER,
+    GAME_END,
+    PARTICIPANT_STATS;   // Courses au palier: stats des joueurs présentes dans la frame
+
+    static ResolutionTrigger forFirstEvent(GameEventType type) {
+        return switch (type) {
+            case KILL -> FIRST_KILL;
+            case DRAGON_KILL -> FIRST_DRAGON;
+            case TOWER_DESTROYED -> FIRST_TOWER;
+            case GAME_END -> GAME_END;
+            case OTHER -> throw new IllegalArgumentException("Aucun déclencheur pour " + type);
+        };
+    }
+
+    /**
+     * Vrai si la frame contient ce déclencheur (lookup dans l'index de la frame).
+     */
+    boolean firedBy(FrameIndex frame) {
+        return switch (this) {
+            case FIRST_KILL -> !frame.events(GameEventType.KILL).isEmpty();
+            case FIRST_DRAGON -> !frame.events(GameEventType.DRAGON_KILL).isEmpty();
+            case FIRST_TOWER -> !frame.events(GameEventType.TOWER_DESTROYED).isEmpty();
+            case GAME_END -> frame.isGameFinished();
+            case PARTICIPANT_STATS -> frame.participantCount() > 0;
+        };
+    }
+}
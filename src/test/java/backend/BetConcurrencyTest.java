@@ -0,0 +1,147 @@
+package backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import backend.models.Bet;
+import backend.models.DiscreteChoiceBet;
+import backend.models.NumericValueBet;
+import backend.models.User;
+import backend.models.WatchParty;
+
+/**
+ * Stress tests de l'enregistrement des votes: votes simultanés, doublons et fermeture concurrente.
+ */
+class BetConcurrencyTest {
+
+    private static final String WP = "Stress WP";
+    private static final int USERS = 2_000;
+    private static final int ATTEMPTS_PER_USER = 3;
+    private static final int THREADS = 16;
+
+    private User admin;
+    private WatchParty watchParty;
+    private List<User> voters;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User("Admin", true);
+        watchParty = new WatchParty(WP, LocalDateTime.now().plusDays(1), "LoL");
+        watchParty.setPublic(false);
+        watchParty.join(admin);
+        voters = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("voter-" + i, false);
+            user.setPointsForWatchParty(WP, 200);
+            voters.add(user);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent duplicate votes should be recorded and debited exactly once")
+    void concurrentVotesShouldBeRecordedAndDebitedOnce() throws Exception {
+        DiscreteChoiceBet bet = new DiscreteChoiceBet("Qui va gagner?", admin, watchParty,
+                LocalDateTime.now().plusMinutes(10), Arrays.asList("T1", "GenG"));
+        AtomicInteger accepted = new AtomicInteger();
+
+        runConcurrently(user -> {
+            String choice = Math.random() < 0.5 ? "T1" : "GenG";
+            if (bet.vote(user, choice, 50).startsWith("✅")) {
+                accepted.incrementAndGet();
+            }
+        }, null);
+
+        assertEquals(USERS, accepted.get());
+        assertEquals(USERS, bet.getParticipantCount());
+        assertEquals(USERS, bet.getUserChoices().size());
+        for (User user : voters) {
+            assertEquals(150, user.getPointsForWatchParty(WP));
+            assertEquals(50, bet.getUserBets().get(user));
+        }
+    }
+
+    @Test
+    @DisplayName("Votes racing the end of voting should either be fully recorded or fully rejected")
+    void votesRacingEndVotingShouldNeverBeHalfRecorded() throws Exception {
+        NumericValueBet bet = new NumericValueBet("Combien de kills?", admin, watchParty,
+                LocalDateTime.now().plusMinutes(10), true, 0.0, 100.0);
+
+        runConcurrently(user -> bet.vote(user, 20, 40), bet);
+
+        assertEquals(Bet.State.PENDING, bet.getState());
+        Map<User, Integer> stakes = bet.getUserBets();
+        assertEquals(stakes.size(), bet.getUserValues().size());
+        for (User user : voters) {
+            int stake = stakes.getOrDefault(user, 0);
+            // Pas de vote perdu ni de double débit: solde + mise = solde initial
+            assertEquals(200, user.getPointsForWatchParty(WP) + stake);
+            assertEquals(stake > 0, bet.getUserValues().containsKey(user));
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent votes on two bets should never overdraw a balance")
+    void concurrentVotesShouldNotOverdrawBalance() throws Exception {
+        DiscreteChoiceBet first = new DiscreteChoiceBet("Premier sang?", admin, watchParty,
+                LocalDateTime.now().plusMinutes(10), Arrays.asList("T1", "GenG"));
+        DiscreteChoiceBet second = new DiscreteChoiceBet("Premier dragon?", admin, watchParty,
+                LocalDateTime.now().plusMinutes(10), Arrays.asList("T1", "GenG"));
+
+        // 200 points: une seule mise de 150 peut passer
+        runConcurrently(user -> (Math.random() < 0.5 ? first : second).vote(user, "T1", 150), null);
+
+        for (User user : voters) {
+            int staked = first.getUserBets().getOrDefault(user, 0) + second.getUserBets().getOrDefault(user, 0);
+            assertEquals(150, staked);
+            assertEquals(50, user.getPointsForWatchParty(WP));
+        }
+    }
+
+    private interface VoteAttempt {
+        void run(User user);
+    }
+
+    /**
+     * Chaque votant tente plusieurs votes depuis des threads différents. Si {@code closing} est
+     * fourni, le vote est fermé au milieu de la rafale.
+     */
+    private void runConcurrently(VoteAttempt attempt, Bet closing) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger submitted = new AtomicInteger();
+        int total = USERS * ATTEMPTS_PER_USER;
+        for (int round = 0; round < ATTEMPTS_PER_USER; round++) {
+            for (User user : voters) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        attempt.run(user);
+                        if (closing != null && submitted.incrementAndGet() == total / 2) {
+                            closing.endVoting();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+    }
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -18,10 +19,12 @@ import backend.models.OrderedRankingBet;
 import backend.models.TicketType;
 import backend.models.User;
 import backend.models.WatchParty;
+import backend.services.BetJournalService;
 import backend.services.BetService;
 import backend.services.BetSettlementService;
 import backend.services.RankingService;
 import backend.services.UserService;
+import backend.services.VotingDeadlineScheduler;
 import backend.services.WatchPartyManager;
 
 class BetControllerTicketTest {
@@ -29,6 +32,8 @@ class BetControllerTicketTest {
     private WatchPartyManager manager;
     private UserService userService;
     private RankingService rankingService;
+    private BetJournalService journal;
+    private VotingDeadlineScheduler votingDeadlines;
     private BetService betService;
     private BetController controller;
     private User admin;
@@ -39,12 +44,22 @@ class BetControllerTicketTest {
         manager = new WatchPartyManager();
         userService = new UserService();
         rankingService = new RankingService(userService, manager);
-        betService = new BetService(manager, userService, rankingService, new BetSettlementService());
+        journal = new BetJournalService();
+        votingDeadlines = new VotingDeadlineScheduler();
+        betService = new BetService(manager, userService, rankingService, new BetSettlementService(),
+                journal, votingDeadlines);
         controller = new BetController(betService, userService, manager);
         admin = userService.getUser("admin");
         bob = userService.getUser("bob");
     }
 
+    @AfterEach
+    void tearDown() {
+        votingDeadlines.shutdown();
+        journal.shutdown();
+        rankingService.close();
+    }
+
     @Test
     void useTicketShouldHandleSuccessfulTicketFlows() {
         WatchParty inOrOutWp = createWatchParty("Ticket InOrOut");
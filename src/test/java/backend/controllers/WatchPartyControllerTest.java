@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -23,6 +24,7 @@ class WatchPartyControllerTest {
 
     private WatchPartyManager manager;
     private UserService userService;
+    private RankingService rankingService;
     private WatchPartyController controller;
     private User alice;
     private CalendarIntegrationService calendarIntegrationService;
@@ -31,11 +33,17 @@ class WatchPartyControllerTest {
     void setUp() {
         manager = new WatchPartyManager();
         userService = new UserService();
+        rankingService = new RankingService(userService, manager);
         calendarIntegrationService = new CalendarIntegrationService();
-        controller = new WatchPartyController(manager, userService, new RankingService(userService, manager), calendarIntegrationService);
+        controller = new WatchPartyController(manager, userService, rankingService, calendarIntegrationService);
         alice = userService.getUser("alice");
     }
 
+    @AfterEach
+    void tearDown() {
+        rankingService.close();
+    }
+
     @Test
     void getWatchPartyChatShouldReturnFlatSerializableMessages() {
         WatchParty wp = new WatchParty("Chat WP", LocalDateTime.now().plusDays(1), "LoL");
@@ -58,7 +66,7 @@ class WatchPartyControllerTest {
         controller = new WatchPartyController(
                 manager,
                 userService,
-                new RankingService(userService, manager),
+                rankingService,
                 trackingCalendarIntegrationService);
 
         String response = controller.createPublicWatchParty(Map.of(
@@ -80,7 +88,7 @@ class WatchPartyControllerTest {
         controller = new WatchPartyController(
                 manager,
                 userService,
-                new RankingService(userService, manager),
+                rankingService,
                 trackingCalendarIntegrationService);
 
         String response = controller.createPrivateWatchParty(Map.of(
@@ -104,7 +112,7 @@ class WatchPartyControllerTest {
         controller = new WatchPartyController(
                 manager,
                 userService,
-                new RankingService(userService, manager),
+                rankingService,
                 trackingCalendarIntegrationService);
 
         String response = controller.createPublicWatchParty(Map.of(
@@ -124,7 +132,7 @@ class WatchPartyControllerTest {
         controller = new WatchPartyController(
                 manager,
                 userService,
-                new RankingService(userService, manager),
+                rankingService,
                 trackingCalendarIntegrationService);
 
         String response = controller.createPublicWatchParty(Map.of(
@@ -143,7 +151,7 @@ class WatchPartyControllerTest {
         controller = new WatchPartyController(
                 manager,
                 userService,
-                new RankingService(userService, manager),
+                rankingService,
                 failingCalendarIntegrationService);
 
         String response = controller.createPublicWatchParty(Map.of(
@@ -162,7 +170,7 @@ class WatchPartyControllerTest {
         controller = new WatchPartyController(
                 manager,
                 userService,
-                new RankingService(userService, manager),
+                rankingService,
                 trackingCalendarIntegrationService);
 
         WatchParty wp = new WatchParty("Calendar Endpoint WP", LocalDateTime.of(2026, 4, 7, 20, 0), "LoL");
@@ -196,7 +204,7 @@ class WatchPartyControllerTest {
         controller = new WatchPartyController(
                 manager,
                 userService,
-                new RankingService(userService, manager),
+                rankingService,
                 trackingCalendarIntegrationService);
 
         WatchParty wp = new WatchParty("Accept Calendar WP", LocalDateTime.of(2026, 4, 10, 20, 0), "LoL");
@@ -2,6 +2,8 @@ package backend.integration.lolesports;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.atLeastOnce;
@@ -22,6 +24,7 @@ import backend.integration.lolesports.dto.WindowResponse;
 import backend.models.User;
 import backend.models.WatchParty;
 import backend.services.BetService;
+import backend.services.LeaderElectionService;
 import backend.services.WatchPartyManager;
 
 class LiveMatchMonitorServiceTest {
@@ -49,7 +52,8 @@ class LiveMatchMonitorServiceTest {
         service.startMonitoring(watchParty, "game-1");
         service.pollAndResolveOnce("game-1");
 
-        verify(betService, atLeastOnce()).tryAutoResolveLiveBet(eq(watchParty), isNull(), eq(latestFrame));
+        verify(betService, atLeastOnce()).tryAutoResolveLiveBets(
+                eq(List.of(watchParty)), isNull(), argThat(index -> index.frame() == latestFrame));
         assertNull(watchParty.getCurrentRiotGameId());
     }
 
@@ -89,7 +93,7 @@ class LiveMatchMonitorServiceTest {
     }
 
     @Test
-    void startMonitoringShouldIgnoreDuplicateGameId() {
+    void pollAndResolveOnceShouldEvaluateEveryWatchPartyOfTheGameInOneCall() {
         LolEsportsClient client = mock(LolEsportsClient.class);
         BetService betService = mock(BetService.class);
         WatchPartyManager manager = mock(WatchPartyManager.class);
@@ -97,13 +101,52 @@ class LiveMatchMonitorServiceTest {
 
         WatchParty firstWatchParty = new WatchParty("First WP", LocalDateTime.now().plusDays(1), "LoL");
         WatchParty secondWatchParty = new WatchParty("Second WP", LocalDateTime.now().plusDays(1), "LoL");
+        Frame latestFrame = new Frame(
+                600_000L,
+                new TeamFrame(20000, 3, List.of()),
+                new TeamFrame(19000, 2, List.of()),
+                List.of());
+        when(manager.getWatchPartyByName("First WP")).thenReturn(firstWatchParty);
+        when(manager.getWatchPartyByName("Second WP")).thenReturn(secondWatchParty);
+        when(client.getWindow("shared-game")).thenReturn(new WindowResponse(
+                "shared-game",
+                null,
+                List.of(latestFrame)));
 
         service.startMonitoring(firstWatchParty, "shared-game");
         service.startMonitoring(secondWatchParty, "shared-game");
+        service.pollAndResolveOnce("shared-game");
 
         assertEquals("shared-game", firstWatchParty.getCurrentRiotGameId());
-        assertNull(secondWatchParty.getCurrentRiotGameId());
+        assertEquals("shared-game", secondWatchParty.getCurrentRiotGameId());
+        verify(betService, atLeastOnce()).tryAutoResolveLiveBets(
+                argThat(parties -> parties.size() == 2
+                        && parties.contains(firstWatchParty) && parties.contains(secondWatchParty)),
+                any(), argThat(index -> index.frame() == latestFrame));
 
         service.stopMonitoring("shared-game");
+        assertNull(firstWatchParty.getCurrentRiotGameId());
+        assertNull(secondWatchParty.getCurrentRiotGameId());
+    }
+
+    @Test
+    void pollAndResolveOnceShouldStopWhenAnotherNodeRunsTheCycles() {
+        LolEsportsClient client = mock(LolEsportsClient.class);
+        BetService betService = mock(BetService.class);
+        WatchPartyManager manager = mock(WatchPartyManager.class);
+        LeaderElectionService leaderElection = mock(LeaderElectionService.class);
+        LiveMatchMonitorService service = new LiveMatchMonitorService(client, betService, manager, leaderElection);
+
+        WatchParty watchParty = new WatchParty("Follower WP", LocalDateTime.now().plusDays(1), "LoL");
+        watchParty.setCreator(new User("admin", true));
+        when(manager.getWatchPartyByName("Follower WP")).thenReturn(watchParty);
+        when(leaderElection.isLeader(LeaderElectionService.AUTO_WATCH_PARTY_JOB)).thenReturn(false);
+
+        service.startMonitoring(watchParty, "game-follower");
+        service.pollAndResolveOnce("game-follower");
+
+        verify(client, never()).getWindow("game-follower");
+        // Released: the leader's next cycle starts its own monitor for this game
+        assertNull(watchParty.getCurrentRiotGameId());
     }
 }
@@ -0,0 +1,91 @@
+package backend.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BetPoolSnapshotTest {
+
+    private User creator;
+    private WatchParty watchParty;
+    private DiscreteChoiceBet bet;
+
+    @BeforeEach
+    void setUp() {
+        creator = new User("creator", false);
+        watchParty = WatchParty.createAutoWatchParty(creator, "T1", AutoType.TEAM);
+        bet = new DiscreteChoiceBet("Qui gagne ?", creator, watchParty,
+                LocalDateTime.now().plusMinutes(5), List.of("T1", "G2", "FNC"));
+    }
+
+    @Test
+    void votesShouldUpdatePotAndOddsIncrementally() {
+        User alice = player("alice");
+        User bob = player("bob");
+        User carol = player("carol");
+        bet.vote(alice, "T1", 30);
+        bet.vote(bob, "T1", 10);
+        bet.vote(carol, "G2", 60);
+
+        BetPoolSnapshot pool = bet.getPoolSnapshot();
+
+        assertEquals(100, pool.totalPot());
+        assertEquals(3, pool.participants());
+        assertEquals(new BetPoolSnapshot.ChoicePool("T1", 40, 2, 2.5), pool.choices().get(0));
+        assertEquals(new BetPoolSnapshot.ChoicePool("G2", 60, 1, 100.0 / 60), pool.choices().get(1));
+        assertNull(pool.choices().get(2).odds());
+        assertEquals(2, bet.getVoteDistribution().get("T1"));
+        assertEquals(0, bet.getVoteDistribution().get("FNC"));
+    }
+
+    @Test
+    void ticketAdjustmentsShouldMoveStakesBetweenChoices() {
+        User alice = player("alice");
+        User bob = player("bob");
+        bet.vote(alice, "T1", 30);
+        bet.vote(bob, "G2", 20);
+        bet.endVoting();
+
+        bet.modifyChoice(alice, "FNC");
+        bet.adjustBetPoints(bob, 50);
+
+        BetPoolSnapshot pool = bet.getPoolSnapshot();
+        assertEquals(80, pool.totalPot());
+        assertEquals(0, pool.choices().get(0).stake());
+        assertEquals(50, pool.choices().get(1).stake());
+        assertEquals(30, pool.choices().get(2).stake());
+        assertEquals(1, pool.choices().get(2).voters());
+
+        bet.adjustBetPoints(bob, 0);
+        pool = bet.getPoolSnapshot();
+        assertEquals(30, pool.totalPot());
+        assertEquals(0, pool.choices().get(1).voters());
+    }
+
+    @Test
+    void restoredVotesAndCancellationShouldKeepCountersConsistent() {
+        User alice = player("alice");
+        bet.restoreVote(alice, "G2", 40);
+        bet.restoreVote(alice, "T1", 25);
+
+        BetPoolSnapshot pool = bet.getPoolSnapshot();
+        assertEquals(25, pool.totalPot());
+        assertEquals(25, pool.choices().get(0).stake());
+        assertEquals(0, pool.choices().get(1).voters());
+
+        bet.cancel();
+        assertEquals(0, bet.getPoolSnapshot().totalPot());
+        assertEquals(0, bet.getPoolSnapshot().choices().get(0).voters());
+    }
+
+    private User player(String name) {
+        User user = new User(name, false);
+        user.setPointsForWatchParty(watchParty.getName(), 200);
+        return user;
+    }
+}
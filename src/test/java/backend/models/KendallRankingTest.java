@@ -0,0 +1,77 @@
+package backend.models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class KendallRankingTest {
+
+    private final Random random = new Random(7);
+
+    @Test
+    void mergeSortDistanceShouldMatchPairwiseCount() {
+        for (int n = 1; n <= 40; n++) {
+            int[] reference = shuffled(n);
+            int[] referencePositions = KendallRanking.positionsOf(reference);
+            for (int trial = 0; trial < 20; trial++) {
+                int[] ranking = shuffled(n);
+                assertEquals(pairwiseDistance(ranking, referencePositions),
+                        KendallRanking.distance(ranking, referencePositions));
+            }
+        }
+    }
+
+    @Test
+    void parallelDistancesShouldMatchSequentialOnes() {
+        int voters = KendallRanking.PARALLEL_THRESHOLD * 3 + 17;
+        int[][] rankings = new int[voters][];
+        for (int i = 0; i < voters; i++) {
+            rankings[i] = shuffled(8);
+        }
+        int[] referencePositions = KendallRanking.positionsOf(shuffled(8));
+
+        int[] distances = KendallRanking.distances(rankings, referencePositions);
+
+        for (int i = 0; i < voters; i++) {
+            assertEquals(pairwiseDistance(rankings[i], referencePositions), distances[i]);
+        }
+    }
+
+    @Test
+    void selectionShouldKeepClosestInArrivalOrderOnTies() {
+        int[] distances = {3, 0, 2, 0, 5, 2, 2, 1};
+
+        // 0 (idx 1, 3), 1 (idx 7), puis le premier arrivé des 2
+        assertArrayEquals(new int[] {1, 3, 7, 2}, KendallRanking.selectClosest(distances, 4, 6));
+        assertArrayEquals(new int[] {1, 3, 7, 2, 5, 6, 0, 4}, KendallRanking.selectClosest(distances, 8, 6));
+    }
+
+    private int[] shuffled(int n) {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        return permutation;
+    }
+
+    private static int pairwiseDistance(int[] ranking, int[] referencePositions) {
+        int inversions = 0;
+        for (int i = 0; i < ranking.length; i++) {
+            for (int j = i + 1; j < ranking.length; j++) {
+                if (referencePositions[ranking[i]] > referencePositions[ranking[j]]) {
+                    inversions++;
+                }
+            }
+        }
+        return inversions;
+    }
+}
@@ -0,0 +1,72 @@
+package backend.models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ProximitySelectionTest {
+
+    private static final double TOLERANCE = 0.0001;
+
+    private final Random random = new Random(11);
+
+    @Test
+    void selectionShouldMatchStableSortOfAllVotes() {
+        for (int trial = 0; trial < 200; trial++) {
+            int voters = 1 + random.nextInt(300);
+            double[] distances = new double[voters];
+            for (int i = 0; i < voters; i++) {
+                // Beaucoup d'égalités, comme des prédictions entières
+                distances[i] = random.nextInt(20);
+            }
+            int count = (int) Math.ceil(voters * 0.30);
+
+            int[] expected = IntStream.range(0, voters).boxed()
+                    .sorted(Comparator.comparingDouble(i -> distances[i]))
+                    .limit(count)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            assertArrayEquals(expected, ProximitySelection.selectClosest(distances, count));
+        }
+    }
+
+    @Test
+    void singlePassShouldFindMaxAndExactMatchesInParallel() {
+        int voters = ProximitySelection.PARALLEL_THRESHOLD * 4 + 3;
+        double[] predictions = new double[voters];
+        for (int i = 0; i < voters; i++) {
+            predictions[i] = random.nextInt(60);
+        }
+        predictions[voters - 1] = 500.0;
+
+        ProximitySelection.Distances distances = ProximitySelection.distances(predictions, 17.0, TOLERANCE);
+
+        long exact = IntStream.range(0, voters).filter(i -> predictions[i] == 17.0).count();
+        assertEquals(exact, distances.exactMatches());
+        assertEquals(483.0, distances.max());
+        int[] matches = ProximitySelection.exactMatches(distances, TOLERANCE);
+        assertEquals(exact, matches.length);
+        for (int i = 1; i < matches.length; i++) {
+            assertTrue(matches[i - 1] < matches[i]);
+        }
+    }
+
+    @Test
+    void kthSmallestShouldMatchSortedOrder() {
+        double[] values = random.doubles(1_000, 0, 100).toArray();
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (int k : new int[] {0, 1, 299, 500, 999}) {
+            assertEquals(sorted[k], ProximitySelection.kthSmallest(values.clone(), k));
+        }
+    }
+}
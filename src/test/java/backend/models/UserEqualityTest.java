@@ -0,0 +1,49 @@
+package backend.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class UserEqualityTest {
+
+    @Test
+    void usersShouldHashByCaseInsensitiveName() {
+        User alice = new User("Alice", false);
+        User sameAlice = new User("ALICE", false);
+        Map<User, Integer> stakes = new HashMap<>();
+        stakes.put(alice, 50);
+
+        assertEquals(alice, sameAlice);
+        assertEquals(alice.hashCode(), sameAlice.hashCode());
+        assertEquals(50, stakes.get(sameAlice));
+
+        sameAlice.setName("carol");
+        assertNotEquals(alice, sameAlice);
+        assertEquals(new User("Carol", false).hashCode(), sameAlice.hashCode());
+    }
+
+    @Test
+    void persistedAndUnsavedInstancesShouldFollowTheSameNameRule() {
+        User persisted = spy(new User("alice", false));
+        when(persisted.getId()).thenReturn(7L);
+        User unsaved = new User("Alice", false);
+        User stale = spy(new User("alice", false));
+        when(stale.getId()).thenReturn(7L);
+        stale.setName("alice-old");
+
+        assertEquals(persisted, unsaved);
+        assertEquals(persisted.hashCode(), unsaved.hashCode());
+        assertNotEquals(persisted, stale);
+        Set<User> members = new HashSet<>(Set.of(persisted));
+        assertTrue(members.contains(unsaved));
+    }
+}
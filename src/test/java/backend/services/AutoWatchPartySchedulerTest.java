@@ -1,11 +1,15 @@
 package backend.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +23,7 @@ import backend.models.Match;
 import backend.models.MatchState;
 import backend.models.User;
 import backend.models.WatchParty;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class AutoWatchPartySchedulerTest {
 
@@ -43,7 +48,8 @@ class AutoWatchPartySchedulerTest {
                 "BO1");
         liveMatch.setStatus(MatchState.IN_PROGRESS);
 
-        when(apiClient.getNextTeamMatch("T1")).thenReturn(liveMatch);
+        when(apiClient.fetchScheduleForTeam(eq("T1"), any()))
+                .thenReturn(new LeaguepediaClient.Listing(List.of(liveMatch), true, null));
         when(lolClient.findLiveEventId(liveMatch)).thenReturn(Optional.of("riot-match"));
         when(lolClient.getFirstGameId("riot-match")).thenReturn(Optional.of("riot-game-1"));
 
@@ -79,4 +85,83 @@ class AutoWatchPartySchedulerTest {
         assertTrue(report.contains("T1 vs G2"));
         assertTrue(report.contains("MSI 2026"));
     }
+
+    @Test
+    void forceUpdateShouldKeepTrackedMatchUntilUpstreamMatchChanges() throws Exception {
+        WatchPartyManager manager = new WatchPartyManager();
+        LeaguepediaClient apiClient = mock(LeaguepediaClient.class);
+        AutoWatchPartyScheduler scheduler = new AutoWatchPartyScheduler(manager, apiClient, null, null);
+
+        WatchParty watchParty = WatchParty.createAutoWatchParty(new User("alice", false), "T1", AutoType.TEAM);
+        manager.addAutoWatchParty(watchParty);
+
+        LocalDateTime start = LocalDateTime.now().plusHours(3).withNano(0);
+        Match first = new Match("lp-1", "T1", "G2", start, "MSI 2026", "", "BO3");
+        Match refetched = new Match("lp-1", "T1", "G2", start, "MSI 2026", "", "BO3");
+        Match restreamed = new Match("lp-1", "T1", "G2", start, "MSI 2026", "twitch.tv/lck", "BO3");
+
+        // First sync is a full listing, the next ones are deltas
+        when(apiClient.fetchScheduleForTeam(eq("T1"), any()))
+                .thenReturn(new LeaguepediaClient.Listing(List.of(first), true, null));
+        when(apiClient.fetchChangesForTeam(eq("T1"), any()))
+                .thenReturn(new LeaguepediaClient.Listing(List.of(refetched), true, null),
+                        new LeaguepediaClient.Listing(List.of(restreamed), true, null));
+
+        scheduler.forceUpdate();
+        scheduler.forceUpdate();
+        assertSame(first, watchParty.getAutoConfig().getCurrentMatch());
+
+        scheduler.forceUpdate();
+        assertSame(restreamed, watchParty.getAutoConfig().getCurrentMatch());
+        assertEquals(start, watchParty.getDate());
+    }
+
+    @Test
+    void forceUpdateShouldRecordCycleMetricsAndUpstreamErrors() throws Exception {
+        WatchPartyManager manager = new WatchPartyManager();
+        LeaguepediaClient apiClient = mock(LeaguepediaClient.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AutoWatchPartyScheduler scheduler = new AutoWatchPartyScheduler(manager, apiClient, null, null, registry);
+
+        manager.addAutoWatchParty(WatchParty.createAutoWatchParty(new User("alice", false), "T1", AutoType.TEAM));
+        when(apiClient.fetchScheduleForTeam(eq("T1"), any())).thenThrow(new IOException("HTTP 503"));
+
+        Thread.sleep(50);
+        scheduler.forceUpdate();
+
+        assertEquals(1L, registry.get(AutoWatchPartyScheduler.CYCLE_TIMER).timer().count());
+        assertEquals(1L, registry.get(AutoWatchPartyScheduler.UPSTREAM_TIMER)
+                .tag("call", "leaguepedia.sync").timer().count());
+        assertEquals(1.0, registry.get(AutoWatchPartyScheduler.ERRORS_COUNTER)
+                .tag("stage", "upstream").tag("exception", "IOException").counter().count());
+        // An upstream outage is not progress: the party update fails and the last success is not reset
+        assertEquals(1L, registry.get(AutoWatchPartyScheduler.PARTY_UPDATE_TIMER)
+                .tag("outcome", "error").timer().count());
+        assertTrue(registry.get(AutoWatchPartyScheduler.LAST_SUCCESS_AGE_GAUGE).gauge().value() >= 0.05);
+    }
+
+    @Test
+    void cycleWhereEveryUpdateFailedShouldNotResetLastSuccess() throws Exception {
+        WatchPartyManager manager = new WatchPartyManager();
+        LeaguepediaClient apiClient = mock(LeaguepediaClient.class);
+        LolEsportsClient lolClient = mock(LolEsportsClient.class);
+        LiveMatchMonitorService liveMonitor = mock(LiveMatchMonitorService.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AutoWatchPartyScheduler scheduler = new AutoWatchPartyScheduler(manager, apiClient, lolClient, liveMonitor, registry);
+
+        manager.addAutoWatchParty(WatchParty.createAutoWatchParty(new User("alice", false), "T1", AutoType.TEAM));
+        Match liveMatch = new Match("lp-match", "T1", "G2", LocalDateTime.now().minusMinutes(20), "MSI 2026", "", "BO1");
+        liveMatch.setStatus(MatchState.IN_PROGRESS);
+        when(apiClient.fetchScheduleForTeam(eq("T1"), any()))
+                .thenReturn(new LeaguepediaClient.Listing(List.of(liveMatch), true, null));
+        when(lolClient.findLiveEventId(liveMatch)).thenThrow(new IllegalStateException("boom"));
+
+        Thread.sleep(50);
+        scheduler.forceUpdate();
+
+        assertEquals(1L, registry.get(AutoWatchPartyScheduler.PARTY_UPDATE_TIMER)
+                .tag("outcome", "error").timer().count());
+        // Still counted from creation: the failed cycle did not reset it
+        assertTrue(registry.get(AutoWatchPartyScheduler.LAST_SUCCESS_AGE_GAUGE).gauge().value() >= 0.05);
+    }
 }
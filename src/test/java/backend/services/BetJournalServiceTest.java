@@ -0,0 +1,137 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import backend.models.Bet;
+import backend.models.NumericValueBet;
+import backend.models.User;
+import backend.models.WatchParty;
+
+class BetJournalServiceTest {
+
+    private static final String WP = "Journal WP";
+
+    private BetJournalService journal;
+    private VotingDeadlineScheduler votingDeadlines;
+    private UserService userService;
+    private final List<RankingService> rankings = new ArrayList<>();
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        journal = new BetJournalService();
+        votingDeadlines = new VotingDeadlineScheduler();
+        userService = new UserService();
+        admin = userService.getUser("admin");
+        userService.getUser("alice").setPointsForWatchParty(WP, 200);
+        userService.getUser("bob").setPointsForWatchParty(WP, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rankings.forEach(RankingService::close);
+        votingDeadlines.shutdown();
+        journal.shutdown();
+    }
+
+    @Test
+    void pendingBetShouldBeRebuiltAfterRestartWithoutDebitingAgain() {
+        BetService before = startNode();
+        before.createNumericValueBet(WP, "admin", "Combien de kills?", true, 0.0, 60.0, 10);
+        before.vote(WP, "alice", 12, 50);
+        before.vote(WP, "bob", 20, 30);
+        before.endVoting(WP, "admin");
+        Bet original = before.getActiveBet(WP);
+
+        BetService after = startNode();
+        after.recoverActiveBets();
+
+        Bet rebuilt = after.getActiveBet(WP);
+        assertNotNull(rebuilt);
+        assertNotSame(original, rebuilt);
+        assertEquals(original.getBetId(), rebuilt.getBetId());
+        assertEquals(Bet.State.PENDING, rebuilt.getState());
+        assertEquals(original.getUserBets(), rebuilt.getUserBets());
+        assertEquals(12.0, ((NumericValueBet) rebuilt).getUserValues().get(userService.getUser("alice")));
+        assertEquals(150, userService.getUser("alice").getPointsForWatchParty(WP));
+        assertEquals(170, userService.getUser("bob").getPointsForWatchParty(WP));
+    }
+
+    @Test
+    void betWithLongHistoryShouldBeRebuiltFromSnapshotAndTail() {
+        BetService before = startNode();
+        before.createDiscreteChoiceBet(WP, "admin", "Qui gagne?", List.of("T1", "GenG"), 10);
+        List<String> voters = new ArrayList<>();
+        // Plus d'événements que l'intervalle de snapshot: reconstruction = snapshot + queue
+        for (int i = 0; i < BetJournalService.SNAPSHOT_INTERVAL + 20; i++) {
+            String name = "voter-" + i;
+            userService.getUser(name).setPointsForWatchParty(WP, 200);
+            before.vote(WP, name, i % 2 == 0 ? "T1" : "GenG", 10);
+            voters.add(name);
+        }
+
+        BetService after = startNode();
+        after.recoverActiveBets();
+
+        Bet rebuilt = after.getActiveBet(WP);
+        assertEquals(Bet.State.VOTING, rebuilt.getState());
+        List<String> rebuiltOrder = rebuilt.getVotersInOrder().stream().map(User::getName).toList();
+        // L'ordre d'arrivée départage les égalités: il doit survivre au redémarrage
+        assertEquals(voters, rebuiltOrder);
+    }
+
+    @Test
+    void finishedBetShouldNotBeRebuilt() {
+        BetService before = startNode();
+        before.createDiscreteChoiceBet(WP, "admin", "Qui gagne?", List.of("T1", "GenG"), 10);
+        before.vote(WP, "alice", "T1", 50);
+        before.cancelBet(WP, "admin");
+
+        BetService after = startNode();
+        after.recoverActiveBets();
+
+        assertNull(after.getActiveBet(WP));
+    }
+
+    @Test
+    void commandsWhoseJournalWriteFailsShouldNotBeReportedAsAccepted() {
+        PointsLedgerService failingLedger = new PointsLedgerService() {
+            @Override
+            public List<Movement> writePending() {
+                throw new IllegalStateException("database unavailable");
+            }
+        };
+        journal.shutdown();
+        journal = new BetJournalService(null, null, userService, failingLedger, null);
+        BetService node = startNode();
+
+        assertEquals(BetService.NOT_DURABLE,
+                node.createDiscreteChoiceBet(WP, "admin", "Qui gagne?", List.of("T1", "GenG"), 10));
+        assertEquals(BetService.NOT_DURABLE, node.vote(WP, "alice", "T1", 50));
+    }
+
+    /**
+     * Un "nœud": watch parties et services neufs, mêmes journal et utilisateurs persistés.
+     */
+    private BetService startNode() {
+        WatchPartyManager manager = new WatchPartyManager();
+        WatchParty wp = new WatchParty(WP, LocalDateTime.now().plusDays(1), "LoL");
+        wp.setCreator(admin);
+        manager.addWatchParty(wp);
+        RankingService rankingService = new RankingService(userService, manager);
+        rankings.add(rankingService);
+        return new BetService(manager, userService, rankingService,
+                new BetSettlementService(), journal, votingDeadlines);
+    }
+}
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -24,6 +25,8 @@ class BetServiceAutoResolveTest {
     private WatchPartyManager manager;
     private UserService userService;
     private RankingService rankingService;
+    private BetJournalService journal;
+    private VotingDeadlineScheduler votingDeadlines;
     private BetService betService;
     private WatchParty watchParty;
     private User admin;
@@ -35,7 +38,10 @@ class BetServiceAutoResolveTest {
         manager = new WatchPartyManager();
         userService = new UserService();
         rankingService = new RankingService(userService, manager);
-        betService = new BetService(manager, userService, rankingService, new BetSettlementService());
+        journal = new BetJournalService();
+        votingDeadlines = new VotingDeadlineScheduler();
+        betService = new BetService(manager, userService, rankingService, new BetSettlementService(),
+                journal, votingDeadlines);
 
         admin = userService.getUser("admin");
         alice = userService.getUser("alice");
@@ -49,6 +55,13 @@ class BetServiceAutoResolveTest {
         manager.addWatchParty(watchParty);
     }
 
+    @AfterEach
+    void tearDown() {
+        votingDeadlines.shutdown();
+        journal.shutdown();
+        rankingService.close();
+    }
+
     @Test
     void tryAutoResolveLiveBetShouldResolveAndGrantTickets() {
         betService.createDiscreteChoiceBet(
@@ -0,0 +1,64 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import backend.repositories.SchedulerLeaseRepository;
+
+class LeaderElectionServiceTest {
+
+    private static final String JOB = LeaderElectionService.AUTO_WATCH_PARTY_JOB;
+
+    @Test
+    void singleNodeShouldAlwaysLead() {
+        LeaderElectionService election = LeaderElectionService.singleNode();
+
+        assertTrue(election.isLeader(JOB));
+        assertTrue(election.isLeader(LeaderElectionService.REWARD_JOB));
+    }
+
+    @Test
+    void firstCallShouldTakeTheLeaseThenAnswerLocally() {
+        SchedulerLeaseRepository repository = mock(SchedulerLeaseRepository.class);
+        LeaderElectionService election = new LeaderElectionService(repository);
+        when(repository.tryAcquire(eq(JOB), anyString(), anyLong())).thenReturn(1);
+
+        assertTrue(election.isLeader(JOB));
+        assertTrue(election.isLeader(JOB));
+
+        verify(repository, times(1)).tryAcquire(JOB, election.getNodeId(), LeaderElectionService.LEASE_TTL_SECONDS);
+    }
+
+    @Test
+    void leaseHeldByAnotherNodeShouldMakeThisNodeFollower() {
+        SchedulerLeaseRepository repository = mock(SchedulerLeaseRepository.class);
+        LeaderElectionService election = new LeaderElectionService(repository);
+        when(repository.tryAcquire(eq(JOB), anyString(), anyLong())).thenReturn(0);
+
+        assertFalse(election.isLeader(JOB));
+        assertFalse(election.isLeader(JOB));
+
+        election.release(JOB);
+        verify(repository).release(JOB, election.getNodeId());
+    }
+
+    @Test
+    void databaseFailureShouldNotBeTakenAsLeadership() {
+        SchedulerLeaseRepository repository = mock(SchedulerLeaseRepository.class);
+        LeaderElectionService election = new LeaderElectionService(repository);
+        when(repository.tryAcquire(eq(JOB), anyString(), anyLong())).thenThrow(new IllegalStateException("db down"));
+
+        assertFalse(election.isLeader(JOB));
+        verify(repository, never()).release(anyString(), anyString());
+    }
+}
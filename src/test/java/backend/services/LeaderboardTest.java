@@ -0,0 +1,73 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import backend.models.RankingEntry;
+
+class LeaderboardTest {
+
+    @Test
+    void tiesShouldShareCompetitionRanks() {
+        Leaderboard board = new Leaderboard();
+        board.put("carol", 150);
+        board.put("alice", 300);
+        board.put("bob", 150);
+        board.put("dave", 10);
+
+        assertEquals(List.of(
+                new RankingEntry(1, "alice", 300),
+                new RankingEntry(2, "bob", 150),
+                new RankingEntry(2, "carol", 150),
+                new RankingEntry(4, "dave", 10)), board.top(10));
+        assertEquals(2, board.rankOf("carol"));
+        assertEquals(5, board.rankOf("unknown"));
+        assertEquals(List.of(
+                new RankingEntry(2, "carol", 150),
+                new RankingEntry(4, "dave", 10)), board.around("dave", 1));
+    }
+
+    @Test
+    void updatesShouldMatchAFullSort() {
+        Leaderboard board = new Leaderboard();
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            String name = "user-" + random.nextInt(400);
+            if (random.nextInt(10) == 0) {
+                board.remove(name);
+                expected.remove(name);
+            } else {
+                int score = random.nextInt(50);
+                board.put(name, score);
+                expected.put(name, score);
+            }
+        }
+
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        assertEquals(sorted.size(), board.size());
+        assertEquals(new ArrayList<>(sorted.stream().map(Map.Entry::getKey).toList()),
+                new ArrayList<>(board.toMap().keySet()));
+        List<RankingEntry> page = board.range(100, 50);
+        for (int i = 0; i < page.size(); i++) {
+            Map.Entry<String, Integer> entry = sorted.get(100 + i);
+            assertEquals(entry.getKey(), page.get(i).name());
+            assertEquals(100 + i, board.indexOf(entry.getKey()));
+            long higher = expected.values().stream().filter(score -> score > entry.getValue()).count();
+            assertEquals(higher + 1, page.get(i).rank());
+        }
+        assertTrue(board.range(sorted.size(), 10).isEmpty());
+    }
+}
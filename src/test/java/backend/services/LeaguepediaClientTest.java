@@ -0,0 +1,42 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class LeaguepediaClientTest {
+
+    private static final LocalDateTime EXPECTED = LocalDateTime.of(2026, 5, 14, 17, 30, 0);
+
+    @Test
+    void parseDateTimeShouldAcceptCargoAndIsoShapes() {
+        assertEquals(EXPECTED, LeaguepediaClient.parseDateTime("2026-05-14 17:30:00"));
+        assertEquals(EXPECTED, LeaguepediaClient.parseDateTime(" 2026-05-14T17:30:00 "));
+        assertEquals(EXPECTED, LeaguepediaClient.parseDateTime("2026-05-14T17:30:00Z"));
+        assertEquals(EXPECTED, LeaguepediaClient.parseDateTime("2026-05-14T17:30"));
+        assertEquals(EXPECTED, LeaguepediaClient.parseDateTime("2026-05-14T17:30:00+02:00"));
+        assertEquals(EXPECTED.withNano(500_000_000), LeaguepediaClient.parseDateTime("2026-05-14T17:30:00.5"));
+    }
+
+    @Test
+    void parseDateTimeShouldAcceptEpochSeconds() {
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0), LeaguepediaClient.parseDateTime("1767225600"));
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0), LeaguepediaClient.parseDateTime("+1767225600"));
+        assertEquals(LocalDateTime.of(1969, 12, 31, 23, 0), LeaguepediaClient.parseDateTime("-3600"));
+    }
+
+    @Test
+    void parseDateTimeShouldReturnNullForUnparseableValues() {
+        assertNull(LeaguepediaClient.parseDateTime(null));
+        assertNull(LeaguepediaClient.parseDateTime(""));
+        assertNull(LeaguepediaClient.parseDateTime("TBD"));
+        assertNull(LeaguepediaClient.parseDateTime("-"));
+        assertNull(LeaguepediaClient.parseDateTime("2026-13-14 17:30:00"));
+        assertNull(LeaguepediaClient.parseDateTime("2026-05-14 17:30:00.000"));
+        assertNull(LeaguepediaClient.parseDateTime("2026/05/14 17:30:00"));
+        assertNull(LeaguepediaClient.parseDateTime("99999999999999999999"));
+    }
+}
@@ -0,0 +1,181 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import backend.models.AutoConfig;
+import backend.models.AutoType;
+import backend.models.Match;
+
+class MatchScheduleServiceTest {
+
+    /** Serves queued responses and records the watermark passed on each call. */
+    private static class FakeLeaguepediaClient extends LeaguepediaClient {
+        final Deque<Object> responses = new ArrayDeque<>();
+        final List<LocalDateTime> sinceCalls = new ArrayList<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Match> fetchMatchesForTeam(String teamName, LocalDateTime modifiedSince) throws IOException {
+            sinceCalls.add(modifiedSince);
+            Object next = responses.poll();
+            if (next instanceof IOException) {
+                throw (IOException) next;
+            }
+            return next == null ? List.of() : (List<Match>) next;
+        }
+
+        @Override
+        public Listing fetchChangesForTeam(String teamName, LocalDateTime modifiedSince) throws IOException {
+            if (responses.peek() instanceof Listing) {
+                sinceCalls.add(modifiedSince);
+                return (Listing) responses.poll();
+            }
+            return new Listing(fetchMatchesForTeam(teamName, modifiedSince), true, null);
+        }
+
+        @Override
+        public Listing fetchScheduleForTeam(String teamName, LocalDateTime startingFrom) throws IOException {
+            Object next = responses.peek();
+            if (next instanceof Listing) {
+                sinceCalls.add(null);
+                return (Listing) responses.poll();
+            }
+            return new Listing(fetchMatchesForTeam(teamName, null), true, null);
+        }
+    }
+
+    private final LocalDateTime start = LocalDateTime.now().plusHours(3).withNano(0);
+    private final AutoConfig config = new AutoConfig(AutoType.TEAM, "T1");
+
+    @Test
+    void firstSyncIsFullThenOnlyChangesSinceWatermarkAreFetched() throws Exception {
+        FakeLeaguepediaClient client = new FakeLeaguepediaClient();
+        MatchScheduleService schedule = new MatchScheduleService(client);
+        Match first = new Match("lp-1", "T1", "G2", start, "MSI 2026", "", "BO3");
+        client.responses.add(List.of(first));
+        client.responses.add(List.of(new Match("lp-1", "T1", "G2", start, "MSI 2026", "", "BO3")));
+
+        schedule.sync(config);
+        schedule.sync(config);
+
+        assertNull(client.sinceCalls.get(0));
+        assertNotNull(client.sinceCalls.get(1));
+        // Unchanged upstream row: the stored instance is kept
+        assertSame(first, schedule.getNextMatch(config));
+    }
+
+    @Test
+    void nextMatchShouldBeEarliestNotFinishedMatchOfTarget() throws Exception {
+        FakeLeaguepediaClient client = new FakeLeaguepediaClient();
+        MatchScheduleService schedule = new MatchScheduleService(client);
+        Match over = new Match("lp-0", "T1", "FNC", LocalDateTime.now().minusHours(5), "MSI 2026", "", "BO1");
+        Match live = new Match("lp-1", "G2", "T1", LocalDateTime.now().minusMinutes(20), "MSI 2026", "", "BO3");
+        Match later = new Match("lp-2", "T1", "BLG", start, "MSI 2026", "", "BO3");
+        Match other = new Match("lp-3", "GEN", "HLE", LocalDateTime.now().minusMinutes(30), "LCK", "", "BO3");
+        client.responses.add(List.of(later, other, over, live));
+
+        schedule.sync(config);
+
+        assertSame(live, schedule.getNextMatch(config));
+    }
+
+    @Test
+    void fullSyncShouldDropMatchesNoLongerListedUpstream() throws Exception {
+        FakeLeaguepediaClient client = new FakeLeaguepediaClient();
+        // Zero interval: every sync is a full one
+        MatchScheduleService schedule = new MatchScheduleService(null, null, client, Duration.ZERO);
+        client.responses.add(List.of(new Match("lp-1", "T1", "G2", start, "MSI 2026", "", "BO3")));
+        schedule.sync(config);
+
+        Match rescheduled = new Match("lp-1", "T1", "G2", start.plusDays(1), "MSI 2026", "", "BO3");
+        client.responses.add(List.of(rescheduled));
+        schedule.sync(config);
+
+        assertNull(client.sinceCalls.get(1));
+        assertSame(rescheduled, schedule.getNextMatch(config));
+    }
+
+    @Test
+    void truncatedListingShouldOnlyPruneTheWindowItCovers() throws Exception {
+        FakeLeaguepediaClient client = new FakeLeaguepediaClient();
+        MatchScheduleService schedule = new MatchScheduleService(null, null, client, Duration.ZERO);
+        Match cancelled = new Match("lp-1", "T1", "G2", start, "MSI 2026", "", "BO3");
+        Match kept = new Match("lp-2", "T1", "BLG", start.plusDays(2), "MSI 2026", "", "BO3");
+        client.responses.add(List.of(cancelled, kept));
+        schedule.sync(config);
+
+        // Row limit reached on a match before 'kept': only the earlier window is known to be listed
+        Match listed = new Match("lp-3", "T1", "FNC", start.plusDays(1), "MSI 2026", "", "BO3");
+        client.responses.add(new LeaguepediaClient.Listing(List.of(listed), false, listed.getScheduledTime()));
+        schedule.sync(config);
+
+        assertSame(listed, schedule.getNextMatch(config));
+
+        // 'kept' survived the truncated listing: the stored instance is still the one served
+        Match keptAgain = new Match("lp-2", "T1", "BLG", start.plusDays(2), "MSI 2026", "", "BO3");
+        client.responses.add(new LeaguepediaClient.Listing(List.of(keptAgain), true, null));
+        schedule.sync(config);
+        assertSame(kept, schedule.getNextMatch(config));
+    }
+
+    @Test
+    void truncatedDeltaShouldResumeFromItsLastEditBeforeMovingTheWatermark() throws Exception {
+        FakeLeaguepediaClient client = new FakeLeaguepediaClient();
+        MatchScheduleService schedule = new MatchScheduleService(client);
+        client.responses.add(List.of(new Match("lp-1", "T1", "G2", start, "MSI 2026", "", "BO3")));
+        schedule.sync(config);
+
+        // Row limit reached: edits after the last row read are not in yet
+        LocalDateTime lastEditRead = LocalDateTime.now(ZoneOffset.UTC).minusDays(1).withNano(0);
+        Match edited = new Match("lp-2", "T1", "BLG", start.plusDays(1), "MSI 2026", "", "BO3");
+        client.responses.add(new LeaguepediaClient.Listing(List.of(edited), false, lastEditRead));
+        schedule.sync(config);
+        schedule.sync(config);
+        schedule.sync(config);
+
+        assertEquals(lastEditRead, client.sinceCalls.get(2));
+        // The resumed delta reached the end: back to the watermark
+        assertTrue(client.sinceCalls.get(3).isAfter(lastEditRead));
+    }
+
+    @Test
+    void upstreamIdShouldKeepARescheduledMatchOnOneRow() {
+        Match planned = Match.withUpstreamId("MSI/2026_Week1_1", "T1", "G2", start, "MSI 2026", "", "BO3");
+        Match moved = Match.withUpstreamId("MSI/2026_Week1_1", "T1", "G2", start.plusHours(2), "MSI 2026", "", "BO3");
+
+        assertEquals(planned.getKey(), moved.getKey());
+        assertFalse(planned.hasSameContent(moved));
+    }
+
+    @Test
+    void failedSyncShouldKeepServingLocalSchedule() throws Exception {
+        FakeLeaguepediaClient client = new FakeLeaguepediaClient();
+        MatchScheduleService schedule = new MatchScheduleService(client);
+        Match first = new Match("lp-1", "T1", "G2", start, "MSI 2026", "", "BO3");
+        client.responses.add(List.of(first));
+        client.responses.add(new IOException("Cargo query failed with HTTP 503"));
+
+        schedule.sync(config);
+        assertThrows(IOException.class, () -> schedule.sync(config));
+
+        assertSame(first, schedule.getNextMatch(config));
+        assertEquals(2, client.sinceCalls.size());
+    }
+}
@@ -0,0 +1,130 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import backend.models.PointsDelta;
+import backend.models.User;
+import backend.models.WatchPartyPoints;
+import backend.repositories.PointsDeltaRepository;
+import backend.repositories.WatchPartyPointsRepository;
+
+class PointsLedgerServiceTest {
+
+    private WatchPartyPointsRepository pointsRepository;
+    private PointsDeltaRepository deltaRepository;
+    private PointsLedgerService ledger;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        pointsRepository = mock(WatchPartyPointsRepository.class);
+        deltaRepository = mock(PointsDeltaRepository.class);
+        UserEventPublisher events = new UserEventPublisher();
+        ledger = new PointsLedgerService(pointsRepository, deltaRepository, events, true);
+        alice = events.attach(spy(new User("alice", false)));
+        when(alice.getId()).thenReturn(7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledger.close();
+    }
+
+    @Test
+    void movementsShouldBeWrittenAsOrderedAtomicDeltas() {
+        alice.setPointsForWatchParty("wp", 200);
+        assertTrue(alice.tryDebitPointsForWatchParty("wp", 50));
+        assertFalse(alice.tryDebitPointsForWatchParty("wp", 500));
+        alice.addPointsForWatchParty("wp", 80);
+
+        assertEquals(3, ledger.writePending().size());
+
+        InOrder order = inOrder(pointsRepository);
+        order.verify(pointsRepository).setPoints(7L, "wp", 200);
+        order.verify(pointsRepository).addPoints(7L, "wp", -50);
+        order.verify(pointsRepository).addPoints(7L, "wp", 80);
+        verify(deltaRepository).saveAll(anyList());
+        assertFalse(ledger.hasPending());
+    }
+
+    @Test
+    void failedBatchShouldBeRequeuedAheadOfNewMovements() {
+        alice.setPointsForWatchParty("wp", 200);
+        alice.addPointsForWatchParty("wp", -20);
+        List<PointsLedgerService.Movement> failed = ledger.writePending();
+        alice.addPointsForWatchParty("wp", 5);
+
+        ledger.requeue(failed);
+
+        List<Integer> amounts = ledger.writePending().stream().map(PointsLedgerService.Movement::amount).toList();
+        assertEquals(List.of(200, -20, 5), amounts);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void requeuedMovementsShouldBeAuditedAsNewRows() {
+        alice.addPointsForWatchParty("wp", 30);
+        List<PointsLedgerService.Movement> failed = ledger.writePending();
+        ledger.requeue(failed);
+        ledger.writePending();
+
+        ArgumentCaptor<List<PointsDelta>> rows = ArgumentCaptor.forClass(List.class);
+        verify(deltaRepository, times(2)).saveAll(rows.capture());
+        PointsDelta first = rows.getAllValues().get(0).get(0);
+        PointsDelta retried = rows.getAllValues().get(1).get(0);
+        assertNotSame(first, retried);
+        assertNull(retried.getId());
+        assertEquals(30, retried.getAmount());
+    }
+
+    @Test
+    void movementsOfUsersAttachedToAnotherPublisherShouldNotBeQueued() {
+        User stranger = new UserEventPublisher().attach(new User("stranger", false));
+
+        stranger.addPointsForWatchParty("wp", 30);
+
+        assertFalse(ledger.hasPending());
+    }
+
+    @Test
+    void balancesShouldBeLoadedInOneQueryForUsersWithoutThem() {
+        User bob = spy(new User("bob", false));
+        when(bob.getId()).thenReturn(8L);
+        User carol = spy(new User("carol", false));
+        when(carol.getId()).thenReturn(9L);
+        carol.loadPointsByWatchParty(Map.of("wp", 42));
+        WatchPartyPoints row = mock(WatchPartyPoints.class);
+        when(row.getUserId()).thenReturn(8L);
+        when(row.getWatchPartyName()).thenReturn("wp");
+        when(row.getPoints()).thenReturn(120);
+        when(pointsRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(row));
+
+        ledger.loadBalances(List.of(bob, carol));
+
+        verify(pointsRepository).findByUserIdIn(Set.of(8L));
+        assertEquals(120, bob.getPointsForWatchParty("wp"));
+        assertEquals(42, carol.getPointsForWatchParty("wp"));
+    }
+}
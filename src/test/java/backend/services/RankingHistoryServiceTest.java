@@ -0,0 +1,88 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import backend.models.RankingEntry;
+import backend.models.RankingHistoryPoint;
+import backend.models.User;
+import backend.models.WatchParty;
+
+class RankingHistoryServiceTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private UserService userService;
+    private RankingService rankingService;
+    private RankingHistoryService historyService;
+    private WatchParty party;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        WatchPartyManager manager = new WatchPartyManager();
+        userService = new UserService();
+        rankingService = new RankingService(userService, manager);
+        historyService = new RankingHistoryService(rankingService);
+        alice = userService.getUser("alice");
+        bob = userService.getUser("bob");
+
+        party = new WatchParty("History Ranking", LocalDateTime.now().plusDays(1), "LoL");
+        party.setCreator(userService.getUser("admin"));
+        party.join(alice);
+        party.join(bob);
+        manager.addWatchParty(party);
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyService.stop();
+        rankingService.close();
+    }
+
+    @Test
+    void monthlyTopShouldRankWhatWasGainedDuringTheMonth() {
+        alice.addPointsForWatchParty(party.getName(), 1000);
+        historyService.takeSnapshot(JANUARY.minusHours(1));
+
+        bob.addPointsForWatchParty(party.getName(), 300);
+        alice.addPointsForWatchParty(party.getName(), 100);
+        historyService.takeSnapshot(JANUARY.plusDays(10));
+        bob.addWinForWatchParty(party.getName());
+        historyService.takeSnapshot(JANUARY.plusMonths(1));
+
+        // alice reste devant au total, mais bob a gagné davantage en janvier
+        assertEquals(List.of(new RankingEntry(1, "bob", 300), new RankingEntry(2, "alice", 100)),
+                historyService.getMonthlyTop(RankingService.Metric.POINTS, YearMonth.of(2026, 1), 3));
+        assertEquals(List.of(new RankingEntry(1, "bob", 1)),
+                historyService.getMonthlyTop(RankingService.Metric.WINS, YearMonth.of(2026, 1), 3));
+        assertNull(historyService.getMonthlyTop(RankingService.Metric.POINTS, YearMonth.of(2025, 6), 3));
+    }
+
+    @Test
+    void replayingDeltasShouldRebuildEachSnapshot() {
+        historyService.takeSnapshot(JANUARY);
+        alice.addPointsForWatchParty(party.getName(), 50);
+        historyService.takeSnapshot(JANUARY.plusHours(1));
+        // Rien n'a bougé: aucune photo écrite, l'état précédent reste valable
+        historyService.takeSnapshot(JANUARY.plusHours(2));
+        party.leave(alice);
+        historyService.takeSnapshot(JANUARY.plusHours(3));
+
+        assertEquals(200, historyService.scoresAt(RankingService.Metric.POINTS, JANUARY.plusMinutes(30)).get("alice"));
+        assertEquals(250, historyService.scoresAt(RankingService.Metric.POINTS, JANUARY.plusHours(2)).get("alice"));
+        assertEquals(0, historyService.scoresAt(RankingService.Metric.POINTS, JANUARY.plusHours(3)).get("alice"));
+        assertEquals(List.of(new RankingHistoryPoint(JANUARY.plusHours(1), 1, 250),
+                        new RankingHistoryPoint(JANUARY.plusHours(3), 3, 0)),
+                historyService.getHistory(RankingService.Metric.POINTS, "alice", JANUARY.plusHours(1), JANUARY.plusDays(1)));
+    }
+}
@@ -0,0 +1,231 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import backend.models.RankingEntry;
+import backend.models.RankingNeighbourhood;
+import backend.models.RankingPage;
+import backend.models.RankingVersion;
+import backend.models.User;
+import backend.models.WatchParty;
+import backend.repositories.UserRepository;
+
+class RankingServiceTest {
+
+    private WatchPartyManager manager;
+    private UserService userService;
+    private RankingService rankingService;
+    private WatchParty publicParty;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        manager = new WatchPartyManager();
+        userService = new UserService();
+        rankingService = new RankingService(userService, manager);
+        alice = userService.getUser("alice");
+        bob = userService.getUser("bob");
+
+        publicParty = new WatchParty("Public Ranking", LocalDateTime.now().plusDays(1), "LoL");
+        publicParty.setCreator(userService.getUser("admin"));
+        publicParty.join(alice);
+        publicParty.join(bob);
+        manager.addWatchParty(publicParty);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rankingService.close();
+    }
+
+    @Test
+    void globalRankingShouldFollowScoreChangesWithoutRefresh() {
+        assertEquals(200, rankingService.getGlobalPublicPoints(false).get("alice"));
+
+        alice.addPointsForWatchParty(publicParty.getName(), 50);
+        bob.addWinForWatchParty(publicParty.getName());
+
+        assertEquals(new RankingEntry(1, "alice", 250), rankingService.getGlobalPublicRank(RankingService.Metric.POINTS, "alice"));
+        assertEquals(List.of(new RankingEntry(1, "bob", 1)), rankingService.getGlobalPublicTop(RankingService.Metric.WINS, 1));
+        assertEquals(rankingService.getGlobalPublicPoints(true), rankingService.getGlobalPublicPoints(false));
+    }
+
+    @Test
+    void cursorPagesShouldWalkTheRankingWithoutSkippingOrRepeating() {
+        for (int i = 0; i < 5; i++) {
+            User user = userService.getUser("player" + i);
+            publicParty.join(user);
+            user.setPointsForWatchParty(publicParty.getName(), 100 + i * 10);
+        }
+        String party = publicParty.getName();
+
+        RankingPage first = rankingService.getWatchPartyPage(party, RankingService.Metric.POINTS, 0, null, 4);
+        assertEquals(8, first.total());
+        assertEquals(List.of("admin", "alice", "bob", "player4"), first.entries().stream().map(RankingEntry::name).toList());
+
+        // bob passe devant tout le monde entre deux pages: la page suivante reprend après player4
+        bob.addPointsForWatchParty(party, 500);
+        rankingService.refreshWatchParty(party);
+        RankingPage second = rankingService.getWatchPartyPage(party, RankingService.Metric.POINTS, 0, first.nextCursor(), 3);
+        assertEquals(List.of("player3", "player2", "player1"), second.entries().stream().map(RankingEntry::name).toList());
+        assertEquals(new RankingEntry(5, "player3", 130), second.entries().get(0));
+
+        RankingPage last = rankingService.getWatchPartyPage(party, RankingService.Metric.POINTS, 0, second.nextCursor(), 3);
+        assertEquals(List.of(new RankingEntry(8, "player0", 100)), last.entries());
+        assertNull(last.nextCursor());
+        assertThrows(IllegalArgumentException.class,
+                () -> rankingService.getGlobalPublicPage(RankingService.Metric.POINTS, 0, "not a cursor", 3));
+    }
+
+    @Test
+    void neighbourhoodShouldCenterOnTheUser() {
+        for (int i = 0; i < 5; i++) {
+            User user = userService.getUser("player" + i);
+            publicParty.join(user);
+            user.setPointsForWatchParty(publicParty.getName(), 100 + i * 10);
+        }
+
+        RankingNeighbourhood around = rankingService.getGlobalPublicNeighbourhood(RankingService.Metric.POINTS, "player2", 1);
+        assertEquals(new RankingEntry(6, "player2", 120), around.user());
+        assertEquals(List.of("player3", "player2", "player1"), around.entries().stream().map(RankingEntry::name).toList());
+        assertNull(rankingService.getWatchPartyNeighbourhood("missing", RankingService.Metric.POINTS, "player2", 1));
+    }
+
+    @Test
+    void concurrentColdReadsShouldShareOneRebuild() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        UserService countingUsers = new UserService() {
+            @Override
+            public List<User> getAllUsers() {
+                loads.incrementAndGet();
+                return super.getAllUsers();
+            }
+        };
+        RankingService cold = new RankingService(countingUsers, manager);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<String, Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(readers.submit(() -> cold.getGlobalPublicPoints(false)));
+            }
+            for (Future<Map<String, Integer>> result : results) {
+                assertEquals(200, result.get(5, TimeUnit.SECONDS).get("alice"));
+            }
+            // Refresh client trop rapproché: ignoré, le classement courant est servi
+            assertEquals(200, cold.getGlobalPublicPoints(true).get("alice"));
+            assertEquals(1, loads.get());
+        } finally {
+            readers.shutdownNow();
+            cold.close();
+        }
+    }
+
+    @Test
+    void versionsShouldOnlyMoveWhenTheRankingChanges() {
+        RankingVersion initial = rankingService.getGlobalPublicVersion(false);
+        assertEquals(initial, rankingService.getGlobalPublicVersion(false));
+
+        alice.addPointsForWatchParty(publicParty.getName(), 10);
+        assertTrue(rankingService.getGlobalPublicVersion(false).version() > initial.version());
+
+        String party = publicParty.getName();
+        RankingVersion partyVersion = rankingService.getWatchPartyVersion(party, RankingService.Metric.POINTS, false);
+        assertEquals(partyVersion, rankingService.getWatchPartyVersion(party, RankingService.Metric.POINTS, true));
+        rankingService.refreshWatchParty(party);
+        assertTrue(rankingService.getWatchPartyVersion(party, RankingService.Metric.POINTS, false).version()
+                > partyVersion.version());
+        assertNull(rankingService.getWatchPartyVersion("missing", RankingService.Metric.POINTS, false));
+    }
+
+    @Test
+    void leavingOrHidingAPartyShouldRemoveItsContribution() {
+        WatchParty privateParty = new WatchParty("Private Ranking", LocalDateTime.now().plusDays(1), "LoL");
+        privateParty.setPublic(false);
+        privateParty.setCreator(userService.getUser("admin"));
+        privateParty.join(alice);
+        manager.addWatchParty(privateParty);
+        rankingService.getGlobalPublicPoints(false);
+
+        alice.addPointsForWatchParty(privateParty.getName(), 500);
+        assertEquals(200, rankingService.getGlobalPublicPoints(false).get("alice"));
+
+        publicParty.leave(alice);
+        assertEquals(0, rankingService.getGlobalPublicPoints(false).get("alice"));
+
+        privateParty.setPublic(true);
+        assertEquals(700, rankingService.getGlobalPublicPoints(false).get("alice"));
+        assertEquals(List.of(new RankingEntry(1, "alice", 700), new RankingEntry(2, "admin", 400)),
+                rankingService.getGlobalPublicAround(RankingService.Metric.POINTS, "alice", 1));
+    }
+
+    @Test
+    void rebuildShouldAggregatePublicScoresFromTheDatabase() {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findAllNames()).thenReturn(List.of("alice", "bob", "carol"));
+        when(repository.findPublicScores()).thenReturn(List.of(
+                row("alice", "wp-1", 120, 1),
+                row("alice", "wp-2", 80, 2),
+                row("bob", "wp-1", 300, 0)));
+        RankingService databaseRanking = new RankingService(userService, new WatchPartyManager(), repository);
+        try {
+            assertEquals(List.of(new RankingEntry(1, "bob", 300), new RankingEntry(2, "alice", 200),
+                            new RankingEntry(3, "carol", 0)),
+                    databaseRanking.getGlobalPublicTop(RankingService.Metric.POINTS, 10));
+            assertEquals(new RankingEntry(1, "alice", 3),
+                    databaseRanking.getGlobalPublicRank(RankingService.Metric.WINS, "alice"));
+        } finally {
+            databaseRanking.close();
+        }
+    }
+
+    @Test
+    void rebuildFromTheDatabaseShouldUseInMemoryScoresOfLoadedParties() {
+        // Changements faits avant la première construction, pas encore écrits en base
+        alice.setPointsForWatchParty(publicParty.getName(), 450);
+        alice.addWinForWatchParty(publicParty.getName());
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findAllNames()).thenReturn(List.of("admin", "alice", "bob"));
+        when(repository.findPublicScores()).thenReturn(List.of(
+                row("alice", publicParty.getName(), 200, 0),
+                row("alice", "wp-archive", 50, 1),
+                row("bob", publicParty.getName(), 200, 0)));
+        RankingService databaseRanking = new RankingService(userService, manager, repository);
+        try {
+            assertEquals(new RankingEntry(1, "alice", 500),
+                    databaseRanking.getGlobalPublicRank(RankingService.Metric.POINTS, "alice"));
+            assertEquals(new RankingEntry(1, "alice", 2),
+                    databaseRanking.getGlobalPublicRank(RankingService.Metric.WINS, "alice"));
+        } finally {
+            databaseRanking.close();
+        }
+    }
+
+    private static UserRepository.PublicScoreRow row(String user, String watchParty, int points, int wins) {
+        return new UserRepository.PublicScoreRow() {
+            @Override public String getUserName() { return user; }
+            @Override public String getWatchPartyName() { return watchParty; }
+            @Override public Integer getPoints() { return points; }
+            @Override public Integer getWins() { return wins; }
+        };
+    }
+}
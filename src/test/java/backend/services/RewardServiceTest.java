@@ -0,0 +1,100 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import backend.models.User;
+import backend.models.WatchParty;
+import backend.repositories.AwardedThresholdRepository;
+
+class RewardServiceTest {
+
+    private UserService userService;
+    private WatchPartyManager manager;
+    private RankingService rankingService;
+    private RewardService rewardService;
+    private WatchParty party;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService();
+        manager = new WatchPartyManager();
+        rankingService = new RankingService(userService, manager);
+        rewardService = new RewardService(userService, rankingService);
+        alice = userService.getUser("alice");
+        party = new WatchParty("Rewards", LocalDateTime.now().plusDays(1), "LoL");
+        party.setCreator(userService.getUser("admin"));
+        party.join(alice);
+        manager.addWatchParty(party);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rewardService.stop();
+        rankingService.close();
+    }
+
+    @Test
+    void crossingAThresholdShouldBeRewardedOnceWhenPointsMove() {
+        assertTrue(rewardService.checkPendingThresholds().isEmpty());
+
+        alice.addPointsForWatchParty(party.getName(), 900);
+        List<String> rewards = rewardService.checkPendingThresholds();
+        assertEquals(1, rewards.size());
+        assertTrue(rewards.get(0).contains("alice -> 1000"));
+
+        alice.addPointsForWatchParty(party.getName(), -500);
+        alice.addPointsForWatchParty(party.getName(), 500);
+        assertTrue(rewardService.checkPendingThresholds().isEmpty());
+
+        alice.addPointsForWatchParty(party.getName(), 1500);
+        assertEquals(1, rewardService.checkPendingThresholds().size());
+        // Réconciliation: rien n'a été manqué
+        assertTrue(rewardService.evaluateThresholdRewards().isEmpty());
+    }
+
+    @Test
+    void thresholdsAlreadyRecordedShouldNotBeAnnouncedAgain() {
+        AwardedThresholdRepository repository = mock(AwardedThresholdRepository.class);
+        when(repository.findThresholdsByUserName("alice")).thenReturn(List.of(1000));
+        when(repository.tryAward("alice", 2500)).thenReturn(0);
+        RewardService restarted = new RewardService(userService, rankingService, repository);
+        try {
+            alice.addPointsForWatchParty(party.getName(), 2400);
+
+            assertTrue(restarted.evaluateThresholdRewards().isEmpty());
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void failedAwardShouldBeRetriedOnTheNextCheck() {
+        AwardedThresholdRepository repository = mock(AwardedThresholdRepository.class);
+        when(repository.findThresholdsByUserName("alice")).thenReturn(List.of());
+        when(repository.tryAward("alice", 1000))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(1);
+        RewardService flaky = new RewardService(userService, rankingService, repository);
+        try {
+            alice.addPointsForWatchParty(party.getName(), 900);
+
+            assertTrue(flaky.checkPendingThresholds().isEmpty());
+            List<String> rewards = flaky.checkPendingThresholds();
+            assertEquals(1, rewards.size());
+            assertTrue(rewards.get(0).contains("alice -> 1000"));
+        } finally {
+            flaky.stop();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import backend.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserCache cache = new UserCache(8, 1_000, clock::get, registry);
+
+    @Test
+    void hitsAndMissesShouldBeCounted() {
+        User alice = new User("alice", false);
+        assertNull(cache.get("alice"));
+        cache.put("alice", alice);
+
+        assertSame(alice, cache.get("alice"));
+        assertSame(alice, cache.get("alice"));
+
+        assertEquals(2.0, registry.get(UserCache.GETS_COUNTER).tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get(UserCache.GETS_COUNTER).tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void idleEntriesShouldExpire() {
+        cache.put("alice", new User("alice", false));
+        clock.addAndGet(600);
+        assertNotNull(cache.get("alice"));   // lecture: l'entrée reste active
+        clock.addAndGet(600);
+        assertNotNull(cache.get("alice"));
+        clock.addAndGet(1_001);
+
+        assertNull(cache.get("alice"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void overflowShouldEvictTheLeastRecentlyRead() {
+        for (int i = 0; i < 8; i++) {
+            cache.put("user" + i, new User("user" + i, false));
+            clock.incrementAndGet();
+        }
+        cache.get("user0");  // user0 redevient récent: user1 est le plus ancien
+        clock.incrementAndGet();
+        for (int i = 8; i < 10; i++) {
+            cache.put("user" + i, new User("user" + i, false));
+            clock.incrementAndGet();
+        }
+
+        assertEquals(8, cache.size());
+        assertNotNull(cache.get("user0"));
+        assertNull(cache.get("user1"));
+        assertNull(cache.get("user2"));
+        assertNotNull(cache.get("user9"));
+    }
+}
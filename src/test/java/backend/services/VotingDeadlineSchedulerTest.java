@@ -0,0 +1,51 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class VotingDeadlineSchedulerTest {
+
+    private final VotingDeadlineScheduler scheduler = new VotingDeadlineScheduler();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void deadlineShouldFireOnceItHasPassed() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        LocalDateTime deadline = LocalDateTime.now().plusNanos(50_000_000);
+
+        scheduler.schedule("bet-1", deadline, () -> {
+            assertTrue(LocalDateTime.now().isAfter(deadline));
+            fired.countDown();
+        });
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void cancelledOrReplacedDeadlinesShouldNotFire() throws InterruptedException {
+        AtomicInteger stale = new AtomicInteger();
+        CountDownLatch replacement = new CountDownLatch(1);
+
+        scheduler.schedule("cancelled", LocalDateTime.now().plusNanos(20_000_000), stale::incrementAndGet);
+        scheduler.cancel("cancelled");
+        scheduler.schedule("replaced", LocalDateTime.now().plusNanos(20_000_000), stale::incrementAndGet);
+        scheduler.schedule("replaced", LocalDateTime.now().plusNanos(60_000_000), replacement::countDown);
+
+        assertTrue(replacement.await(2, TimeUnit.SECONDS));
+        assertEquals(0, stale.get());
+        assertEquals(0, scheduler.pendingCount());
+    }
+}
@@ -0,0 +1,107 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WatchPartyMailboxesTest {
+
+    private static final int SENDERS = 8;
+    private static final int COMMANDS_PER_SENDER = 500;
+
+    private final WatchPartyMailboxes mailboxes = new WatchPartyMailboxes(4);
+
+    @AfterEach
+    void tearDown() {
+        mailboxes.shutdown();
+    }
+
+    @Test
+    void commandsOfOnePartyShouldRunOneAtATimeInSendOrder() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        // Plain list, only touched by the party's writer
+        List<String> applied = new ArrayList<>();
+
+        ExecutorService senders = Executors.newFixedThreadPool(SENDERS);
+        for (int s = 0; s < SENDERS; s++) {
+            int sender = s;
+            senders.execute(() -> {
+                for (int i = 0; i < COMMANDS_PER_SENDER; i++) {
+                    String entry = sender + ":" + i;
+                    mailboxes.send("LEC Finals", () -> {
+                        if (running.incrementAndGet() > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        applied.add(entry);
+                        running.decrementAndGet();
+                    });
+                }
+            });
+        }
+        senders.shutdown();
+        assertTrue(senders.awaitTermination(10, TimeUnit.SECONDS));
+        // Queued after every send: once it returns, all earlier commands have run
+        int total = mailboxes.call("LEC Finals", applied::size);
+
+        assertEquals(SENDERS * COMMANDS_PER_SENDER, total);
+        assertEquals(0, overlaps.get());
+        int[] lastSeen = new int[SENDERS];
+        Arrays.fill(lastSeen, -1);
+        for (String entry : applied) {
+            String[] parts = entry.split(":");
+            int sender = Integer.parseInt(parts[0]);
+            int index = Integer.parseInt(parts[1]);
+            assertEquals(lastSeen[sender] + 1, index);
+            lastSeen[sender] = index;
+        }
+    }
+
+    @Test
+    void differentPartiesShouldNotWaitForEachOther() throws Exception {
+        CountDownLatch otherPartyRan = new CountDownLatch(1);
+        CountDownLatch blockedPartyDone = new CountDownLatch(1);
+
+        mailboxes.send("Worlds", () -> {
+            try {
+                // Would time out if both parties shared a single writer
+                if (otherPartyRan.await(5, TimeUnit.SECONDS)) {
+                    blockedPartyDone.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        mailboxes.send("MSI", otherPartyRan::countDown);
+
+        assertTrue(blockedPartyDone.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void nestedCallOnSamePartyShouldRunInline() {
+        String result = mailboxes.call("LCK", () -> mailboxes.call("LCK", () -> "✅ nested"));
+
+        assertEquals("✅ nested", result);
+    }
+
+    @Test
+    void commandFailureShouldReachCallerAndKeepMailboxUsable() {
+        assertThrows(IllegalStateException.class, () -> mailboxes.call("LPL", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(42, mailboxes.call("LPL", () -> 42));
+    }
+}
@@ -0,0 +1,122 @@
+package backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import backend.models.User;
+import backend.models.WatchParty;
+import backend.models.WatchPartyStatus;
+import backend.repositories.UserRepository;
+import backend.repositories.WatchPartyRepository;
+
+class WatchPartyParticipantsTest {
+
+    @Test
+    void membershipShouldBeASetKeptInJoinOrder() {
+        User admin = new User("admin", true);
+        User alice = new User("alice", false);
+        User bob = new User("bob", false);
+        WatchParty wp = new WatchParty("Membership", LocalDateTime.now().plusDays(1), "LoL");
+        wp.setCreator(admin);
+
+        assertTrue(wp.join(alice));
+        assertTrue(wp.join(bob));
+        assertFalse(wp.join(new User("Alice", false)));
+        assertEquals(3, wp.getParticipantCount());
+        assertEquals(List.of(admin, alice, bob), wp.getParticipants());
+
+        assertTrue(wp.leave(alice));
+        assertFalse(wp.leave(alice));
+        assertFalse(wp.hasParticipant(alice));
+
+        // Fin du match: seul le créateur reste
+        wp.updateStatus(null);
+        assertEquals(WatchPartyStatus.CLOSED, wp.getStatus());
+        assertEquals(List.of(admin), wp.getParticipants());
+    }
+
+    @Test
+    void membershipChangesShouldWriteSingleRows() {
+        WatchPartyRepository repository = mock(WatchPartyRepository.class);
+        WatchPartyManager manager = new WatchPartyManager(repository, mock(CalendarIntegrationService.class),
+                mock(UserService.class), mock(NotificationService.class));
+        User admin = spy(new User("admin", true));
+        User alice = spy(new User("alice", false));
+        when(admin.getId()).thenReturn(1L);
+        when(alice.getId()).thenReturn(2L);
+        WatchParty wp = spy(new WatchParty("Rows", LocalDateTime.now().plusDays(1), "LoL"));
+        when(wp.getId()).thenReturn(9L);
+        wp.setCreator(admin);
+
+        assertTrue(manager.joinParticipant(wp, alice));
+        assertFalse(manager.joinParticipant(wp, alice));
+        assertTrue(manager.leaveParticipant(wp, alice));
+        manager.saveParticipantsKicked(wp);
+
+        verify(repository).addParticipant(9L, 2L);
+        verify(repository).removeParticipant(9L, 2L);
+        verify(repository).removeParticipantsExcept(9L, 1L);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void partyReadFromTheDatabaseShouldShareTheUsersInUse() {
+        UserRepository users = mock(UserRepository.class);
+        User alice = spy(new User("alice", false));
+        when(alice.getId()).thenReturn(2L);
+        when(users.findByName("alice")).thenReturn(Optional.of(alice));
+        UserService userService = new UserService(users);
+        User inUse = userService.getUser("alice");
+
+        // Même ligne users, relue avec la watch party: une autre instance
+        WatchParty stored = new WatchParty("Stored", LocalDateTime.now().plusDays(1), "LoL");
+        stored.join(new User("alice", false));
+        WatchPartyRepository repository = mock(WatchPartyRepository.class);
+        when(repository.findFirstByNameOrderByIdDesc("Stored")).thenReturn(Optional.of(stored));
+        WatchPartyManager manager = new WatchPartyManager(repository, mock(CalendarIntegrationService.class),
+                userService, mock(NotificationService.class));
+
+        assertSame(inUse, manager.getWatchPartyByName("Stored").getParticipants().get(0));
+        assertSame(inUse, userService.resolve(new User("alice", false)));
+    }
+
+    @Test
+    void participantCountsShouldTakeOneQueryForPartiesNotInMemory() {
+        WatchPartyRepository repository = mock(WatchPartyRepository.class);
+        WatchPartyManager manager = new WatchPartyManager(repository, mock(CalendarIntegrationService.class),
+                mock(UserService.class), mock(NotificationService.class));
+        WatchParty loaded = new WatchParty("Loaded", LocalDateTime.now().plusDays(1), "LoL");
+        loaded.join(new User("alice", false));
+        manager.addWatchParty(loaded);
+        WatchParty stored = spy(new WatchParty("Stored", LocalDateTime.now().plusDays(1), "LoL"));
+        when(stored.getId()).thenReturn(5L);
+        WatchParty empty = spy(new WatchParty("Empty", LocalDateTime.now().plusDays(1), "LoL"));
+        when(empty.getId()).thenReturn(6L);
+        WatchPartyRepository.ParticipantCountRow row = mock(WatchPartyRepository.ParticipantCountRow.class);
+        when(row.getWatchPartyId()).thenReturn(5L);
+        when(row.getParticipants()).thenReturn(12L);
+        when(repository.countParticipants(Set.of(5L, 6L))).thenReturn(List.of(row));
+
+        Map<String, Integer> counts = manager.getParticipantCounts(List.of(loaded, stored, empty));
+
+        assertEquals(Map.of("Loaded", 1, "Stored", 12, "Empty", 0), counts);
+        verify(repository).countParticipants(Set.of(5L, 6L));
+        verify(stored, never()).getParticipantCount();
+    }
+}
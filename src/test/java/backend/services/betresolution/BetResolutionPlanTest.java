@@ -0,0 +1,69 @@
+package backend.services.betresolution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import backend.models.AutoType;
+import backend.models.DiscreteChoiceBet;
+import backend.models.NumericValueBet;
+import backend.models.OrderedRankingBet;
+import backend.models.User;
+import backend.models.WatchParty;
+
+class BetResolutionPlanTest {
+
+    private final User creator = new User("creator", false);
+    private final WatchParty watchParty = WatchParty.createAutoWatchParty(creator, "T1", AutoType.TEAM);
+
+    @Test
+    void compileShouldClassifyQuestionsOnce() {
+        BetResolutionPlan firstDragon = BetResolutionPlan.compile(discrete("Premier dragon ?", "T1", "G2"));
+        assertEquals(BetResolutionPlan.Kind.FIRST_EVENT, firstDragon.kind());
+        assertEquals(GameEventType.DRAGON_KILL, firstDragon.eventType());
+
+        BetResolutionPlan duration = BetResolutionPlan.compile(new NumericValueBet(
+                "Durée de la game ?", creator, watchParty, LocalDateTime.now().plusMinutes(5), false, 0.0, 60.0));
+        assertEquals(BetResolutionPlan.Kind.DURATION, duration.kind());
+
+        BetResolutionPlan leastDeaths = BetResolutionPlan.compile(new OrderedRankingBet(
+                "Qui aura le moins de morts ?", creator, watchParty, LocalDateTime.now().plusMinutes(5),
+                List.of("Faker", "Chovy")));
+        assertEquals(BetResolutionPlan.Kind.STAT_RANKING, leastDeaths.kind());
+        assertEquals(ParticipantMetric.DEATHS, leastDeaths.metric());
+    }
+
+    @Test
+    void milestoneRaceShouldBeCompiledAlongsideKeywordKind() {
+        BetResolutionPlan plan = BetResolutionPlan.compile(
+                discrete("Qui atteindra en premier 5 kills ?", "Faker", "Chovy"));
+
+        assertTrue(plan.hasMilestoneRace());
+        assertEquals(ParticipantMetric.KILLS, plan.metric());
+        assertEquals(5, plan.milestoneThreshold());
+        assertFalse(BetResolutionPlan.compile(discrete("Qui gagne ?", "T1", "G2")).hasMilestoneRace());
+    }
+
+    @Test
+    void normalizedEqualsShouldAgreeWithNormalize() {
+        List<String> samples = List.of("GAME_END", "game end", "  Dragon--Kill ", "T1 Faker", "Faker",
+                "Kai'Sa", "Équipe Bleue", "", "__", "Wukong2");
+        for (String raw : samples) {
+            for (String other : samples) {
+                String expected = BetResolutionSupport.normalize(other);
+                assertEquals(BetResolutionSupport.normalize(raw).equals(expected),
+                        BetResolutionSupport.normalizedEquals(raw, expected), raw + " / " + other);
+            }
+        }
+    }
+
+    private DiscreteChoiceBet discrete(String question, String... choices) {
+        return new DiscreteChoiceBet(question, creator, watchParty, LocalDateTime.now().plusMinutes(5),
+                List.of(choices));
+    }
+}
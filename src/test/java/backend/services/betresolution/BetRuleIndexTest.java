@@ -0,0 +1,91 @@
+package backend.services.betresolution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import backend.integration.lolesports.dto.Frame;
+import backend.integration.lolesports.dto.GameEvent;
+import backend.integration.lolesports.dto.TeamFrame;
+import backend.models.AutoType;
+import backend.models.Bet;
+import backend.models.DiscreteChoiceBet;
+import backend.models.NumericValueBet;
+import backend.models.User;
+import backend.models.WatchParty;
+
+class BetRuleIndexTest {
+
+    private final User creator = new User("creator", false);
+    private final WatchParty watchParty = WatchParty.createAutoWatchParty(creator, "T1", AutoType.TEAM);
+    private final BetRuleIndex index = new BetRuleIndex();
+
+    @Test
+    void frameShouldOnlyWakeBetsWaitingOnItsEvents() {
+        Bet firstBlood = register(discrete("First blood ?"));
+        Bet firstDragon = register(discrete("Premier dragon ?"));
+        Bet totalKills = register(new NumericValueBet("Nombre de kills ?", creator, watchParty,
+                LocalDateTime.now().plusMinutes(5), true, 0.0, 60.0));
+        register(discrete("Question libre ?"));
+
+        Set<Bet> afterKill = index.triggeredBy(List.of(watchParty.getName()), frame(new GameEvent("KILL", null, null, null, "blue", 90_000L)));
+        assertEquals(Set.of(firstBlood), afterKill);
+
+        Set<Bet> atGameEnd = index.triggeredBy(List.of(watchParty.getName()), frame(
+                new GameEvent("DRAGON_KILL", null, null, null, "red", 600_000L),
+                new GameEvent("GAME_END", null, null, null, "red", 1_800_000L)));
+        assertEquals(Set.of(firstDragon, totalKills), atGameEnd);
+    }
+
+    @Test
+    void unregisteredBetShouldNoLongerBeWoken() {
+        Bet firstBlood = register(discrete("First blood ?"));
+        index.unregister(firstBlood);
+
+        assertTrue(index.triggeredBy(List.of(watchParty.getName()), frame(new GameEvent("KILL", null, null, null, "blue", 90_000L))).isEmpty());
+        assertEquals(0, index.size(ResolutionTrigger.FIRST_KILL));
+    }
+
+    @Test
+    void readyBetShouldBeEvaluatedWhateverTheFrame() {
+        Bet milestone = register(discrete("Qui atteindra en premier 5 kills ?"));
+        index.markReady(milestone);
+
+        assertEquals(Set.of(milestone), index.triggeredBy(List.of(watchParty.getName()), frame()));
+    }
+
+    @Test
+    void frameShouldOnlyWakeBetsOfTheGivenWatchParties() {
+        WatchParty otherParty = WatchParty.createAutoWatchParty(creator, "G2", AutoType.TEAM);
+        Bet firstBlood = register(discrete("First blood ?"));
+        register(new DiscreteChoiceBet("First blood ?", creator, otherParty, LocalDateTime.now().plusMinutes(5),
+                List.of("T1", "G2")));
+
+        assertEquals(Set.of(firstBlood), index.triggeredBy(List.of(watchParty.getName()),
+                frame(new GameEvent("KILL", null, null, null, "blue", 90_000L))));
+        assertEquals(2, index.size(ResolutionTrigger.FIRST_KILL));
+    }
+
+    private Bet register(Bet bet) {
+        index.register(BetResolutionPlan.compile(bet));
+        return bet;
+    }
+
+    private DiscreteChoiceBet discrete(String question) {
+        return new DiscreteChoiceBet(question, creator, watchParty, LocalDateTime.now().plusMinutes(5),
+                List.of("T1", "G2"));
+    }
+
+    private static FrameIndex frame(GameEvent... events) {
+        return FrameIndex.of(new Frame(
+                events.length == 0 ? 60_000L : events[events.length - 1].timestamp(),
+                new TeamFrame(10_000, 1, List.of()),
+                new TeamFrame(9_000, 0, List.of()),
+                List.of(events)));
+    }
+}
@@ -0,0 +1,69 @@
+package backend.services.betresolution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import backend.integration.lolesports.dto.Frame;
+import backend.integration.lolesports.dto.GameEvent;
+import backend.integration.lolesports.dto.ParticipantFrame;
+import backend.integration.lolesports.dto.TeamFrame;
+
+class FrameIndexTest {
+
+    @Test
+    void eventsShouldBeInternedAndBucketedByType() {
+        FrameIndex index = FrameIndex.of(new Frame(
+                600_000L,
+                new TeamFrame(20_000, 3, List.of()),
+                new TeamFrame(19_000, 4, List.of()),
+                List.of(
+                        new GameEvent("Dragon-Kill", null, null, "Infernal", "red", 400_000L),
+                        new GameEvent("KILL", "Faker", "Chovy", null, "red", 300_000L),
+                        new GameEvent("kill", "Zeus", "Kiin", null, "blue", 200_000L),
+                        new GameEvent("WARD_PLACED", null, null, null, "blue", 100_000L))));
+
+        assertEquals(2, index.events(GameEventType.KILL).size());
+        assertEquals(1, index.events(GameEventType.DRAGON_KILL).size());
+        assertEquals("blue", index.teamForFirstEvent(GameEventType.KILL).orElseThrow());
+        assertEquals(300_000L, index.lastEvent(GameEventType.KILL).orElseThrow().timestamp());
+        assertTrue(index.events(GameEventType.OTHER).isEmpty());
+        assertFalse(index.isGameFinished());
+        // Pas de GAME_END: avantage en gold
+        assertEquals("blue", index.winningTeam().orElseThrow());
+    }
+
+    @Test
+    void gameEndShouldGiveWinnerAndDuration() {
+        FrameIndex index = FrameIndex.of(new Frame(
+                1_800_000L,
+                new TeamFrame(60_000, 20, List.of()),
+                new TeamFrame(50_000, 10, List.of()),
+                List.of(
+                        new GameEvent("game end", null, null, null, "", 2_100_000L),
+                        new GameEvent("GAME_END", null, null, null, "red", 2_040_000L))));
+
+        assertTrue(index.isGameFinished());
+        assertEquals("red", index.winningTeam().orElseThrow());
+        assertEquals(35.0, index.durationMinutes());
+    }
+
+    @Test
+    void participantsShouldBeFlattenedBlueFirstWithoutIncompleteEntries() {
+        ParticipantFrame faker = new ParticipantFrame("Azir", "Faker", 3, 1, 7, 12_000, 16);
+        ParticipantFrame chovy = new ParticipantFrame("Orianna", "Chovy", 2, 2, 5, 11_500, 15);
+        FrameIndex index = FrameIndex.of(new Frame(
+                60_000L,
+                new TeamFrame(0, 0, Arrays.asList(faker, null)),
+                new TeamFrame(0, 0, List.of(new ParticipantFrame(null, "Unknown", 0, 0, 0, 0, 1), chovy)),
+                null));
+
+        assertEquals(List.of(faker, chovy), index.participants());
+        assertEquals(2, index.participantCount());
+    }
+}